@@ -2,8 +2,12 @@ package br.com.financas.extrato_api;
 
 import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
 import br.com.financas.extrato_api.config.BancosSuportadosConfig;
+import br.com.financas.extrato_api.config.FiltroDuplicatasConfig;
+import br.com.financas.extrato_api.config.IndiceUploadsConfig;
 import br.com.financas.extrato_api.config.parser.ItauParserConfig;
 import br.com.financas.extrato_api.config.parser.ParserAutoDiscoveryConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
+import br.com.financas.extrato_api.config.parser.ParserWarmupConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -11,7 +15,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 @SpringBootApplication
 @EnableConfigurationProperties({BancoDoBrasilParserConfig.class,
         ItauParserConfig.class, ParserAutoDiscoveryConfig.class,
-        BancosSuportadosConfig.class
+        BancosSuportadosConfig.class, ParserGeneralConfig.class,
+        ParserWarmupConfig.class, FiltroDuplicatasConfig.class, IndiceUploadsConfig.class
 })
 public class ExtratoApiApplication {
     public static void main(String[] args) {
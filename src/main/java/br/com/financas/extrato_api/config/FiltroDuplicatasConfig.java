@@ -0,0 +1,19 @@
+package br.com.financas.extrato_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dedup.filter")
+public class FiltroDuplicatasConfig {
+    /** Consulta os filtros de Bloom antes de ir ao banco; desligado, toda verificação vai ao banco */
+    private boolean enabled = true;
+    /** Quantidade de hashes de arquivo esperada; o filtro cresce para o dobro dos já gravados na carga */
+    private long uploadCapacity = 100_000;
+    /** Quantidade de transações esperada; o filtro cresce para o dobro das já gravadas na carga */
+    private long transactionCapacity = 2_000_000;
+    /** Taxa de falso positivo desejada com a capacidade preenchida */
+    private double falsePositiveRate = 0.01;
+}
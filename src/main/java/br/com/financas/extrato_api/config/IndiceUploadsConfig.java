@@ -0,0 +1,15 @@
+package br.com.financas.extrato_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dedup.upload-index")
+public class IndiceUploadsConfig {
+    /** Mantém em memória os hashes de arquivos já enviados para recusar reenvios sem ir ao banco */
+    private boolean enabled = true;
+    /** Quantidade máxima de hashes em memória; a carga na subida traz os uploads mais recentes até esse limite */
+    private long maximumSize = 100_000;
+}
@@ -6,7 +6,11 @@ import java.util.List;
 @Getter
 @Setter
 public abstract class BankParserConfig {
+    /** Identificador do banco, o mesmo usado em bancos.suporte.names e no nome do service */
+    private String id;
     private String name;
     private List<String> filePatterns;
     private List<String> supportedExtensions;
+    /** Regex procuradas no início do conteúdo do arquivo (cabeçalho, marcas do banco) na detecção automática */
+    private List<String> contentMarkers = List.of();
 }
\ No newline at end of file
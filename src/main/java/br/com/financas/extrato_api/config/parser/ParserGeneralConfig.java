@@ -0,0 +1,23 @@
+package br.com.financas.extrato_api.config.parser;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "parser.general")
+public class ParserGeneralConfig {
+    private boolean parallelProcessing = true;
+    /** Quantidade de transações por lote entregue pelo parser ao service */
+    private int batchSize = 1000;
+    /** Threads do pool dedicado ao parse paralelo, compartilhado entre os uploads */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /** Máximo de partes de um mesmo upload em processamento ao mesmo tempo */
+    private int parallelismPerUpload = 4;
+    /** Tamanho das partes em que o arquivo é dividido; arquivos menores são lidos sem paralelismo */
+    private DataSize chunkSize = DataSize.ofMegabytes(1);
+    /** Compartilha uma única instância entre valores de texto iguais das transações parseadas */
+    private boolean internStrings = true;
+}
@@ -0,0 +1,15 @@
+package br.com.financas.extrato_api.config.parser;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "parser.warmup")
+public class ParserWarmupConfig {
+    /** Aquece PDFBox, Moneta e os parsers antes da aplicação aceitar tráfego */
+    private boolean enabled = true;
+    /** Diretório do cache de fontes do PDFBox (.pdfbox.cache), para manter o cache entre reinícios; vazio usa user.home */
+    private String fontCacheDir;
+}
@@ -2,6 +2,7 @@ package br.com.financas.extrato_api.controller;
 
 import br.com.financas.extrato_api.model.dto.ProcessamentoStatusDTO;
 import br.com.financas.extrato_api.service.ProcessamentoAssincronoService;
+import br.com.financas.extrato_api.util.HashConteudo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -63,14 +65,17 @@ public class ExtratoRMQController implements ExtratoController{
             @Parameter(description = "Banco para processamento", required = true)
             @PathVariable String banco,
             @Parameter(description = "Arquivo de extrato", required = true)
-            @RequestParam("file") MultipartFile file) throws java.io.IOException {
+            @RequestParam("file") MultipartFile file) throws IOException {
         
         log.info("Iniciando processamento assíncrono para banco: {} - arquivo: {}", banco, file.getOriginalFilename());
         
+        // Conteúdo e hash saem da mesma leitura do upload
+        HashConteudo.ConteudoEnderecado conteudo = HashConteudo.ler(file);
         ProcessamentoStatusDTO status = processamentoAssincronoService.enviarParaProcessamento(
             banco, 
             file.getOriginalFilename(), 
-            file.getBytes()
+            conteudo.bytes(),
+            conteudo.hash()
         );
         return ResponseEntity.accepted().body(status);
     }
@@ -1,13 +1,21 @@
 package br.com.financas.extrato_api.controller;
 
-import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
 import br.com.financas.extrato_api.model.dto.TransacaoDTO;
+import br.com.financas.extrato_api.model.dto.TransacaoLinhaDTO;
 import br.com.financas.extrato_api.model.dto.TransacaoRepresentationAssembler;
 import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
 import br.com.financas.extrato_api.model.dto.ProcessamentoStatusDTO;
+import br.com.financas.extrato_api.parser.ArquivoExtratoDetectado;
+import br.com.financas.extrato_api.parser.ExtratoDetector;
+import br.com.financas.extrato_api.service.ConsultaExtratoService;
 import br.com.financas.extrato_api.service.ExtratoService;
 import br.com.financas.extrato_api.service.ExtratoServiceLocator;
 import br.com.financas.extrato_api.service.ProcessamentoAssincronoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,16 +24,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.MessageDigest;
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @RestController
 @RequestMapping("/financas")
@@ -35,11 +51,21 @@ public class ExtratoSyncController implements ExtratoController {
 
     private final ExtratoServiceLocator serviceLocator;
     private final TransacaoRepresentationAssembler transacaoAssembler;
+    private final ExtratoDetector extratoDetector;
+
+    private final ConsultaExtratoService consultaExtrato;
+    private final ObjectMapper objectMapper;
 
     public ExtratoSyncController(ExtratoServiceLocator serviceLocator,
-                                 TransacaoRepresentationAssembler transacaoAssembler) {
+                                 TransacaoRepresentationAssembler transacaoAssembler,
+                                 ExtratoDetector extratoDetector,
+                                 ConsultaExtratoService consultaExtrato,
+                                 ObjectMapper objectMapper) {
         this.serviceLocator = serviceLocator;
         this.transacaoAssembler = transacaoAssembler;
+        this.extratoDetector = extratoDetector;
+        this.consultaExtrato = consultaExtrato;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -88,11 +114,54 @@ public class ExtratoSyncController implements ExtratoController {
         return ResponseEntity.ok().body(service.processarArquivo(file));
     }
 
+    /**
+     * Upload sem informar o banco: formato e banco são detectados pelo conteúdo do arquivo
+     * antes de qualquer processamento
+     */
+    @PostMapping(value="/carregar-extrato")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Upload de extrato bancário com detecção automática do banco",
+        description = "Identifica o banco e o formato (CSV ou PDF) pelo conteúdo do arquivo e processa o extrato"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Arquivo processado com sucesso",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProcessamentoResult.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Arquivo vazio",
+            content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "415",
+            description = "Arquivo não reconhecido como extrato de um banco suportado",
+            content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    public ResponseEntity<ProcessamentoResult> carregarExtratoDetectandoBanco(
+            @Parameter(description = "Arquivo CSV ou PDF do extrato bancário", required = true)
+            @RequestParam("file") MultipartFile file) {
+        ArquivoExtratoDetectado detectado = extratoDetector.detectar(file);
+        ExtratoService service = serviceLocator.getService(detectado.getBanco());
+        return ResponseEntity.ok().body(service.processarArquivo(detectado));
+    }
+
     @GetMapping("/visualisar-extrato")
     @ResponseStatus(HttpStatus.OK)
     @Operation(
         summary = "Visualizar extrato",
-        description = "Lista todas as transações do extrato com paginação e links HATEOAS"
+        description = "Lista as transações do extrato, da mais recente para a mais antiga, filtradas por banco e período, em páginas por cursor com links HATEOAS"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -133,11 +202,85 @@ public class ExtratoSyncController implements ExtratoController {
             )
         )
     })
-    public CollectionModel<TransacaoDTO> visualizarExtrato() {
-        // Usa o service padrão (Banco do Brasil)
-        ExtratoService service = serviceLocator.getService("banco-do-brasil");
-        List<Transacao> transacoes = service.getExtrato();
-        return transacaoAssembler.toCollectionModel(transacoes);
+    public CollectionModel<TransacaoDTO> visualizarExtrato(
+            @Parameter(description = "Banco das transações (ex: itau); todos se omitido")
+            @RequestParam(required = false) String banco,
+            @Parameter(description = "Data inicial (inclusive), no formato yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (inclusive), no formato yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Cursor devolvido no link next da página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Transações por página (padrão 100, máximo 1000)")
+            @RequestParam(required = false) Integer limite) {
+        CursorExtrato apos = CursorExtrato.decodificar(cursor);
+        ConsultaExtratoService.Pagina pagina = banco == null || banco.isBlank()
+                ? consultaExtrato.pagina(null, dataInicio, dataFim, apos, limite)
+                : serviceLocator.getService(banco).getExtratoPaginado(dataInicio, dataFim, apos, limite);
+        Link self = linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato(
+                banco, dataInicio, dataFim, cursor, limite)).withSelfRel();
+        CollectionModel<TransacaoDTO> modelo = transacaoAssembler.toCollectionModelDeDtos(pagina.transacoes(), self);
+        if (pagina.proximo() != null) {
+            modelo.add(linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato(
+                    banco, dataInicio, dataFim, pagina.proximo().codificar(), limite)).withRel(IanaLinkRelations.NEXT));
+        }
+        return modelo;
+    }
+
+    /**
+     * Extrato completo do filtro em um único envelope JSON, escrito à medida que as linhas são lidas do banco.
+     * As linhas vão sem links, como {@link TransacaoLinhaDTO}; o envelope leva só o link self, já que não há
+     * próxima página. Nem a lista de transações nem o JSON inteiro ficam em memória.
+     */
+    @GetMapping(value = "/visualisar-extrato", params = "stream=true")
+    @Operation(
+        summary = "Visualizar extrato em stream",
+        description = "Escreve todas as transações do filtro, da mais recente para a mais antiga, em content, sem paginação e sem links por transação; links traz só o self"
+    )
+    public ResponseEntity<StreamingResponseBody> visualizarExtratoStream(
+            @Parameter(hidden = true)
+            @RequestParam boolean stream,
+            @Parameter(description = "Banco das transações (ex: itau); todos se omitido")
+            @RequestParam(required = false) String banco,
+            @Parameter(description = "Data inicial (inclusive), no formato yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (inclusive), no formato yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        String nomeBanco = nomeBanco(banco);
+        Link self = linkTo(methodOn(ExtratoSyncController.class).visualizarExtratoStream(
+                stream, banco, dataInicio, dataFim)).withSelfRel();
+        ObjectWriter escritor = objectMapper.writerFor(TransacaoLinhaDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(saida)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartObject();
+                json.writeArrayFieldStart("content");
+                consultaExtrato.percorrer(nomeBanco, dataInicio, dataFim, transacao -> {
+                    try {
+                        escritor.writeValue(json, transacao);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+                json.writeArrayFieldStart("links");
+                json.writeStartObject();
+                json.writeStringField("rel", self.getRel().value());
+                json.writeStringField("href", self.getHref());
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    /**
+     * @return nome gravado nas transações do banco informado na URL, ou null se não informado
+     */
+    private String nomeBanco(String banco) {
+        return banco == null || banco.isBlank() ? null : serviceLocator.getService(banco).getBankName();
     }
     
     /**
@@ -97,6 +97,22 @@ public class ExtratoExceptionControllerAdvice {
                 .build());
     }
 
+    /**
+     * Trata exceções de parâmetros de consulta inválidos, como cursor de paginação malformado
+     * @param exception exceção de parâmetro inválido
+     * @param request requisição web
+     * @return resposta padronizada de erro
+     */
+    @ExceptionHandler(ParametroConsultaInvalidoException.class)
+    public final ResponseEntity<ExceptionResponse> handleParametroConsultaInvalidoException(
+            ParametroConsultaInvalidoException exception, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ExceptionResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .message(exception.getMessage())
+                .details(request.getDescription(false))
+                .build());
+    }
+
     /**
      * Trata exceções de processamento assíncrono
      * @param exception exceção de processamento assíncrono
@@ -0,0 +1,12 @@
+package br.com.financas.extrato_api.exception;
+
+public class ParametroConsultaInvalidoException extends RuntimeException {
+
+    public ParametroConsultaInvalidoException(String message) {
+        super(message);
+    }
+
+    public ParametroConsultaInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
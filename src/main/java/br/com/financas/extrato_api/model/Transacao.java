@@ -1,5 +1,6 @@
 package br.com.financas.extrato_api.model;
 
+import br.com.financas.extrato_api.util.TransacaoFingerprint;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,9 +13,13 @@ import org.javamoney.moneta.Money;
 @Entity
 @Table(name = "transacoes",
         uniqueConstraints = @UniqueConstraint(
-                columnNames = {"data", "numero_documento", "valor", "banco"},
-                name = "uk_transacao_unique"
-        ))
+                columnNames = {"fingerprint"},
+                name = "uk_transacao_fingerprint"
+        ),
+        indexes = {
+                @Index(name = "idx_transacao_banco_data", columnList = "banco, data DESC, id"),
+                @Index(name = "idx_transacao_data", columnList = "data DESC, id")
+        })
 @Getter
 @Setter
 @Builder
@@ -42,7 +47,7 @@ public class Transacao {
 
     @Column(name = "moeda", nullable = false, length = 3)
     private String moeda;
-    // Campo transient para API JSR 354 (não persiste no banco)
+    // Campo transient para API JSR 354 (não persiste no banco), criado sob demanda a partir de valor/moeda
     @Transient
     private MonetaryAmount valorMonetario;
 
@@ -55,15 +60,72 @@ public class Transacao {
     @Column(nullable = false)
     private String banco;
 
-    @ManyToOne
+    /**
+     * Impressão digital de 64 bits de banco, data, valor, número do documento e lançamento
+     * ({@link TransacaoFingerprint}), calculada no parse. Chave de deduplicação das gravações.
+     */
+    @Column(nullable = false)
+    private Long fingerprint;
+
+    /** Só a escrita associa o upload; leituras que precisarem dele o carregam sob demanda */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "upload_arquivo_id")
     private UploadArquivo uploadArquivo;
 
+    /**
+     * Valor como MonetaryAmount. Os parsers preenchem apenas valor/moeda; o Money só é
+     * criado quando alguém pede, em vez de a cada linha parseada ou carregada do banco.
+     */
+    public MonetaryAmount getValorMonetario() {
+        if (valorMonetario == null && valor != null && moeda != null) {
+            valorMonetario = Money.of(valor, moeda);
+        }
+        return valorMonetario;
+    }
+
+    /**
+     * Troca o valor pelo MonetaryAmount, mantendo valor/moeda (as colunas persistidas) em sincronia
+     */
+    public void setValorMonetario(MonetaryAmount valorMonetario) {
+        this.valorMonetario = valorMonetario;
+        if (valorMonetario != null) {
+            this.valor = valorMonetario.getNumber().numberValue(BigDecimal.class);
+            this.moeda = valorMonetario.getCurrency().getCurrencyCode();
+        }
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+        this.valorMonetario = null;
+    }
+
+    public void setMoeda(String moeda) {
+        this.moeda = moeda;
+        this.valorMonetario = null;
+    }
+
     // Método para garantir a conversão ANTES de persistir
     @PrePersist
     @PreUpdate
     private void prePersist() {
-        if (valorMonetario != null) {
+        prepararPersistencia();
+    }
+
+    /**
+     * Calcula a impressão digital a partir dos campos atuais
+     * @return esta transação
+     */
+    public Transacao comFingerprint() {
+        this.fingerprint = TransacaoFingerprint.calcular(banco, data, valor, numeroDocumento, lancamento);
+        return this;
+    }
+
+    /**
+     * Preenche valor/moeda a partir do valorMonetario e a impressão digital, quando necessário. Usado também
+     * pela inserção em lote via JDBC (TransacaoBatchRepository), que não passa pelos callbacks do JPA.
+     */
+    public void prepararPersistencia() {
+        if (valor == null && valorMonetario != null) {
             this.valor = valorMonetario.getNumber().numberValue(BigDecimal.class);
             this.moeda = valorMonetario.getCurrency().getCurrencyCode();
         }
@@ -71,14 +133,9 @@ public class Transacao {
         if (this.moeda == null) {
             this.moeda = "BRL"; // Valor padrão
         }
-    }
-
-    // Método para reconstruir o MonetaryAmount após carregar
-    @PostLoad
-    private void postLoad() {
-        if (valor != null && moeda != null) {
-            this.valorMonetario = Money.of(valor, moeda);
+        if (this.fingerprint == null) {
+            comFingerprint();
         }
     }
-    
+
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package br.com.financas.extrato_api.model.dto;
+
+import br.com.financas.extrato_api.exception.ParametroConsultaInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na paginação do extrato: a última transação (data, id) já entregue. A próxima página começa
+ * logo depois dela na ordem do extrato (data decrescente, id), sem OFFSET.
+ * <p>
+ * Vai para o cliente como texto opaco ({@link #codificar()}); o formato interno pode mudar.
+ */
+public record CursorExtrato(LocalDate data, Long id) {
+
+    private static final char SEPARADOR = ':';
+
+    public static CursorExtrato apos(TransacaoDTO transacao) {
+        return new CursorExtrato(transacao.getData(), transacao.getId());
+    }
+
+    public String codificar() {
+        String valor = data.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param cursor texto gerado por {@link #codificar()}, ou null para a primeira página
+     * @throws ParametroConsultaInvalidoException se o texto não for um cursor
+     */
+    public static CursorExtrato decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+            int separador = valor.indexOf(SEPARADOR);
+            return new CursorExtrato(LocalDate.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ParametroConsultaInvalidoException("Cursor de paginação inválido: " + cursor, e);
+        }
+    }
+}
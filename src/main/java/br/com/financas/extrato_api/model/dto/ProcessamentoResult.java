@@ -10,20 +10,26 @@ public class ProcessamentoResult {
     private boolean sucesso;
     private String mensagem;
     private int transacoesSalvas;
+    /** Transações do arquivo que já existiam (mesma impressão digital) e não foram gravadas novamente */
+    private int duplicatasIgnoradas;
 
     public static ProcessamentoResult sucesso(String nomeArquivo, int transacoesSalvas) {
-        return new ProcessamentoResult(nomeArquivo, true, "Arquivo processado com sucesso", transacoesSalvas);
+        return sucesso(nomeArquivo, transacoesSalvas, 0);
+    }
+
+    public static ProcessamentoResult sucesso(String nomeArquivo, int transacoesSalvas, int duplicatasIgnoradas) {
+        return new ProcessamentoResult(nomeArquivo, true, "Arquivo processado com sucesso", transacoesSalvas, duplicatasIgnoradas);
     }
 
     public static ProcessamentoResult arquivoDuplicado(String nomeArquivo) {
-        return new ProcessamentoResult(nomeArquivo, false, "Arquivo já foi processado anteriormente", 0);
+        return new ProcessamentoResult(nomeArquivo, false, "Arquivo já foi processado anteriormente", 0, 0);
     }
 
     public static ProcessamentoResult parserNaoEncontrado(String nomeArquivo) {
-        return new ProcessamentoResult(nomeArquivo, false, "Parser não encontrado para este arquivo", 0);
+        return new ProcessamentoResult(nomeArquivo, false, "Parser não encontrado para este arquivo", 0, 0);
     }
 
     public static ProcessamentoResult erroProcessamento(String nomeArquivo, String erro) {
-        return new ProcessamentoResult(nomeArquivo, false, "Erro no processamento: " + erro, 0);
+        return new ProcessamentoResult(nomeArquivo, false, "Erro no processamento: " + erro, 0, 0);
     }
 }
\ No newline at end of file
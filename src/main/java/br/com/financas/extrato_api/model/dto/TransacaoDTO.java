@@ -10,6 +10,10 @@ import org.springframework.hateoas.RepresentationModel;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Transação na resposta da API. O construtor com todos os campos, na ordem declarada, é usado pela projeção
+ * das consultas de leitura (TransacaoRepository.PROJECAO_DTO).
+ */
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
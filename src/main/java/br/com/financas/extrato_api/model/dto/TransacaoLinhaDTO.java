@@ -0,0 +1,19 @@
+package br.com.financas.extrato_api.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transação do extrato em stream: os mesmos campos do {@link TransacaoDTO}, sem links. O construtor, na ordem
+ * declarada, é usado pela projeção das leituras em stream (TransacaoRepository.PROJECAO_LINHA).
+ */
+public record TransacaoLinhaDTO(Long id,
+                                LocalDate data,
+                                String lancamento,
+                                String detalhes,
+                                String numeroDocumento,
+                                BigDecimal valor,
+                                String tipoLancamento,
+                                String categoria,
+                                String banco) {
+}
@@ -4,6 +4,7 @@ import br.com.financas.extrato_api.controller.ExtratoSyncController;
 import br.com.financas.extrato_api.model.Transacao;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
@@ -37,7 +38,7 @@ public class TransacaoRepresentationAssembler implements RepresentationModelAsse
                 .build();
         
         // Adiciona links HATEOAS
-        dto.add(linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato()).withRel("extrato"));
+        dto.add(linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato(null, null, null, null, null)).withRel("extrato"));
         dto.add(linkTo(methodOn(ExtratoSyncController.class).carregarExtrato(null,null)).withRel("carregar"));
         
         return dto;
@@ -54,9 +55,29 @@ public class TransacaoRepresentationAssembler implements RepresentationModelAsse
         CollectionModel<TransacaoDTO> collectionModel = RepresentationModelAssembler.super.toCollectionModel(entities);
         
         // Adiciona links para a coleção
-        collectionModel.add(linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato()).withSelfRel());
+        collectionModel.add(linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato(null, null, null, null, null)).withSelfRel());
         collectionModel.add(linkTo(methodOn(ExtratoSyncController.class).carregarExtrato(null, null)).withRel("carregar"));
         
         return collectionModel;
     }
+
+    /**
+     * Monta o CollectionModel de DTOs já projetados pela consulta, sem passar por entidades. Os links
+     * de cada item são iguais para todos e são construídos uma única vez por coleção.
+     * @param dtos transações projetadas
+     * @param self link da própria consulta, com os filtros e o cursor da requisição
+     * @return CollectionModel<TransacaoDTO>
+     */
+    @NotNull
+    public CollectionModel<TransacaoDTO> toCollectionModelDeDtos(@NotNull Iterable<TransacaoDTO> dtos, @NotNull Link self) {
+        Link extrato = linkTo(methodOn(ExtratoSyncController.class).visualizarExtrato(null, null, null, null, null)).withRel("extrato");
+        Link carregar = linkTo(methodOn(ExtratoSyncController.class).carregarExtrato(null, null)).withRel("carregar");
+        for (TransacaoDTO dto : dtos) {
+            dto.add(extrato, carregar);
+        }
+
+        CollectionModel<TransacaoDTO> collectionModel = CollectionModel.of(dtos);
+        collectionModel.add(self, carregar);
+        return collectionModel;
+    }
 }
@@ -2,15 +2,26 @@ package br.com.financas.extrato_api.model.parser;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.util.unit.DataSize;
 
 @Getter
 @Setter
 public class CsvConfig {
+    /**
+     * Regex legada de separação de campos. O parser usa {@link #delimiter} e {@link #quote}
+     * através do {@link br.com.financas.extrato_api.util.CsvTokenizer}.
+     */
     private String separator;
+    private Character delimiter;
+    private Character quote;
     private String dateFormat;
     private String dateRegex;
     private String valueRegex;
     private Integer skipLine;
     private String pais;
     private String idioma;
-}
\ No newline at end of file
+    /** Lê o arquivo direto dos bytes (ISO-8859-1), sem InputStreamReader */
+    private boolean byteReading;
+    /** Tamanho a partir do qual o arquivo é mapeado em memória na leitura por bytes */
+    private DataSize mapThreshold;
+}
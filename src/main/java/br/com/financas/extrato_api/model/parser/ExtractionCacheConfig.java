@@ -0,0 +1,18 @@
+package br.com.financas.extrato_api.model.parser;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+public class ExtractionCacheConfig {
+    /** Guarda em disco as linhas extraídas de cada PDF, pelo hash do conteúdo, para reenvios do mesmo arquivo */
+    private boolean enabled = true;
+    /** Diretório do cache; vazio usa java.io.tmpdir/extrato-api/pdf-cache */
+    private String dir;
+    /** Tamanho máximo do cache; acima disso as entradas usadas há mais tempo são removidas */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    /** Versão da extração: mudar descarta as entradas gravadas por versões anteriores do parser */
+    private String parserVersion = "1";
+}
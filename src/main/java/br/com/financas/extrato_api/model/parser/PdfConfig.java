@@ -2,6 +2,7 @@ package br.com.financas.extrato_api.model.parser;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.util.unit.DataSize;
 
 @Getter
 @Setter
@@ -14,4 +15,17 @@ public class PdfConfig {
     private String skipPattern;
     private String pais;
     private String idioma;
+    /**
+     * Mínimo de páginas por parte na extração paralela, que usa uma parte por worker (parallelism-per-upload);
+     * documentos com até esse número de páginas são lidos sem paralelismo
+     */
+    private int pagesPerChunk = 4;
+    /** Classifica as linhas sem regex (ItauLineClassifier), no layout da transaction-regex padrão; false usa transaction-regex */
+    private boolean compiledLineClassifier = true;
+    /** Memória usada pelo PDFBox por documento; acima disso o buffer vai para arquivo de scratch. Negativo para só memória */
+    private DataSize maxMainMemory = DataSize.ofMegabytes(32);
+    /** Diretório dos arquivos de scratch do PDFBox; vazio usa java.io.tmpdir */
+    private String scratchDir;
+    private TextExtractionConfig textExtraction = new TextExtractionConfig();
+    private ExtractionCacheConfig extractionCache = new ExtractionCacheConfig();
 }
\ No newline at end of file
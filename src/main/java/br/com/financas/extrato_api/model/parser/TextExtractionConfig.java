@@ -0,0 +1,14 @@
+package br.com.financas.extrato_api.model.parser;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TextExtractionConfig {
+    /** Ordena o texto pela posição na página, e não pela ordem do content stream */
+    private boolean sortByPosition = true;
+    private String encoding = "UTF-8";
+    /** Extrai as células pela posição das colunas (ItauColumnStripper); false extrai o texto e classifica as linhas */
+    private boolean columns = true;
+}
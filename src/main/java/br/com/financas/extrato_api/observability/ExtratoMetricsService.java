@@ -1,12 +1,19 @@
 package br.com.financas.extrato_api.observability;
 
+import br.com.financas.extrato_api.parser.RejectReason;
+import com.github.benmanes.caffeine.cache.Cache;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Service para métricas customizadas do extrato
@@ -20,8 +27,12 @@ public class ExtratoMetricsService {
     private final Counter errosProcessamento;
     private final Timer tempoProcessamento;
     private final Counter bancosUtilizados;
+    private final MeterRegistry meterRegistry;
+    // Contadores de linhas rejeitadas por banco, indexados pelo ordinal do motivo
+    private final Map<String, Counter[]> linhasRejeitadas = new ConcurrentHashMap<>();
     
     public ExtratoMetricsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
         this.arquivosProcessados = Counter.builder("extrato.arquivos.processados")
                 .description("Total de arquivos processados")
                 .register(meterRegistry);
@@ -68,7 +79,75 @@ public class ExtratoMetricsService {
         tempoProcessamento.record(duracao);
     }
     
+    /**
+     * Registra a duração de uma etapa do aquecimento da aplicação (fontes, moneta, parser ou total)
+     */
+    public void registrarAquecimento(String etapa, Duration duracao) {
+        Timer.builder("extrato.aquecimento.tempo")
+                .description("Tempo de aquecimento antes de aceitar tráfego")
+                .tag("etapa", etapa)
+                .register(meterRegistry)
+                .record(duracao);
+    }
+
+    /**
+     * Registra a taxa de falso positivo estimada, a memória e a quantidade de chaves de um filtro de duplicatas
+     */
+    public <T> void registrarFiltroDuplicatas(String filtro, T origem, ToDoubleFunction<T> taxaFalsoPositivo,
+                                              ToDoubleFunction<T> bytes, ToDoubleFunction<T> chaves) {
+        Gauge.builder("extrato.filtro.falso.positivo.estimado", origem, taxaFalsoPositivo)
+                .description("Taxa de falso positivo estimada do filtro de duplicatas")
+                .tag("filtro", filtro)
+                .register(meterRegistry);
+        Gauge.builder("extrato.filtro.memoria", origem, bytes)
+                .description("Memória ocupada pelo filtro de duplicatas")
+                .baseUnit("bytes")
+                .tag("filtro", filtro)
+                .register(meterRegistry);
+        Gauge.builder("extrato.filtro.chaves", origem, chaves)
+                .description("Chaves inseridas no filtro de duplicatas desde a carga")
+                .tag("filtro", filtro)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Conta consultas ao filtro de duplicatas: ausente (consulta ao banco evitada), confirmado
+     * (o banco confirmou a chave) ou falso_positivo (o filtro aceitou e o banco não tinha)
+     */
+    public void incrementarConsultaFiltro(String filtro, String resultado, int quantidade) {
+        if (quantidade > 0) {
+            meterRegistry.counter("extrato.filtro.consultas", "filtro", filtro, "resultado", resultado).increment(quantidade);
+        }
+    }
+
+    /**
+     * Expõe as estatísticas de acerto, falta e remoção de um cache Caffeine (cache.gets, cache.evictions...)
+     */
+    public void monitorarCache(String nome, Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nome);
+    }
+
     public void incrementarBancoUtilizado(String banco) {
         bancosUtilizados.increment();
     }
+    
+    /**
+     * Conta uma linha descartada pelo parser, com tags de banco e motivo.
+     */
+    public void incrementarLinhaRejeitada(String banco, RejectReason motivo) {
+        linhasRejeitadas.computeIfAbsent(banco, this::criarContadoresRejeicao)[motivo.ordinal()].increment();
+    }
+    
+    private Counter[] criarContadoresRejeicao(String banco) {
+        RejectReason[] motivos = RejectReason.values();
+        Counter[] contadores = new Counter[motivos.length];
+        for (RejectReason motivo : motivos) {
+            contadores[motivo.ordinal()] = Counter.builder("extrato.linhas.rejeitadas")
+                    .description("Linhas do extrato descartadas no parse, por motivo")
+                    .tag("banco", banco)
+                    .tag("motivo", motivo.name())
+                    .register(meterRegistry);
+        }
+        return contadores;
+    }
 }
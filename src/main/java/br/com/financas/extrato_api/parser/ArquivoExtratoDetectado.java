@@ -0,0 +1,78 @@
+package br.com.financas.extrato_api.parser;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Upload cujo banco foi identificado pelo conteúdo no {@link ExtratoDetector}.
+ * Delega tudo ao arquivo original e carrega o parser detectado, que aceita o arquivo mesmo
+ * quando o nome não segue os file-patterns do banco.
+ */
+public final class ArquivoExtratoDetectado implements MultipartFile {
+
+    private final MultipartFile arquivo;
+    private final ExtratoParser parser;
+
+    public ArquivoExtratoDetectado(MultipartFile arquivo, ExtratoParser parser) {
+        this.arquivo = arquivo;
+        this.parser = parser;
+    }
+
+    public ExtratoParser getParser() {
+        return parser;
+    }
+
+    /** Identificador do banco detectado */
+    public String getBanco() {
+        return parser.getConfig().getId();
+    }
+
+    @Override
+    public String getName() {
+        return arquivo.getName();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return arquivo.getOriginalFilename();
+    }
+
+    @Override
+    public String getContentType() {
+        return arquivo.getContentType();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return arquivo.isEmpty();
+    }
+
+    @Override
+    public long getSize() {
+        return arquivo.getSize();
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return arquivo.getBytes();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return arquivo.getInputStream();
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException, IllegalStateException {
+        arquivo.transferTo(dest);
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException, IllegalStateException {
+        arquivo.transferTo(dest);
+    }
+}
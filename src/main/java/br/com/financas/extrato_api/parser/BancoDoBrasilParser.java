@@ -2,25 +2,32 @@ package br.com.financas.extrato_api.parser;
 
 import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
 import br.com.financas.extrato_api.config.parser.BankParserConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
 import br.com.financas.extrato_api.model.Transacao;
-import br.com.financas.extrato_api.parser.validation.Validation;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
 import br.com.financas.extrato_api.util.CsvColumn;
+import br.com.financas.extrato_api.util.CsvTokenizer;
+import br.com.financas.extrato_api.util.FixedFormatDateParser;
+import br.com.financas.extrato_api.util.FixedPointMoney;
+import br.com.financas.extrato_api.util.Latin1LineReader;
+import br.com.financas.extrato_api.util.StringDictionary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.money.MonetaryAmount;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Parser otimizado para Banco do Brasil usando configuração e streams paralelos.
@@ -31,13 +38,31 @@ import java.util.Optional;
 public class BancoDoBrasilParser implements ExtratoParser {
 
     private final BancoDoBrasilParserConfig config;
-    private final DateTimeFormatter dateFormatter;
-    private final Validation validation;
+    private final FixedFormatDateParser dateParser;
+    private final CsvTokenizer tokenizer;
+    private final ExtratoMetricsService metricsService;
+    private final ParserGeneralConfig generalConfig;
+    private final ParserExecutor parserExecutor;
+
+    private static final int CAMPOS_MINIMOS = 6;
+    private static final String CABECALHO_DATA = "Data";
+    // Dicionário por upload para os detalhes, que se repetem dentro do arquivo mas pouco entre arquivos
+    private static final int CAPACIDADE_DICIONARIO_UPLOAD = 4096;
+    private static final int TAMANHO_MAXIMO_DETALHES = 128;
+
     @Autowired
-    public BancoDoBrasilParser(BancoDoBrasilParserConfig config, @Qualifier("BBValidation") Validation validation) {
+    public BancoDoBrasilParser(BancoDoBrasilParserConfig config, ExtratoMetricsService metricsService,
+                               ParserGeneralConfig generalConfig, ParserExecutor parserExecutor) {
         this.config = config;
-        this.dateFormatter = DateTimeFormatter.ofPattern(config.getCsv().getDateFormat());
-        this.validation = validation;
+        this.dateParser = FixedFormatDateParser.of(config.getCsv().getDateFormat());
+        this.tokenizer = CsvTokenizer.of(config.getCsv());
+        this.metricsService = metricsService;
+        this.generalConfig = generalConfig;
+        this.parserExecutor = parserExecutor;
+    }
+
+    public BancoDoBrasilParser(BancoDoBrasilParserConfig config) {
+        this(config, null, null, null);
     }
 
     /**
@@ -47,30 +72,76 @@ public class BancoDoBrasilParser implements ExtratoParser {
      */
     @Override
     public Optional<Transacao> parseLine(String linha) {
-        String[] campos = linha.split(config.getCsv().getSeparator(), -1);
-        if (!validation.isValidLine(campos)) {
-            return Optional.empty();
+        return processar(tokenizer.tokenize(linha), null, metricsService);
+    }
+
+    /**
+     * Decodifica uma linha do extrato, devolvendo a transação ou o motivo da rejeição.
+     * @param linha linha do extrato
+     * @return resultado da decodificação
+     */
+    public DecodeResult decode(CharSequence linha) {
+        return decode(tokenizer.tokenize(linha), null);
+    }
+
+    /**
+     * @param metricas onde contar as linhas rejeitadas, ou null para não contar (amostra do aquecimento)
+     */
+    private Optional<Transacao> processar(CsvTokenizer.Campos campos, StringDictionary dicionarioUpload,
+                                          ExtratoMetricsService metricas) {
+        DecodeResult resultado = decode(campos, dicionarioUpload);
+        if (!resultado.isValida() && metricas != null) {
+            metricas.incrementarLinhaRejeitada(config.getName(), resultado.getMotivo());
         }
+        return resultado.toOptional();
+    }
 
-        try {
-            LocalDate data = LocalDate.parse(validation.cleanField(campos[ CsvColumn.DATA.getIndex() ]), dateFormatter);
-            // Parse como MonetaryAmount
-            MonetaryAmount valorMonetario = validation.parseValorMonetario(campos[CsvColumn.VALOR.getIndex()]);
-            return Optional.of(Transacao.builder()
-                    .id(null)
-                    .data(data)
-                    .lancamento(validation.cleanField( campos[CsvColumn.LANCAMENTO.getIndex()] ))
-                    .detalhes(validation.cleanField( campos[CsvColumn.DETALHES.getIndex()] ) )
-                    .numeroDocumento(validation.cleanField( campos[CsvColumn.NUMERO_DOCUMENTO.getIndex()] ))
-                    .valorMonetario(valorMonetario)
-                    .tipoLancamento(validation.cleanField( campos[CsvColumn.TIPO_LANCAMENTO.getIndex()] ) )
-                    .categoria("PENDENTE")
-                    .banco(config.getName())
-                    .build());
-
-        } catch (Exception e) {
-            return Optional.empty();
+    /**
+     * Valida e converte a linha em uma única passada: cada campo é lido uma vez, direto dos
+     * trechos da linha, e as rejeições são devolvidas como código, sem exceção.
+     * Lançamento e tipo passam pelo dicionário global e os detalhes pelo dicionário do upload, quando houver.
+     */
+    private DecodeResult decode(CsvTokenizer.Campos campos, StringDictionary dicionarioUpload) {
+        if (campos.size() < CAMPOS_MINIMOS) {
+            return DecodeResult.rejeitada(RejectReason.SHORT_ROW);
+        }
+        int tipo = CsvColumn.TIPO_LANCAMENTO.getIndex();
+        if (campos.start(tipo) == campos.end(tipo)) {
+            return DecodeResult.rejeitada(RejectReason.MISSING_TYPE);
         }
+
+        CharSequence linha = campos.getLinha();
+        int colunaData = CsvColumn.DATA.getIndex();
+        LocalDate data = campos.isContiguous(colunaData)
+                ? dateParser.parse(linha, campos.start(colunaData), campos.end(colunaData))
+                : dateParser.parse(campos.get(colunaData));
+        if (data == null) {
+            return CABECALHO_DATA.equalsIgnoreCase(campos.get(colunaData))
+                    ? DecodeResult.rejeitada(RejectReason.HEADER)
+                    : DecodeResult.rejeitada(RejectReason.BAD_DATE);
+        }
+
+        // O parse de centavos ignora aspas e espaços, então lê o trecho bruto mesmo com aspas internas
+        int colunaValor = CsvColumn.VALOR.getIndex();
+        long centavos = FixedPointMoney.parseCentavos(linha, campos.start(colunaValor), campos.end(colunaValor));
+        if (centavos == FixedPointMoney.INVALIDO) {
+            return DecodeResult.rejeitada(RejectReason.BAD_AMOUNT);
+        }
+        FixedPointMoney valor = FixedPointMoney.brl(centavos);
+
+        return DecodeResult.ok(Transacao.builder()
+                .id(null)
+                .data(data)
+                .lancamento(texto(campos, CsvColumn.LANCAMENTO.getIndex(), dicionarioGlobal()))
+                .detalhes(texto(campos, CsvColumn.DETALHES.getIndex(), dicionarioUpload))
+                .numeroDocumento(campos.get(CsvColumn.NUMERO_DOCUMENTO.getIndex()))
+                .valor(valor.toBigDecimal())
+                .moeda(valor.getCurrencyCode())
+                .tipoLancamento(texto(campos, tipo, dicionarioGlobal()))
+                .categoria("PENDENTE")
+                .banco(config.getName())
+                .build()
+                .comFingerprint());
     }
 
     /**
@@ -82,18 +153,114 @@ public class BancoDoBrasilParser implements ExtratoParser {
      */
     @Override
     public List<Transacao> parse(MultipartFile file) throws RuntimeException{
-        if( !supports(file.getOriginalFilename()))
+        if( !supports(file))
             return List.of();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.ISO_8859_1))) {
-            return reader.lines()
-                    .skip(config.getCsv().getSkipLine())
-                    .parallel()
-                    .map(this::parseLine)
-                    .flatMap(Optional::stream)
-                    .toList();
-        }catch (IOException ioException){
+        try (Stream<Transacao> transacoes = stream(file)) {
+            return transacoes.toList();
+        }
+    }
+
+    /**
+     * Lê o arquivo linha a linha, sob demanda e na ordem do arquivo.
+     * Com {@code csv.byte-reading} as linhas são tokenizadas direto dos bytes do upload e, com
+     * {@code parser.general.parallel-processing}, arquivos maiores que {@code chunk-size} são divididos em partes
+     * processadas no {@link ParserExecutor}, mantendo a ordem do arquivo.
+     * O stream fecha o arquivo ao ser fechado.
+     * @param file Arquivo de extrato em formato CSV
+     * @throws RuntimeException se o arquivo não puder ser aberto
+     * @return Stream com as transações validas do arquivo
+     */
+    @Override
+    public Stream<Transacao> stream(MultipartFile file) throws RuntimeException {
+        if (!supports(file))
+            return Stream.empty();
+        // As linhas rejeitadas da amostra do aquecimento (o cabeçalho, ao menos) não entram na métrica
+        ExtratoMetricsService metricas = ParserWarmup.isAmostra(file) ? null : metricsService;
+        if (config.getCsv().isByteReading()) {
+            return streamBytes(file, metricas);
+        }
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.ISO_8859_1));
+        } catch (IOException ioException) {
             throw new RuntimeException("Erro ao processar o arquivo: " + ioException.getMessage(), ioException);
         }
+        StringDictionary dicionario = novoDicionarioUpload();
+        return reader.lines()
+                .skip(config.getCsv().getSkipLine())
+                .map(linha -> processar(tokenizer.tokenize(linha), dicionario, metricas))
+                .flatMap(Optional::stream)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+    }
+
+    private Stream<Transacao> streamBytes(MultipartFile file, ExtratoMetricsService metricas) {
+        DataSize limite = config.getCsv().getMapThreshold();
+        Latin1LineReader leitor;
+        try {
+            leitor = Latin1LineReader.of(file, limite != null ? limite.toBytes() : -1);
+        } catch (IOException ioException) {
+            throw new RuntimeException("Erro ao processar o arquivo: " + ioException.getMessage(), ioException);
+        }
+        Stream<Transacao> transacoes;
+        if (isParseParalelo(leitor)) {
+            Iterator<Latin1LineReader> partes = leitor.split(config.getCsv().getSkipLine(),
+                    (int) generalConfig.getChunkSize().toBytes(), tokenizer.getQuote());
+            StringDictionary dicionario = novoDicionarioUpload();
+            transacoes = parserExecutor.processarEmOrdem(partes, parte -> parseParte(parte, dicionario, metricas));
+        } else {
+            StringDictionary dicionario = novoDicionarioUpload();
+            transacoes = leitor.lines()
+                    .skip(config.getCsv().getSkipLine())
+                    .map(linha -> processar(tokenizer.tokenize(linha), dicionario, metricas))
+                    .flatMap(Optional::stream);
+        }
+        return transacoes
+                .onClose(() -> {
+                    try {
+                        leitor.close();
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+    }
+
+    private static String texto(CsvTokenizer.Campos campos, int indice, StringDictionary dicionario) {
+        if (dicionario == null || !campos.isContiguous(indice)) {
+            String valor = campos.get(indice);
+            return dicionario != null ? dicionario.intern(valor) : valor;
+        }
+        return dicionario.intern(campos.getLinha(), campos.start(indice), campos.end(indice));
+    }
+
+    private boolean isInternarTextos() {
+        return generalConfig == null || generalConfig.isInternStrings();
+    }
+
+    private StringDictionary dicionarioGlobal() {
+        return isInternarTextos() ? StringDictionary.global() : null;
+    }
+
+    private StringDictionary novoDicionarioUpload() {
+        return isInternarTextos() ? new StringDictionary(CAPACIDADE_DICIONARIO_UPLOAD, TAMANHO_MAXIMO_DETALHES) : null;
+    }
+
+    private boolean isParseParalelo(Latin1LineReader leitor) {
+        return parserExecutor != null && generalConfig != null && generalConfig.isParallelProcessing()
+                && leitor.size() > generalConfig.getChunkSize().toBytes();
+    }
+
+    private List<Transacao> parseParte(Latin1LineReader parte, StringDictionary dicionario,
+                                       ExtratoMetricsService metricas) {
+        return parte.lines()
+                .map(linha -> processar(tokenizer.tokenize(linha), dicionario, metricas))
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     @Override
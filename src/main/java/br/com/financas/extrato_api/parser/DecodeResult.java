@@ -0,0 +1,52 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.model.Transacao;
+
+import java.util.Optional;
+
+/**
+ * Resultado da decodificação de uma linha: a transação ou o motivo da rejeição.
+ * Rejeições são instâncias compartilhadas, então descartar linhas não aloca.
+ */
+public final class DecodeResult {
+
+    private static final DecodeResult[] REJEITADAS = new DecodeResult[RejectReason.values().length];
+
+    static {
+        for (RejectReason motivo : RejectReason.values()) {
+            REJEITADAS[motivo.ordinal()] = new DecodeResult(null, motivo);
+        }
+    }
+
+    private final Transacao transacao;
+    private final RejectReason motivo;
+
+    private DecodeResult(Transacao transacao, RejectReason motivo) {
+        this.transacao = transacao;
+        this.motivo = motivo;
+    }
+
+    public static DecodeResult ok(Transacao transacao) {
+        return new DecodeResult(transacao, null);
+    }
+
+    public static DecodeResult rejeitada(RejectReason motivo) {
+        return REJEITADAS[motivo.ordinal()];
+    }
+
+    public boolean isValida() {
+        return transacao != null;
+    }
+
+    public Transacao getTransacao() {
+        return transacao;
+    }
+
+    public RejectReason getMotivo() {
+        return motivo;
+    }
+
+    public Optional<Transacao> toOptional() {
+        return Optional.ofNullable(transacao);
+    }
+}
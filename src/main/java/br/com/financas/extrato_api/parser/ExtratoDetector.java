@@ -0,0 +1,144 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.config.parser.BankParserConfig;
+import br.com.financas.extrato_api.exception.ArquivoProcessamentoException;
+import br.com.financas.extrato_api.exception.FormatoArquivoInvalidoException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Identifica o banco de um extrato pelo conteúdo, lendo apenas os primeiros KB do arquivo.
+ * O formato vem dos bytes iniciais ({@code %PDF-} ou texto) e o banco das content-markers e file-patterns
+ * da configuração de cada parser, compiladas uma única vez. Arquivos que não parecem extrato de nenhum banco
+ * são rejeitados antes de qualquer hash, parse ou arquivo temporário.
+ */
+@Slf4j
+@Component
+public class ExtratoDetector {
+
+    static final int TAMANHO_AMOSTRA = 8 * 1024;
+
+    private static final byte[] MAGIC_PDF = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private final List<Candidato> candidatos;
+
+    public ExtratoDetector(List<ExtratoParser> parsers) {
+        this.candidatos = parsers.stream().map(Candidato::new).toList();
+    }
+
+    /**
+     * @param file upload
+     * @return o upload marcado com o parser detectado
+     * @throws FormatoArquivoInvalidoException se o arquivo não for extrato de um banco suportado
+     */
+    public ArquivoExtratoDetectado detectar(MultipartFile file) {
+        if (file instanceof ArquivoExtratoDetectado detectado) {
+            return detectado;
+        }
+        if (file.isEmpty()) {
+            throw new ArquivoProcessamentoException("Arquivo está vazio");
+        }
+
+        byte[] amostra = lerAmostra(file);
+        String extensao = formato(amostra);
+        if (extensao == null) {
+            throw new FormatoArquivoInvalidoException("Formato de arquivo não reconhecido: " + file.getOriginalFilename());
+        }
+
+        String conteudo = new String(amostra, StandardCharsets.ISO_8859_1);
+        String nome = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        Candidato escolhido = null;
+        int melhor = -1;
+        for (Candidato candidato : candidatos) {
+            int pontuacao = candidato.pontuar(extensao, conteudo, nome);
+            if (pontuacao > melhor) {
+                melhor = pontuacao;
+                escolhido = candidato;
+            }
+        }
+        if (escolhido == null) {
+            throw new FormatoArquivoInvalidoException("Arquivo não reconhecido como extrato de um banco suportado: "
+                    + file.getOriginalFilename());
+        }
+
+        log.debug("Arquivo {} detectado como extrato {} ({})", file.getOriginalFilename(),
+                escolhido.parser.getBankName(), extensao);
+        return new ArquivoExtratoDetectado(file, escolhido.parser);
+    }
+
+    private static byte[] lerAmostra(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return in.readNBytes(TAMANHO_AMOSTRA);
+        } catch (IOException e) {
+            throw new ArquivoProcessamentoException("Erro ao ler o arquivo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return extensão correspondente ao conteúdo (.pdf ou .csv), ou null se não for um formato suportado
+     */
+    private static String formato(byte[] amostra) {
+        if (amostra.length >= MAGIC_PDF.length) {
+            boolean pdf = true;
+            for (int i = 0; i < MAGIC_PDF.length && pdf; i++) {
+                pdf = amostra[i] == MAGIC_PDF[i];
+            }
+            if (pdf) {
+                return ".pdf";
+            }
+        }
+        // Texto: sem bytes nulos nem caracteres de controle fora de tab/CR/LF
+        for (byte b : amostra) {
+            if (b >= 0 && b < ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return null;
+            }
+        }
+        return ".csv";
+    }
+
+    private static final class Candidato {
+        private final ExtratoParser parser;
+        private final List<String> extensoes;
+        private final List<Pattern> filePatterns;
+        private final List<Pattern> contentMarkers;
+
+        private Candidato(ExtratoParser parser) {
+            BankParserConfig config = parser.getConfig();
+            this.parser = parser;
+            this.extensoes = config.getSupportedExtensions() != null ? config.getSupportedExtensions() : List.of();
+            this.filePatterns = compilar(config.getFilePatterns());
+            this.contentMarkers = compilar(config.getContentMarkers());
+        }
+
+        private static List<Pattern> compilar(List<String> regexes) {
+            return regexes == null ? List.of() : regexes.stream().map(Pattern::compile).toList();
+        }
+
+        /**
+         * Marca no conteúdo vale mais que o nome do arquivo. O formato sozinho não basta: sem a marca nem o nome,
+         * qualquer PDF ou texto seria aceito como extrato do primeiro banco com a extensão.
+         * @return pontuação, ou -1 se o arquivo não pode ser deste banco
+         */
+        private int pontuar(String extensao, String conteudo, String nome) {
+            if (!extensoes.contains(extensao)) {
+                return -1;
+            }
+            int pontuacao = 0;
+            if (contentMarkers.stream().anyMatch(marker -> marker.matcher(conteudo).find())) {
+                pontuacao += 2;
+            }
+            if (filePatterns.stream().anyMatch(pattern -> pattern.matcher(nome).matches())) {
+                pontuacao += 1;
+            }
+            return pontuacao > 0 ? pontuacao : -1;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package br.com.financas.extrato_api.parser;
 
 import br.com.financas.extrato_api.config.parser.BankParserConfig;
 import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.util.ArquivoComHash;
+import br.com.financas.extrato_api.util.PatternCache;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interface simples para parser de extratos bancários.
@@ -19,6 +22,39 @@ public interface ExtratoParser {
      * Processa um arquivo de extrato e retorna uma lista de transações.
      */
     List<Transacao> parse(MultipartFile file);
+
+    /**
+     * Processa um arquivo de extrato sob demanda, sem materializar todas as transações.
+     * O stream mantém o arquivo aberto e deve ser fechado pelo chamador (try-with-resources).
+     */
+    Stream<Transacao> stream(MultipartFile file);
+
+    /**
+     * Consome o stream de transações em lotes de tamanho fixo, mantendo em memória apenas o lote corrente.
+     * @param transacoes stream de transações do parser
+     * @param tamanhoLote quantidade máxima de transações por lote
+     * @param consumidor recebe cada lote na ordem do arquivo
+     * @return total de transações entregues
+     */
+    static int consumirEmLotes(Stream<Transacao> transacoes, int tamanhoLote, Consumer<List<Transacao>> consumidor) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser positivo: " + tamanhoLote);
+        }
+        List<Transacao> lote = new ArrayList<>(tamanhoLote);
+        int total = 0;
+        for (Transacao transacao : (Iterable<Transacao>) transacoes::iterator) {
+            lote.add(transacao);
+            total++;
+            if (lote.size() == tamanhoLote) {
+                consumidor.accept(lote);
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            consumidor.accept(lote);
+        }
+        return total;
+    }
     
     /**
      * Retorna o nome do banco suportado.
@@ -30,6 +66,20 @@ public interface ExtratoParser {
      */
     BankParserConfig getConfig();
     
+    /**
+     * Verifica se este parser suporta o arquivo. Arquivos identificados pelo {@link ExtratoDetector}
+     * são aceitos pelo parser detectado, independente do nome; os demais são verificados pelo nome.
+     */
+    default boolean supports(MultipartFile file) {
+        if (file instanceof ArquivoComHash comHash) {
+            return supports(comHash.getArquivo());
+        }
+        if (file instanceof ArquivoExtratoDetectado detectado) {
+            return detectado.getParser().getConfig() == getConfig();
+        }
+        return supports(file.getOriginalFilename());
+    }
+
     /**
      * Verifica se este parser suporta o arquivo pelo nome.
      * Implementação padrão que pode ser sobrescrita se necessário.
@@ -44,13 +94,9 @@ public interface ExtratoParser {
             return false;
         }
 
-        // Verifica padrões de nome de arquivo
+        // Verifica padrões de nome de arquivo, compilados uma única vez
         String lowerFileName = fileName.toLowerCase();
-        List<Pattern> filePatterns = getConfig().getFilePatterns().stream()
-                .map(Pattern::compile)
-                .toList();
-        
-        return filePatterns.stream()
-                .anyMatch(pattern -> pattern.matcher(lowerFileName).matches());
+        return getConfig().getFilePatterns().stream()
+                .anyMatch(regex -> PatternCache.compile(regex).matcher(lowerFileName).matches());
     }
 }
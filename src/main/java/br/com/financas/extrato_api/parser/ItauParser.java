@@ -2,46 +2,83 @@ package br.com.financas.extrato_api.parser;
 
 import br.com.financas.extrato_api.config.parser.BankParserConfig;
 import br.com.financas.extrato_api.config.parser.ItauParserConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
 import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.parser.ExtractionCacheConfig;
+import br.com.financas.extrato_api.model.parser.TextExtractionConfig;
 import br.com.financas.extrato_api.parser.validation.ItauValidation;
 import br.com.financas.extrato_api.parser.validation.Validation;
+import br.com.financas.extrato_api.util.FixedFormatDateParser;
+import br.com.financas.extrato_api.util.FixedPointMoney;
+import br.com.financas.extrato_api.util.HashConteudo;
 import br.com.financas.extrato_api.util.ItauColumn;
+import br.com.financas.extrato_api.util.ItauColumnStripper;
+import br.com.financas.extrato_api.util.ItauLineClassifier;
+import br.com.financas.extrato_api.util.PdfExtractionCache;
 import br.com.financas.extrato_api.util.PdfTextStripper;
-import lombok.RequiredArgsConstructor;
+import br.com.financas.extrato_api.util.StringDictionary;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.money.MonetaryAmount;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Parser para extratos PDF do Itaú seguindo o padrão de configuração
  */
 @Slf4j
 @Component("ItauParser")
-@RequiredArgsConstructor
 public class ItauParser implements ExtratoParser {
 
     private final ItauParserConfig config;
-    private final DateTimeFormatter dateFormatter;
+    private final FixedFormatDateParser dateParser;
     private final Validation validation;
+    private final ParserGeneralConfig generalConfig;
+    private final ParserExecutor parserExecutor;
+    private final MemoryUsageSetting memoria;
+    private final ItauLineClassifier classifier;
+    private final boolean extracaoPorColunas;
+    private final boolean ordenarPorPosicao;
+    private final PdfExtractionCache cache;
 
     @Autowired
-    public ItauParser(ItauParserConfig config, @Qualifier("ItauValidation") Validation validation) {
+    public ItauParser(ItauParserConfig config, @Qualifier("ItauValidation") Validation validation,
+                      ParserGeneralConfig generalConfig, ParserExecutor parserExecutor) {
         this.config = config;
-        this.dateFormatter = DateTimeFormatter.ofPattern(config.getPdf().getDateFormat());
+        this.dateParser = FixedFormatDateParser.of(config.getPdf().getDateFormat());
         this.validation = validation;
+        this.generalConfig = generalConfig;
+        this.parserExecutor = parserExecutor;
+        this.memoria = PdfTextStripper.memoryUsageSetting(config.getPdf().getMaxMainMemory(),
+                config.getPdf().getScratchDir());
+        this.classifier = new ItauLineClassifier(config.getPdf().getHeaderRegex());
+        TextExtractionConfig extracao = config.getPdf().getTextExtraction();
+        this.extracaoPorColunas = extracao != null && extracao.isColumns();
+        this.ordenarPorPosicao = extracao == null || extracao.isSortByPosition();
+        this.cache = criarCache(config.getPdf().getExtractionCache());
+    }
+
+    public ItauParser(ItauParserConfig config, Validation validation) {
+        this(config, validation, null, null);
     }
 
     /**
@@ -57,32 +94,48 @@ public class ItauParser implements ExtratoParser {
         
         linha = linha.trim();
         
-        // Usa a validação para verificar se é uma linha válida
-        if (!((ItauValidation) validation).isValidTransactionLine(linha)) {
-            return Optional.empty();
-        }
-
         try {
-            // Extrai os 4 campos usando o novo método
-            String[] campos = ((ItauValidation) validation).extrairCamposTransacao(linha);
+            // Valida e extrai os 4 campos em uma única passada
+            String[] campos = ((ItauValidation) validation).classificarLinha(linha);
             
             if (campos == null) {
-                log.debug("Não foi possível extrair campos da linha: {}", linha);
                 return Optional.empty();
             }
-            
+            return parseCampos(campos);
+
+        } catch (Exception e) {
+            log.warn("Erro ao parsear linha: {}", linha, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Transforma as células de uma linha do extrato em uma Transacao
+     * @param campos [data, descricao, valor, saldo], ver {@link ItauColumn}
+     * @return Transacao, ou vazio se a data ou o valor forem inválidos
+     */
+    private Optional<Transacao> parseCampos(String[] campos) {
+        try {
             // Usa o enum para acessar os campos de forma mais clara
             String dataStr = campos[ItauColumn.DATA.getIndex()];
             String descricao = campos[ItauColumn.DESCRICAO.getIndex()];
             String valorStr = campos[ItauColumn.VALOR.getIndex()];
             String saldoStr = campos[ItauColumn.SALDO.getIndex()];
             
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(config.getPdf().getDateFormat());
-            LocalDate data = LocalDate.parse(dataStr, dateFormatter);
-            MonetaryAmount valorMonetario = validation.parseValorMonetario(valorStr);
+            LocalDate data = dateParser.parse(dataStr);
+            if (data == null) {
+                log.debug("Data inválida na linha: {} {}", dataStr, descricao);
+                return Optional.empty();
+            }
+            FixedPointMoney valor = validation.parseValor(valorStr);
+            if (valor == null) {
+                log.debug("Valor inválido na linha: {} {}", dataStr, descricao);
+                return Optional.empty();
+            }
             
-            // A descrição já vem completa do regex (sem data adicional)
-            String descricaoCompleta = descricao;
+            // A descrição já vem completa do classificador (sem data adicional)
+            // lancamento e detalhes compartilham a mesma instância, também entre linhas com a mesma descrição
+            String descricaoCompleta = StringDictionary.global().intern(descricao);
             
             return Optional.of(Transacao.builder()
                     .id(null)
@@ -90,16 +143,16 @@ public class ItauParser implements ExtratoParser {
                     .lancamento(descricaoCompleta)
                     .detalhes(descricaoCompleta)
                     .numeroDocumento(((ItauValidation) validation).gerarNumeroDocumento(descricaoCompleta))
-                    .valor(valorMonetario.getNumber().numberValueExact(BigDecimal.class))
-                    .moeda(valorMonetario.getCurrency().getCurrencyCode())
-                    .valorMonetario(valorMonetario)
-                    .tipoLancamento(((ItauValidation) validation).determinarTipoLancamento(valorMonetario, descricaoCompleta))
+                    .valor(valor.toBigDecimal())
+                    .moeda(valor.getCurrencyCode())
+                    .tipoLancamento(((ItauValidation) validation).determinarTipoLancamento(valor, descricaoCompleta))
                     .categoria("PENDENTE")
                     .banco(config.getName())
-                    .build());
+                    .build()
+                    .comFingerprint());
 
         } catch (Exception e) {
-            log.warn("Erro ao parsear linha: {}", linha, e);
+            log.warn("Erro ao parsear linha: {}", String.join(" ", campos), e);
             return Optional.empty();
         }
     }
@@ -112,46 +165,266 @@ public class ItauParser implements ExtratoParser {
      */
     @Override
     public List<Transacao> parse(MultipartFile file) throws RuntimeException {
-        if (!supports(file.getOriginalFilename())) {
-            return List.of();
+        try (Stream<Transacao> transacoes = stream(file)) {
+            List<Transacao> lista = transacoes.toList();
+            log.info("{} transações parseadas do arquivo {}", lista.size(), file.getOriginalFilename());
+            return lista;
         }
-        
+    }
+
+    /**
+     * Extrai as transações do PDF página a página, sob demanda. Apenas o texto das páginas em andamento
+     * fica em memória; o documento é liberado ao fechar o stream.
+     * Com {@code pdf.extraction-cache}, as linhas de um arquivo já extraído são lidas do cache pelo hash do
+     * conteúdo, sem abrir o PDF; a primeira extração continua sob demanda e grava o cache ao fechar o stream,
+     * se ele tiver sido consumido até o fim.
+     * Com {@code parser.general.parallel-processing}, documentos com mais de {@code pdf.pages-per-chunk} páginas
+     * são extraídos em partes no {@link ParserExecutor}, mantendo a ordem das páginas.
+     * @param file Arquivo de extrato em formato PDF
+     * @throws RuntimeException se o arquivo tiver erro de IO
+     * @return Stream com as transações validas do arquivo
+     */
+    @Override
+    public Stream<Transacao> stream(MultipartFile file) throws RuntimeException {
+        return stream(file, null);
+    }
+
+    /**
+     * Como {@link #stream(MultipartFile)}, reaproveitando o hash do conteúdo já calculado pelo chamador
+     * ({@link HashConteudo}) como chave do cache de extração, sem ler o arquivo de novo só para o hash.
+     * @param hashConteudo SHA-256 do conteúdo, ou null para calcular aqui
+     */
+    public Stream<Transacao> stream(MultipartFile file, String hashConteudo) throws RuntimeException {
+        if (!supports(file)) {
+            return Stream.empty();
+        }
+
+        String hash = hashParaCache(file, hashConteudo);
+        if (hash != null) {
+            Optional<List<String[]>> linhas = cache.get(hash);
+            if (linhas.isPresent()) {
+                log.debug("Linhas do arquivo {} lidas do cache de extração", file.getOriginalFilename());
+                return parseLinhas(linhas.get().stream());
+            }
+        }
+
+        PDDocument document = null;
         try {
-            Path tempFile = Files.createTempFile("itau_extrato_", ".pdf");
-            file.transferTo(tempFile.toFile());
-            
-            try {
-                String text = PdfTextStripper.extractText(tempFile.toFile());
-                log.info("Texto extraído do PDF: {} caracteres", text.length());
-                
-                List<Transacao> transacoes = parseText(text);
-                log.info("{} transações parseadas do arquivo {}", transacoes.size(), file.getOriginalFilename());
-                
-                return transacoes;
-                
-            } finally {
-                Files.deleteIfExists(tempFile);
+            document = carregar(file);
+            if (log.isDebugEnabled()) {
+                log.debug("{}", PdfTextStripper.analyzeStructure(document, file.getOriginalFilename()));
             }
-            
+
+            PDDocument documentoAberto = document;
+            Stream<String[]> extracao;
+            int totalPaginas = document.getNumberOfPages();
+            if (isExtracaoParalela(totalPaginas)) {
+                log.debug("Extraindo {} páginas em paralelo do arquivo {}", totalPaginas, file.getOriginalFilename());
+                ItauColumnStripper.Cabecalho cabecalho = localizarCabecalho(document, totalPaginas);
+                extracao = parserExecutor.processarEmOrdem(
+                        partes(documentoAberto, file, totalPaginas, cabecalho), this::extrairPaginas);
+            } else {
+                extracao = extrairLinhas(document, 1, totalPaginas, null);
+            }
+            Stream<String[]> linhas = extracao.onClose(() -> liberarRecursos(documentoAberto));
+
+            return parseLinhas(hash == null ? linhas : gravandoNoCache(hash, linhas));
+
         } catch (IOException e) {
+            liberarRecursos(document);
             log.error("Erro ao processar arquivo PDF do Itaú: {}", file.getOriginalFilename(), e);
             throw new RuntimeException("Erro ao processar arquivo PDF: " + e.getMessage(), e);
         }
     }
-    
-    private List<Transacao> parseText(String text) {
-        List<Transacao> transacoes = new ArrayList<>();
-        String[] lines = text.split("\\n");
-        
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            
-            Optional<Transacao> transacao = parseLine(line);
-            transacao.ifPresent(transacoes::add);
+
+    /**
+     * Extrai as células das transações das páginas de inicio a fim: pelas colunas da página
+     * (text-extraction.columns) ou pelo texto de cada página, linha a linha
+     * @param colunas colunas de um cabeçalho anterior a inicio, ou null
+     * @return [data, descricao, valor, saldo] de cada transação, ver {@link ItauColumn}
+     */
+    private Stream<String[]> extrairLinhas(PDDocument documento, int inicio, int fim,
+                                           ItauColumnStripper.Colunas colunas) throws IOException {
+        if (extracaoPorColunas) {
+            return new ItauColumnStripper(classifier, ordenarPorPosicao, colunas).streamRows(documento, inicio, fim);
+        }
+        ItauValidation itauValidation = (ItauValidation) validation;
+        return PdfTextStripper.streamTextByPages(documento, inicio, fim)
+                .flatMap(String::lines)
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .map(itauValidation::classificarLinha)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Repassa as linhas sob demanda, guardando uma cópia de cada uma. A cópia só é gravada no cache ao fechar
+     * o stream, e apenas se ele foi consumido até o fim sem erro: uma extração interrompida não vira entrada.
+     */
+    private Stream<String[]> gravandoNoCache(String hash, Stream<String[]> linhas) {
+        CopiaParaCache copia = new CopiaParaCache(linhas.spliterator());
+        return StreamSupport.stream(copia, false)
+                .onClose(() -> {
+                    linhas.close();
+                    if (copia.completa) {
+                        cache.put(hash, copia.linhas);
+                    }
+                });
+    }
+
+    private static final class CopiaParaCache extends Spliterators.AbstractSpliterator<String[]> {
+
+        private final Spliterator<String[]> origem;
+        private final List<String[]> linhas = new ArrayList<>();
+        private boolean completa;
+
+        CopiaParaCache(Spliterator<String[]> origem) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.origem = origem;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String[]> action) {
+            boolean avancou = origem.tryAdvance(linha -> {
+                linhas.add(linha);
+                action.accept(linha);
+            });
+            if (!avancou) {
+                completa = true;
+            }
+            return avancou;
+        }
+    }
+
+    private Stream<Transacao> parseLinhas(Stream<String[]> linhas) {
+        return linhas
+                .map(this::parseCampos)
+                .flatMap(Optional::stream);
+    }
+
+    private boolean isExtracaoParalela(int totalPaginas) {
+        return parserExecutor != null && generalConfig != null && generalConfig.isParallelProcessing()
+                && totalPaginas > config.getPdf().getPagesPerChunk();
+    }
+
+    /**
+     * Na extração por colunas, lê as colunas do primeiro cabeçalho do documento antes de dividi-lo: só a faixa
+     * com o cabeçalho o encontra, e as seguintes precisam das mesmas colunas que a leitura sequencial usaria
+     * @return o cabeçalho, ou null se a extração for por texto ou o documento não tiver cabeçalho
+     */
+    private ItauColumnStripper.Cabecalho localizarCabecalho(PDDocument documento, int totalPaginas) throws IOException {
+        if (!extracaoPorColunas) {
+            return null;
+        }
+        return new ItauColumnStripper(classifier, ordenarPorPosicao).localizarCabecalho(documento, 1, totalPaginas);
+    }
+
+    /**
+     * Divide o documento em uma faixa contínua de páginas por worker, até {@code parallelism-per-upload} faixas
+     * de pelo menos {@code pdf.pages-per-chunk} páginas. PDDocument não é thread-safe, então só a primeira faixa
+     * usa o documento já carregado; cada uma das demais abre o documento uma única vez, para todas as suas
+     * páginas. As faixas depois da página do cabeçalho recebem as colunas dele.
+     */
+    private Iterator<Paginas> partes(PDDocument documento, MultipartFile arquivo, int totalPaginas,
+                                     ItauColumnStripper.Cabecalho cabecalho) {
+        int workers = Math.max(1, generalConfig.getParallelismPerUpload());
+        int paginasPorParte = Math.max(Math.max(1, config.getPdf().getPagesPerChunk()),
+                (totalPaginas + workers - 1) / workers);
+        return IntStream.iterate(1, inicio -> inicio <= totalPaginas, inicio -> inicio + paginasPorParte)
+                .mapToObj(inicio -> new Paginas(inicio == 1 ? documento : null, arquivo,
+                        inicio, Math.min(inicio + paginasPorParte - 1, totalPaginas),
+                        cabecalho != null && inicio > cabecalho.pagina() ? cabecalho.colunas() : null))
+                .iterator();
+    }
+
+    /**
+     * Extrai as células de uma faixa de páginas na thread do pool, com stripper próprio
+     */
+    private List<String[]> extrairPaginas(Paginas paginas) {
+        PDDocument documento = paginas.documento();
+        try {
+            if (documento == null) {
+                documento = carregar(paginas.arquivo());
+            }
+            try (Stream<String[]> linhas = extrairLinhas(documento, paginas.inicio(), paginas.fim(), paginas.colunas())) {
+                return linhas.toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao extrair as páginas " + paginas.inicio() + " a " + paginas.fim(), e);
+        } finally {
+            if (paginas.documento() == null) {
+                liberarRecursos(documento);
+            }
+        }
+    }
+
+    private record Paginas(PDDocument documento, MultipartFile arquivo, int inicio, int fim,
+                           ItauColumnStripper.Colunas colunas) {
+    }
+
+    /**
+     * Carrega o PDF direto do upload (bytes em memória ou spool do multipart), sem cópia para arquivo temporário.
+     * O buffer do PDFBox fica em memória até {@code pdf.max-main-memory} e passa para arquivo de scratch acima disso.
+     */
+    private PDDocument carregar(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return PDDocument.load(in, memoria);
+        }
+    }
+
+    /**
+     * Cria o cache de extração (pdf.extraction-cache). A versão gravada nas entradas combina a parser-version
+     * com as opções que mudam as linhas extraídas, para que mudar a configuração não reaproveite entradas antigas.
+     * @return o cache, ou null se desabilitado ou se o diretório não puder ser criado
+     */
+    private PdfExtractionCache criarCache(ExtractionCacheConfig cacheConfig) {
+        if (cacheConfig == null || !cacheConfig.isEnabled()) {
+            return null;
+        }
+        Path diretorio = cacheConfig.getDir() == null || cacheConfig.getDir().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "extrato-api", "pdf-cache")
+                : Path.of(cacheConfig.getDir());
+        String versao = String.join(":", cacheConfig.getParserVersion(),
+                extracaoPorColunas ? "colunas" : "texto",
+                String.valueOf(ordenarPorPosicao),
+                String.valueOf(config.getPdf().isCompiledLineClassifier()),
+                Integer.toHexString(Objects.hash(config.getPdf().getHeaderRegex(), config.getPdf().getTransactionRegex())));
+        try {
+            return new PdfExtractionCache(diretorio.resolve(config.getId()), cacheConfig.getMaxSize().toBytes(), versao);
+        } catch (IOException e) {
+            log.warn("Cache de extração desabilitado, diretório {} indisponível: {}", diretorio, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Calcula o hash do conteúdo para consultar o cache de extração. As amostras do aquecimento não usam o
+     * cache, senão deixariam de passar pelo PDFBox a partir do segundo início da aplicação.
+     * @return o hash, ou null se o cache não se aplica ao arquivo
+     */
+    private String hashParaCache(MultipartFile file, String hashConteudo) {
+        if (cache == null || ParserWarmup.isAmostra(file)) {
+            return null;
+        }
+        if (hashConteudo != null) {
+            return hashConteudo;
+        }
+        try {
+            return HashConteudo.de(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível calcular o hash do arquivo {}: {}", file.getOriginalFilename(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void liberarRecursos(PDDocument document) {
+        try {
+            if (document != null) {
+                document.close();
+            }
+        } catch (IOException e) {
+            log.warn("Erro ao liberar recursos do PDF: {}", e.getMessage());
         }
-        
-        return transacoes;
     }
 
     @Override
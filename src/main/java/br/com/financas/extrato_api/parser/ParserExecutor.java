@@ -0,0 +1,49 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
+import br.com.financas.extrato_api.util.OrderedChunkProcessor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Pool dedicado ao parse paralelo de extratos, separado do ForkJoinPool comum.
+ * O pool não é exposto como bean Executor para não substituir o executor padrão do Spring.
+ */
+@Component
+public class ParserExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor pool;
+    private final int parallelismPerUpload;
+
+    public ParserExecutor(ParserGeneralConfig config) {
+        int threads = Math.max(1, config.getThreads());
+        this.parallelismPerUpload = Math.max(1, config.getParallelismPerUpload());
+        // Com a fila cheia a parte roda na própria thread do upload, segurando novos envios em vez de rejeitar
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * parallelismPerUpload),
+                new CustomizableThreadFactory("parser-exec-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Processa as partes no pool, com no máximo parallelism-per-upload partes em andamento,
+     * e devolve os resultados na ordem das partes.
+     */
+    public <C, T> Stream<T> processarEmOrdem(Iterator<C> partes, Function<C, List<T>> processamento) {
+        return OrderedChunkProcessor.processar(partes, processamento, pool, parallelismPerUpload);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.config.parser.ParserWarmupConfig;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import br.com.financas.extrato_api.parser.validation.Validation;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.font.FontMappers;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryFormats;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aquecimento executado na inicialização, antes da aplicação aceitar tráfego: o Spring Boot só publica
+ * o ReadinessState ACCEPTING_TRAFFIC depois dos ApplicationRunners, então o primeiro upload não paga
+ * a varredura de fontes do PDFBox, a carga dos providers do Moneta e o JIT dos parsers.
+ * <p>
+ * Etapas: cache de fontes do PDFBox (gravado em font-cache-dir, reaproveitado entre reinícios),
+ * Moneta (valores e formatação pt-BR pelas validações) e um parse de cada parser sobre a amostra
+ * {@code warmup/<id do banco><extensão>} do classpath. Falhas são registradas em log e não impedem a subida.
+ */
+@Slf4j
+@Component
+public class ParserWarmup implements ApplicationRunner {
+
+    private static final String PROPRIEDADE_CACHE_FONTES = "pdfbox.fontcache";
+    private static final String VALOR_AMOSTRA = "1.234,56";
+    private static final String TIPO_AMOSTRA = "application/x-extrato-warmup";
+
+    private final ParserWarmupConfig config;
+    private final List<ExtratoParser> parsers;
+    private final List<Validation> validations;
+    private final ExtratoMetricsService metricsService;
+
+    public ParserWarmup(ParserWarmupConfig config, List<ExtratoParser> parsers, List<Validation> validations,
+                        ExtratoMetricsService metricsService) {
+        this.config = config;
+        this.parsers = parsers;
+        this.validations = validations;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * @return se o arquivo é uma amostra do aquecimento
+     */
+    static boolean isAmostra(MultipartFile file) {
+        return TIPO_AMOSTRA.equals(file.getContentType());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.isEnabled()) {
+            log.info("Aquecimento dos parsers desabilitado");
+            return;
+        }
+        long inicio = System.nanoTime();
+        etapa("fontes", this::aquecerFontes);
+        etapa("moneta", this::aquecerMoneta);
+        for (ExtratoParser parser : parsers) {
+            etapa(parser.getConfig().getId(), () -> aquecerParser(parser));
+        }
+        Duration total = Duration.ofNanos(System.nanoTime() - inicio);
+        metricsService.registrarAquecimento("total", total);
+        log.info("Aquecimento concluído em {} ms", total.toMillis());
+    }
+
+    private void etapa(String nome, Etapa etapa) {
+        long inicio = System.nanoTime();
+        try {
+            etapa.executar();
+        } catch (Exception e) {
+            log.warn("Falha no aquecimento ({}): {}", nome, e.getMessage());
+            log.debug("Detalhes da falha no aquecimento ({})", nome, e);
+        }
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        metricsService.registrarAquecimento(nome, duracao);
+        log.debug("Aquecimento ({}) em {} ms", nome, duracao.toMillis());
+    }
+
+    /**
+     * Carrega o FontMapper do PDFBox, que varre as fontes do sistema ou lê o .pdfbox.cache existente.
+     * O diretório só tem efeito se nenhuma fonte tiver sido usada antes nesta JVM.
+     */
+    private void aquecerFontes() throws IOException {
+        String diretorio = config.getFontCacheDir();
+        if (diretorio != null && !diretorio.isBlank() && System.getProperty(PROPRIEDADE_CACHE_FONTES) == null) {
+            Files.createDirectories(Path.of(diretorio));
+            System.setProperty(PROPRIEDADE_CACHE_FONTES, diretorio);
+        }
+        FontMappers.instance().getFontBoxFont("Helvetica", null);
+    }
+
+    private void aquecerMoneta() {
+        for (Validation validation : validations) {
+            MonetaryAmount valor = validation.parseValorMonetario(VALOR_AMOSTRA);
+            MonetaryFormats.getAmountFormat(Locale.forLanguageTag("pt-BR")).format(valor);
+        }
+    }
+
+    private void aquecerParser(ExtratoParser parser) throws IOException {
+        String id = parser.getConfig().getId();
+        for (String extensao : parser.getConfig().getSupportedExtensions()) {
+            ClassPathResource amostra = new ClassPathResource("warmup/" + id + extensao);
+            if (!amostra.exists()) {
+                continue;
+            }
+            byte[] conteudo;
+            try (InputStream in = amostra.getInputStream()) {
+                conteudo = in.readAllBytes();
+            }
+            MultipartFile arquivo = new ArquivoExtratoDetectado(new Amostra(id + extensao, conteudo), parser);
+            int transacoes = parser.parse(arquivo).size();
+            log.debug("Aquecimento do parser {} com {}: {} transações", id, amostra.getFilename(), transacoes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Etapa {
+        void executar() throws Exception;
+    }
+
+    /**
+     * Arquivo de amostra em memória, no lugar de um upload
+     */
+    private record Amostra(String nome, byte[] conteudo) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return nome;
+        }
+
+        @Override
+        public String getContentType() {
+            return TIPO_AMOSTRA;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return conteudo.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return conteudo.length;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return conteudo;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(conteudo);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.write(dest.toPath(), conteudo);
+        }
+    }
+}
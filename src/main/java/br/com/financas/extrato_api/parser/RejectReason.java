@@ -0,0 +1,17 @@
+package br.com.financas.extrato_api.parser;
+
+/**
+ * Motivo pelo qual uma linha do extrato foi descartada na decodificação.
+ */
+public enum RejectReason {
+    /** Linha com menos campos que o layout do banco */
+    SHORT_ROW,
+    /** Linha de cabeçalho */
+    HEADER,
+    /** Tipo de lançamento vazio */
+    MISSING_TYPE,
+    /** Data ausente, fora do formato ou inválida */
+    BAD_DATE,
+    /** Valor ausente ou fora do formato monetário */
+    BAD_AMOUNT
+}
@@ -3,15 +3,14 @@ package br.com.financas.extrato_api.parser.validation;
 import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
 import br.com.financas.extrato_api.config.parser.BankParserConfig;
 import br.com.financas.extrato_api.util.CsvColumn;
-import org.javamoney.moneta.Money;
+import br.com.financas.extrato_api.util.FixedFormatDateParser;
+import br.com.financas.extrato_api.util.FixedPointMoney;
 import org.springframework.stereotype.Component;
 
 import javax.money.MonetaryAmount;
 import javax.money.format.MonetaryAmountFormat;
 import javax.money.format.MonetaryFormats;
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -19,8 +18,10 @@ import java.util.Optional;
 public class BBValidation implements Validation {
     private final BancoDoBrasilParserConfig config;
     private final MonetaryAmountFormat monetaryFormat;
+    private final FixedFormatDateParser dateParser;
     public BBValidation(BancoDoBrasilParserConfig config){
         this.config = config;
+        this.dateParser = FixedFormatDateParser.of(config.getCsv().getDateFormat());
         this.monetaryFormat = MonetaryFormats.getAmountFormat(new Locale(config.getCsv().getIdioma(), config.getCsv().getPais()));
     }
 
@@ -50,46 +51,37 @@ public class BBValidation implements Validation {
     private boolean validateData(String[] campos) {
         if (campos.length <= CsvColumn.DATA.getIndex()) return false;
 
-        String dataStr = cleanField(campos[CsvColumn.DATA.getIndex()]);
-
-        // Validações básicas
-        if (dataStr.isEmpty() || dataStr.equals("00/00/0000")) {
-            return false;
-        }
-
-        // Validação com regex
-        if (config.getCsv().getDateRegex() != null &&
-                !dataStr.matches(config.getCsv().getDateRegex())) {
-            return false;
-        }
+        return parseData(campos[CsvColumn.DATA.getIndex()]) != null;
+    }
 
-        // Validação adicional do formato de data
-        try {
-            LocalDate.parse(dataStr, DateTimeFormatter.ofPattern(config.getCsv().getDateFormat()));
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    /**
+     * Converte a data do extrato no formato configurado. O parser de formato fixo já exige
+     * a quantidade exata de dígitos e rejeita datas zeradas (00/00/0000), dispensando a date-regex.
+     * @param dataStr campo de data
+     * @return a data, ou null se o campo for inválido
+     */
+    public LocalDate parseData(String dataStr) {
+        return dateParser.parse(cleanField(dataStr));
     }
 
     private boolean validateValor(String[] campos) {
         if (campos.length <= CsvColumn.VALOR.getIndex()) return false;
 
-        String valorStr = normalizeDecimal( cleanField( campos[CsvColumn.VALOR.getIndex()] ) );
-        String regex = config.getCsv().getValueRegex();
-        return valorStr.matches(regex);
+        // Mesma regra do decode do BancoDoBrasilParser, sem a value-regex
+        return parseValor(campos[CsvColumn.VALOR.getIndex()]) != null;
+    }
 
+    @Override
+    public FixedPointMoney parseValor(String valorStr) {
+        return valorStr == null ? null : FixedPointMoney.parse(valorStr, "BRL");
     }
 
     public MonetaryAmount parseValorMonetario(String valorStr) {
-        try {
-            String valorLimpo = cleanField(valorStr).replace(".", "").replace(",", ".");
-            BigDecimal valorDecimal = new BigDecimal(valorLimpo);
-            // Parse diretamente do formato brasileiro
-            return Money.of(valorDecimal, "BRL");
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Valor monetário inválido: " + valorStr, e);
+        FixedPointMoney valor = parseValor(valorStr);
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + valorStr);
         }
+        return valor.toMonetaryAmount();
     }
     public Optional<MonetaryAmount> parseValorMonetarioSafe(String valorStr) {
         try {
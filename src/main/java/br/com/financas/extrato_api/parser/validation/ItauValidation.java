@@ -1,13 +1,12 @@
 package br.com.financas.extrato_api.parser.validation;
 
 import br.com.financas.extrato_api.config.parser.ItauParserConfig;
-import org.javamoney.moneta.Money;
+import br.com.financas.extrato_api.util.FixedFormatDateParser;
+import br.com.financas.extrato_api.util.FixedPointMoney;
+import br.com.financas.extrato_api.util.ItauLineClassifier;
 import org.springframework.stereotype.Component;
 
 import javax.money.MonetaryAmount;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -16,10 +15,17 @@ import java.util.regex.Pattern;
 public class ItauValidation implements Validation {
     private final ItauParserConfig config;
     private final Pattern transactionPattern;
+    private final FixedFormatDateParser dateParser;
+    /** Classificador sem regex; null quando pdf.compiled-line-classifier está desligado */
+    private final ItauLineClassifier classifier;
     
     public ItauValidation(ItauParserConfig config) {
         this.config = config;
         this.transactionPattern = Pattern.compile(config.getPdf().getTransactionRegex());
+        this.dateParser = FixedFormatDateParser.of(config.getPdf().getDateFormat());
+        this.classifier = config.getPdf().isCompiledLineClassifier()
+                ? new ItauLineClassifier(config.getPdf().getHeaderRegex())
+                : null;
     }
 
     @Override
@@ -32,6 +38,9 @@ public class ItauValidation implements Validation {
         if (linha == null || linha.trim().isEmpty()) {
             return false;
         }
+        if (classifier != null) {
+            return classifier.classificar(linha) != null;
+        }
         
         String linhaTrimmed = linha.trim();
         
@@ -54,6 +63,9 @@ public class ItauValidation implements Validation {
         if (linha == null || linha.trim().isEmpty()) {
             return null;
         }
+        if (classifier != null) {
+            return classifier.extrair(linha);
+        }
         
         Matcher matcher = transactionPattern.matcher(linha.trim());
         if (matcher.find()) {
@@ -73,18 +85,25 @@ public class ItauValidation implements Validation {
         return null;
     }
 
+    /**
+     * Valida e extrai os campos da linha em uma única passada, equivalente a
+     * {@link #isValidTransactionLine(String)} seguido de {@link #extrairCamposTransacao(String)}
+     * @param linha linha do extrato
+     * @return array com [data, descricao, valor, saldo] ou null se não for uma transação
+     */
+    public String[] classificarLinha(String linha) {
+        if (classifier != null) {
+            return linha == null ? null : classifier.classificar(linha);
+        }
+        return isValidTransactionLine(linha) ? extrairCamposTransacao(linha) : null;
+    }
 
     public boolean validateData(String dataStr) {
         if (dataStr == null || dataStr.isEmpty()) {
             return false;
         }
 
-        try {
-            LocalDate.parse(dataStr, DateTimeFormatter.ofPattern(config.getPdf().getDateFormat()));
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return dateParser.parse(dataStr) != null;
     }
 
     public boolean validateValor(String valorStr) {
@@ -92,31 +111,20 @@ public class ItauValidation implements Validation {
         return true; // Validação simplificada - apenas verifica se não está vazio
     }
 
+    /**
+     * Lê o valor no formato brasileiro (ponto de milhar, vírgula decimal), como na transaction-regex.
+     */
+    @Override
+    public FixedPointMoney parseValor(String valorStr) {
+        return valorStr == null ? null : FixedPointMoney.parse(valorStr, "BRL");
+    }
+
     public MonetaryAmount parseValorMonetario(String valorStr) {
-        try {
-            String valorLimpo = cleanField(valorStr);
-            
-            // Remove espaços e normaliza separadores
-            valorLimpo = valorLimpo.replaceAll("\\s+", "").replace(",", ".");
-            
-            // Trata múltiplos pontos (separadores de milhares)
-            if (valorLimpo.contains(".") && valorLimpo.lastIndexOf(".") != valorLimpo.indexOf(".")) {
-                String[] parts = valorLimpo.split("\\.");
-                if (parts.length > 2) {
-                    StringBuilder sb = new StringBuilder();
-                    for (int i = 0; i < parts.length - 1; i++) {
-                        sb.append(parts[i]);
-                    }
-                    sb.append(".").append(parts[parts.length - 1]);
-                    valorLimpo = sb.toString();
-                }
-            }
-            
-            BigDecimal valorDecimal = new BigDecimal(valorLimpo);
-            return Money.of(valorDecimal, "BRL");
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Valor monetário inválido: " + valorStr, e);
+        FixedPointMoney valor = parseValor(valorStr);
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + valorStr);
         }
+        return valor.toMonetaryAmount();
     }
 
     public Optional<MonetaryAmount> parseValorMonetarioSafe(String valorStr) {
@@ -136,18 +144,30 @@ public class ItauValidation implements Validation {
         return cleanField(campo).replace(",", ".");
     }
 
+    /**
+     * @return a primeira sequência de dígitos da descrição, ou null se não houver dígitos. A identidade da
+     * transação vem da impressão digital, que já inclui a descrição inteira
+     */
     public String gerarNumeroDocumento(String descricao) {
-        Pattern numberPattern = Pattern.compile("\\d+");
-        Matcher matcher = numberPattern.matcher(descricao);
-        
-        if (matcher.find()) {
-            return matcher.group();
+        int inicio = 0;
+        while (inicio < descricao.length() && !isDigito(descricao.charAt(inicio))) {
+            inicio++;
         }
-        
-        return String.valueOf(descricao.hashCode());
+        if (inicio == descricao.length()) {
+            return null;
+        }
+        int fim = inicio + 1;
+        while (fim < descricao.length() && isDigito(descricao.charAt(fim))) {
+            fim++;
+        }
+        return descricao.substring(inicio, fim);
+    }
+
+    private static boolean isDigito(char c) {
+        return c >= '0' && c <= '9';
     }
 
-    public String determinarTipoLancamento(MonetaryAmount valor, String descricao) {
+    public String determinarTipoLancamento(FixedPointMoney valor, String descricao) {
         if (valor.isPositive()) {
             return "Entrada";
         } else {
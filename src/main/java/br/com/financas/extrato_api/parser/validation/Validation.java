@@ -1,5 +1,7 @@
 package br.com.financas.extrato_api.parser.validation;
 
+import br.com.financas.extrato_api.util.FixedPointMoney;
+
 import javax.money.MonetaryAmount;
 import java.util.Optional;
 
@@ -8,6 +10,11 @@ public interface Validation {
 
     String cleanField(String campo);
     String normalizeDecimal(String campo);
+    /**
+     * Lê o valor em centavos, sem criar BigDecimal/Money.
+     * @return o valor, ou null se o campo for inválido
+     */
+    FixedPointMoney parseValor(String valorStr);
     MonetaryAmount parseValorMonetario(String valorStr);
     Optional<MonetaryAmount> parseValorMonetarioSafe(String valorStr);
 }
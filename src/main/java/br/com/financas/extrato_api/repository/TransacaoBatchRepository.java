@@ -0,0 +1,249 @@
+package br.com.financas.extrato_api.repository;
+
+import br.com.financas.extrato_api.model.Transacao;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Inserção de transações via JDBC em lote.
+ * <p>
+ * Com {@code GenerationType.IDENTITY} o Hibernate precisa do id gerado de cada linha e desliga o batch
+ * de JDBC: o {@code saveAll} faz um INSERT por transação. Aqui o lote inteiro vai em um único
+ * {@code executeBatch}, que o MySQL Connector/J reescreve em INSERTs multi-valores com
+ * {@code rewriteBatchedStatements=true}. Os ids gerados não são lidos de volta.
+ * <p>
+ * {@link #inserirIgnorandoDuplicatas} grava só as transações que ainda não existem: a cada parte consulta as
+ * impressões digitais já gravadas e envia só as novas, em INSERTs multi-linha que o próprio banco ainda deduplica
+ * pela uk_transacao_fingerprint ({@code INSERT ... ON DUPLICATE KEY UPDATE} sem efeito no MySQL/MariaDB e
+ * {@code MERGE ... WHEN NOT MATCHED} no H2) contra gravações concorrentes. No MySQL não se usa {@code INSERT IGNORE},
+ * que rebaixa a aviso qualquer erro da linha (truncamento, NOT NULL, chave estrangeira) e a descartaria como
+ * duplicata. A contagem vem da consulta e não das linhas afetadas, que com a semântica padrão do Connector/J
+ * (found rows) contam a duplicata como 1.
+ */
+@Repository
+public class TransacaoBatchRepository {
+
+    private static final String COLUNAS = "data, lancamento, detalhes, numero_documento, valor, moeda, "
+            + "tipo_lancamento, categoria, banco, upload_arquivo_id, fingerprint";
+    private static final int PARAMETROS = 11;
+    private static final String VALORES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String INSERT = "INSERT INTO transacoes (" + COLUNAS + ") VALUES " + VALORES;
+    /** Linhas por INSERT multi-linha; 500 x 11 parâmetros fica bem abaixo dos limites de parâmetros e de pacote */
+    static final int LINHAS_POR_INSERT = 500;
+    /** Primeira linha do MERGE do H2 com os tipos das colunas, que o VALUES não deduz de parâmetros */
+    private static final String VALORES_TIPADOS_H2 = "(CAST(? AS DATE), CAST(? AS VARCHAR), CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR), CAST(? AS DECIMAL(10,4)), CAST(? AS VARCHAR), CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS BIGINT), CAST(? AS BIGINT))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Dialeto dialeto;
+
+    public TransacaoBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insere as transações em um único lote JDBC.
+     * @return quantidade de transações inseridas
+     * @throws DataIntegrityViolationException se alguma transação violar a
+     * uk_transacao_fingerprint; as demais linhas do lote podem ou não ter sido gravadas, conforme o banco
+     */
+    @Transactional
+    public int inserirEmLote(List<Transacao> transacoes) {
+        if (transacoes.isEmpty()) {
+            return 0;
+        }
+        int[] resultados = jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                preencher(ps, transacoes.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transacoes.size();
+            }
+        });
+        int inseridas = 0;
+        for (int resultado : resultados) {
+            // Com rewriteBatchedStatements o driver devolve SUCCESS_NO_INFO em vez da contagem por linha
+            if (resultado > 0 || resultado == Statement.SUCCESS_NO_INFO) {
+                inseridas++;
+            }
+        }
+        return inseridas;
+    }
+
+    /**
+     * Insere as transações que ainda não existem (pela impressão digital), sem falhar nas duplicadas.
+     * Repetições dentro do próprio lote também contam como ignoradas. Em bancos sem INSERT que ignore
+     * duplicatas, as novas vão em lote comum: uma duplicata gravada por outra transação nesse meio tempo
+     * falha o lote, que volta inteiro com a transação, em vez de deixar parte das linhas gravadas.
+     * No MySQL, uma duplicata concorrente entre a consulta e o INSERT é ignorada pelo banco mas contada como inserida.
+     * @return quantidade de transações inseridas e de duplicadas ignoradas
+     * @throws DataIntegrityViolationException em bancos sem INSERT que ignore duplicatas, se uma transação for
+     * gravada por outra conexão entre a consulta e o lote
+     */
+    @Transactional
+    public ResultadoInsercao inserirIgnorandoDuplicatas(List<Transacao> transacoes) {
+        List<Transacao> unicas = semRepeticoes(transacoes);
+        int repetidas = transacoes.size() - unicas.size();
+        if (unicas.isEmpty()) {
+            return new ResultadoInsercao(0, repetidas);
+        }
+        Dialeto atual = dialeto();
+        int inseridas = 0;
+        for (int inicio = 0; inicio < unicas.size(); inicio += LINHAS_POR_INSERT) {
+            List<Transacao> novas = semExistentes(unicas.subList(inicio, Math.min(inicio + LINHAS_POR_INSERT, unicas.size())));
+            if (novas.isEmpty()) {
+                continue;
+            }
+            if (atual == Dialeto.OUTRO) {
+                inseridas += inserirEmLote(novas);
+                continue;
+            }
+            int afetadas = jdbcTemplate.update(sqlIgnorandoDuplicatas(atual, novas.size()), ps -> {
+                int parametro = 0;
+                for (Transacao transacao : novas) {
+                    preencher(ps, parametro, transacao);
+                    parametro += PARAMETROS;
+                }
+            });
+            // O MERGE devolve só as linhas inseridas; no MySQL a duplicata também conta, então vale a consulta
+            inseridas += atual == Dialeto.H2 ? afetadas : novas.size();
+        }
+        return new ResultadoInsercao(inseridas, transacoes.size() - inseridas);
+    }
+
+    /**
+     * Insere uma única transação.
+     * @throws DataIntegrityViolationException se a transação já existir
+     */
+    @Transactional
+    public void inserir(Transacao transacao) {
+        jdbcTemplate.update(INSERT, ps -> preencher(ps, transacao));
+    }
+
+    /**
+     * Remove da parte as transações cuja impressão digital já está gravada, em uma única consulta
+     */
+    private List<Transacao> semExistentes(List<Transacao> parte) {
+        StringBuilder sql = new StringBuilder("SELECT fingerprint FROM transacoes WHERE fingerprint IN (");
+        for (int i = 0; i < parte.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        Set<Long> existentes = new HashSet<>(jdbcTemplate.queryForList(sql.append(')').toString(), Long.class,
+                parte.stream().map(Transacao::getFingerprint).toArray()));
+        if (existentes.isEmpty()) {
+            return parte;
+        }
+        return parte.stream().filter(transacao -> !existentes.contains(transacao.getFingerprint())).toList();
+    }
+
+    private static String sqlIgnorandoDuplicatas(Dialeto dialeto, int linhas) {
+        StringBuilder sql = new StringBuilder(200 + linhas * (VALORES.length() + 2));
+        if (dialeto == Dialeto.MYSQL) {
+            sql.append("INSERT INTO transacoes (").append(COLUNAS).append(") VALUES ");
+            for (int i = 0; i < linhas; i++) {
+                sql.append(i == 0 ? "" : ", ").append(VALORES);
+            }
+            // Só a uk_transacao_fingerprint é tratada como duplicata; os demais erros continuam falhando o INSERT
+            return sql.append(" ON DUPLICATE KEY UPDATE fingerprint = fingerprint").toString();
+        }
+        sql.append("MERGE INTO transacoes t USING (VALUES ").append(VALORES_TIPADOS_H2);
+        for (int i = 1; i < linhas; i++) {
+            sql.append(", ").append(VALORES);
+        }
+        return sql.append(") AS s(").append(COLUNAS).append(") ")
+                .append("ON (t.fingerprint = s.fingerprint) ")
+                .append("WHEN NOT MATCHED THEN INSERT (").append(COLUNAS).append(") VALUES (")
+                .append("s.data, s.lancamento, s.detalhes, s.numero_documento, s.valor, s.moeda, ")
+                .append("s.tipo_lancamento, s.categoria, s.banco, s.upload_arquivo_id, s.fingerprint)")
+                .toString();
+    }
+
+    /**
+     * Remove as repetições da impressão digital dentro do lote, mantendo a primeira ocorrência
+     */
+    private static List<Transacao> semRepeticoes(List<Transacao> transacoes) {
+        Set<Long> fingerprints = new HashSet<>(transacoes.size() * 2);
+        List<Transacao> unicas = new ArrayList<>(transacoes.size());
+        for (Transacao transacao : transacoes) {
+            transacao.prepararPersistencia();
+            if (fingerprints.add(transacao.getFingerprint())) {
+                unicas.add(transacao);
+            }
+        }
+        return unicas;
+    }
+
+    private Dialeto dialeto() {
+        Dialeto atual = dialeto;
+        if (atual == null) {
+            String produto = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            atual = Dialeto.de(produto);
+            dialeto = atual;
+        }
+        return atual;
+    }
+
+    private static void preencher(PreparedStatement ps, Transacao transacao) throws SQLException {
+        preencher(ps, 0, transacao);
+    }
+
+    /**
+     * Preenche os 11 parâmetros da transação a partir da posição {@code deslocamento + 1}
+     */
+    private static void preencher(PreparedStatement ps, int deslocamento, Transacao transacao) throws SQLException {
+        transacao.prepararPersistencia();
+        ps.setDate(deslocamento + 1, Date.valueOf(transacao.getData()));
+        ps.setString(deslocamento + 2, transacao.getLancamento());
+        ps.setString(deslocamento + 3, transacao.getDetalhes());
+        ps.setString(deslocamento + 4, transacao.getNumeroDocumento());
+        ps.setBigDecimal(deslocamento + 5, transacao.getValor());
+        ps.setString(deslocamento + 6, transacao.getMoeda());
+        ps.setString(deslocamento + 7, transacao.getTipoLancamento());
+        ps.setString(deslocamento + 8, transacao.getCategoria());
+        ps.setString(deslocamento + 9, transacao.getBanco());
+        if (transacao.getUploadArquivo() != null && transacao.getUploadArquivo().getId() != null) {
+            ps.setLong(deslocamento + 10, transacao.getUploadArquivo().getId());
+        } else {
+            ps.setNull(deslocamento + 10, Types.BIGINT);
+        }
+        ps.setLong(deslocamento + 11, transacao.getFingerprint());
+    }
+
+    /**
+     * Transações inseridas e duplicadas ignoradas em uma gravação
+     */
+    public record ResultadoInsercao(int inseridas, int ignoradas) {
+    }
+
+    private enum Dialeto {
+        MYSQL, H2, OUTRO;
+
+        static Dialeto de(String produto) {
+            String nome = Objects.requireNonNullElse(produto, "").toLowerCase(Locale.ROOT);
+            if (nome.contains("mysql") || nome.contains("mariadb")) {
+                return MYSQL;
+            }
+            return nome.contains("h2") ? H2 : OUTRO;
+        }
+    }
+}
@@ -1,20 +1,60 @@
 package br.com.financas.extrato_api.repository;
 
 import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.dto.TransacaoDTO;
+import br.com.financas.extrato_api.model.dto.TransacaoLinhaDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
+
+    /** Linhas buscadas por ida ao banco nas leituras em stream */
+    String TAMANHO_BLOCO_LEITURA = "500";
+
+    /**
+     * Leitura projetada: as colunas vão direto para o construtor do {@link TransacaoDTO}, sem entidade
+     * gerenciada, snapshot de dirty-checking ou carga do upload
+     */
+    String PROJECAO_DTO = "select new br.com.financas.extrato_api.model.dto.TransacaoDTO("
+            + "t.id, t.data, t.lancamento, t.detalhes, t.numeroDocumento, t.valor, t.tipoLancamento, t.categoria, t.banco) "
+            + "from Transacao t ";
+
+    /**
+     * Leitura projetada em stream: como {@link #PROJECAO_DTO}, no {@link TransacaoLinhaDTO}, que não carrega a lista de links
+     */
+    String PROJECAO_LINHA = "select new br.com.financas.extrato_api.model.dto.TransacaoLinhaDTO("
+            + "t.id, t.data, t.lancamento, t.detalhes, t.numeroDocumento, t.valor, t.tipoLancamento, t.categoria, t.banco) "
+            + "from Transacao t ";
     
     /**
-     * Busca transações por período.
+     * Busca transações por período. As entidades vêm somente leitura: sem snapshot para dirty-checking.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Transacao> findByDataBetween(LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Transações do banco, da mais recente para a mais antiga: varredura do idx_transacao_banco_data
+     * (banco, data DESC, id) sem ordenação em memória. Entidades somente leitura.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Transacao> findByBancoOrderByDataDescIdAsc(String banco);
+
+    /**
+     * Como {@link #findByBancoOrderByDataDescIdAsc}, limitado ao período (faixa no mesmo índice)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Transacao> findByBancoAndDataBetweenOrderByDataDescIdAsc(String banco, LocalDate dataInicio, LocalDate dataFim);
     
     /**
      * Verifica se já existe uma transação com a mesma data, valor e número do documento.
@@ -23,9 +63,65 @@ public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
     @Deprecated
     boolean existsByDataAndValorAndNumeroDocumento(LocalDate data, double valor, String numeroDocumento);
     /**
-     * Verifica se já existe uma transação com a mesma data, valor, número do documento, Banco.
+     * Verifica se já existe uma transação com a mesma impressão digital (índice único de 8 bytes).
      * Usado para evitar duplicatas.
      */
-    boolean existsByDataAndNumeroDocumentoAndValorAndBanco(
-            LocalDate data, String numeroDocumento, BigDecimal valor, String banco);
-}
\ No newline at end of file
+    boolean existsByFingerprint(Long fingerprint);
+
+    /**
+     * Impressões digitais das transações já gravadas do banco no período, em uma única consulta
+     * (faixa de data sobre o idx_transacao_banco_data). Usado para deduplicar lotes em memória.
+     */
+    @Query("select t.fingerprint from Transacao t where t.banco = :banco and t.data between :dataInicio and :dataFim")
+    List<Long> findFingerprintsByBancoAndDataBetween(@Param("banco") String banco,
+                                                     @Param("dataInicio") LocalDate dataInicio,
+                                                     @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Página do período depois da posição (aposData, aposId), na ordem do extrato (data decrescente, id),
+     * projetada direto em {@link TransacaoDTO}. Paginação por chave: o custo depende do tamanho da página,
+     * não de quantas linhas já foram puladas. O tamanho vem do {@code Pageable}, sem consulta de contagem.
+     */
+    @Query(PROJECAO_DTO + """
+            where t.data between :dataInicio and :dataFim
+              and (t.data < :aposData or (t.data = :aposData and t.id > :aposId))
+            order by t.data desc, t.id""")
+    List<TransacaoDTO> findPaginaApos(@Param("dataInicio") LocalDate dataInicio,
+                                      @Param("dataFim") LocalDate dataFim,
+                                      @Param("aposData") LocalDate aposData,
+                                      @Param("aposId") Long aposId,
+                                      Pageable pagina);
+
+    /**
+     * Como {@link #findPaginaApos}, só do banco (faixa na ordem do idx_transacao_banco_data)
+     */
+    @Query(PROJECAO_DTO + """
+            where t.banco = :banco
+              and t.data between :dataInicio and :dataFim
+              and (t.data < :aposData or (t.data = :aposData and t.id > :aposId))
+            order by t.data desc, t.id""")
+    List<TransacaoDTO> findPaginaDoBancoApos(@Param("banco") String banco,
+                                             @Param("dataInicio") LocalDate dataInicio,
+                                             @Param("dataFim") LocalDate dataFim,
+                                             @Param("aposData") LocalDate aposData,
+                                             @Param("aposId") Long aposId,
+                                             Pageable pagina);
+
+    /**
+     * Transações do período na ordem do extrato (data decrescente, id), projetadas em {@link TransacaoLinhaDTO} e lidas do cursor JDBC em
+     * blocos de {@link #TAMANHO_BLOCO_LEITURA} linhas. Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_BLOCO_LEITURA))
+    @Query(PROJECAO_LINHA + "where t.data between :dataInicio and :dataFim order by t.data desc, t.id")
+    Stream<TransacaoLinhaDTO> streamByDataBetween(@Param("dataInicio") LocalDate dataInicio,
+                                             @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Como {@link #streamByDataBetween}, só do banco
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_BLOCO_LEITURA))
+    @Query(PROJECAO_LINHA + "where t.banco = :banco and t.data between :dataInicio and :dataFim order by t.data desc, t.id")
+    Stream<TransacaoLinhaDTO> streamByBancoAndDataBetween(@Param("banco") String banco,
+                                                     @Param("dataInicio") LocalDate dataInicio,
+                                                     @Param("dataFim") LocalDate dataFim);
+}
@@ -1,55 +1,69 @@
 package br.com.financas.extrato_api.service;
 
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
 import br.com.financas.extrato_api.exception.ArquivoProcessamentoException;
 import br.com.financas.extrato_api.exception.FormatoArquivoInvalidoException;
-import br.com.financas.extrato_api.exception.HashCalculationException;
 import br.com.financas.extrato_api.model.Transacao;
 import br.com.financas.extrato_api.model.UploadArquivo;
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
 import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
+import br.com.financas.extrato_api.parser.ArquivoExtratoDetectado;
 import br.com.financas.extrato_api.parser.ExtratoParser;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
 import br.com.financas.extrato_api.repository.TransacaoRepository;
 import br.com.financas.extrato_api.repository.UploadArquivoRepository;
+import br.com.financas.extrato_api.util.ArquivoComHash;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.persistence.EntityManager;
 import java.io.IOException;
-import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import br.com.financas.extrato_api.observability.ExtratoMetricsService;
 
 @Slf4j
 @Service("banco-do-brasil-service")
 public class BancoDoBrasilService implements ExtratoService {
     private final TransacaoRepository transacaoRepository;
+    private final TransacaoBatchRepository transacaoBatchRepository;
     private final UploadArquivoRepository uploadArquivoRepository;
     private final ExtratoParser bbParser;
     private final ExtratoMetricsService metricsService;
     private final EntityManager entityManager;
+    private final ParserGeneralConfig parserConfig;
+    private final FiltroDuplicatasService filtroDuplicatas;
+    private final IndiceUploadsService indiceUploads;
+    private final ConsultaExtratoService consultaExtrato;
 
     @Autowired
-    public BancoDoBrasilService(TransacaoRepository transacaoRepository, UploadArquivoRepository uploadArquivoRepository,@Qualifier("BBparser") ExtratoParser extratoParser, ExtratoMetricsService metricsService, EntityManager entityManager) {
+    public BancoDoBrasilService(TransacaoRepository transacaoRepository, TransacaoBatchRepository transacaoBatchRepository, UploadArquivoRepository uploadArquivoRepository,@Qualifier("BBparser") ExtratoParser extratoParser, ExtratoMetricsService metricsService, EntityManager entityManager, ParserGeneralConfig parserConfig, FiltroDuplicatasService filtroDuplicatas, IndiceUploadsService indiceUploads, ConsultaExtratoService consultaExtrato) {
         this.transacaoRepository = transacaoRepository;
+        this.transacaoBatchRepository = transacaoBatchRepository;
         this.uploadArquivoRepository = uploadArquivoRepository;
         this.bbParser = extratoParser;
         this.metricsService = metricsService;
         this.entityManager = entityManager;
+        this.parserConfig = parserConfig;
+        this.filtroDuplicatas = filtroDuplicatas;
+        this.indiceUploads = indiceUploads;
+        this.consultaExtrato = consultaExtrato;
     }
 
     /**
-     * Processa arquivo do banco.
+     * Processa arquivo do banco. O hash sai da leitura do parser e é confirmado no upload ao fim do parse;
+     * um reenvio é recusado pela uk do hash_arquivo e desfaz o upload e as transações gravadas.
      */
+    @Transactional
     public ProcessamentoResult processarArquivo(MultipartFile file) {
         long startTime = System.currentTimeMillis();
         log.info("Iniciando processamento do arquivo: {}, tamanho: {} bytes",
@@ -60,80 +74,82 @@ public class BancoDoBrasilService implements ExtratoService {
             throw new ArquivoProcessamentoException("Arquivo está vazio");
         }
 
-        if (!file.getOriginalFilename().toLowerCase().endsWith(".csv")) {
+        // Arquivos detectados pelo conteúdo já tiveram o formato verificado, mesmo com outro nome
+        if (!(file instanceof ArquivoExtratoDetectado) && !file.getOriginalFilename().toLowerCase().endsWith(".csv")) {
             throw new FormatoArquivoInvalidoException("Arquivo deve ser CSV");
         }
-        String fileHash = "";
-        try{
-            // Calcular hash do arquivo
-            fileHash = calcularHash(file);
+        // Salvar upload e processar transações em lotes, persistindo enquanto o arquivo é lido
+        ArquivoComHash arquivo = new ArquivoComHash(file);
+        UploadArquivo upload = salvarUploadArquivo(file, indiceUploads.hashPendente(), bbParser.getBankName());
+        AtomicInteger transacoesSalvas = new AtomicInteger();
+        AtomicInteger duplicatasIgnoradas = new AtomicInteger();
+        int transacoesParseadas;
+        try (Stream<Transacao> transacoes = bbParser.stream(arquivo)) {
+            transacoesParseadas = ExtratoParser.consumirEmLotes(transacoes, parserConfig.getBatchSize(), lote -> {
+                TransacaoBatchRepository.ResultadoInsercao resultado = salvarTransacoes(lote, upload);
+                transacoesSalvas.addAndGet(resultado.inseridas());
+                duplicatasIgnoradas.addAndGet(resultado.ignoradas());
+                liberarContextoPersistencia();
+            });
+        }
+        log.info("{} transações parseadas do arquivo {}",
+                transacoesParseadas, file.getOriginalFilename());
+
+        String fileHash;
+        try {
+            fileHash = arquivo.hash();
             log.debug("Hash calculado para arquivo {}: {}", file.getOriginalFilename(), fileHash);
-        }catch(IOException ioException){
-            return ProcessamentoResult.erroProcessamento( file.getOriginalFilename(), ioException.getMessage() );
+        } catch (IOException ioException) {
+            indiceUploads.descartar();
+            return ProcessamentoResult.erroProcessamento(file.getOriginalFilename(), ioException.getMessage());
         }
 
         // Verificar se arquivo já foi processado
-        if (uploadArquivoRepository.existsByHashArquivo(fileHash)) {
+        if (!indiceUploads.confirmar(upload.getId(), fileHash)) {
             log.warn("Arquivo duplicado detectado: {} (hash: {})",
                     file.getOriginalFilename(), fileHash);
             return ProcessamentoResult.arquivoDuplicado(file.getOriginalFilename());
         }
 
-        // Processar transações
-        List<Transacao> transacoes = bbParser.parse(file);
-        log.info("{} transações parseadas do arquivo {}",
-                transacoes.size(), file.getOriginalFilename());
-
-        // Salvar upload e transações
-        UploadArquivo upload = salvarUploadArquivo(file, fileHash, bbParser.getBankName());
-        List<Transacao> transacoesSalvas = salvarTransacoes(transacoes, upload);
-
-        log.info("Processamento concluído com sucesso: {} transações salvas para arquivo {}",
-                transacoesSalvas.size(), file.getOriginalFilename());
+        log.info("Processamento concluído com sucesso: {} transações salvas, {} duplicatas ignoradas para arquivo {}",
+                transacoesSalvas.get(), duplicatasIgnoradas.get(), file.getOriginalFilename());
 
         // Métricas de sucesso
         metricsService.incrementarArquivosProcessados();
-        metricsService.incrementarTransacoesProcessadas(transacoesSalvas.size());
+        metricsService.incrementarTransacoesProcessadas(transacoesSalvas.get());
         metricsService.incrementarBancoUtilizado("banco-do-brasil");
         // Métricas de tempo
         long duration = System.currentTimeMillis() - startTime;
         metricsService.registrarTempoProcessamento(Duration.ofMillis(duration));
 
-        return ProcessamentoResult.sucesso(file.getOriginalFilename(), transacoesSalvas.size());
+        return ProcessamentoResult.sucesso(file.getOriginalFilename(), transacoesSalvas.get(), duplicatasIgnoradas.get());
     }
 
     /**
-     * Retorna todas as transações.
+     * Retorna as transações do banco, da mais recente para a mais antiga.
      */
+    @Override
     public List<Transacao> getExtrato() {
-        return transacaoRepository.findAll();
+        return transacaoRepository.findByBancoOrderByDataDescIdAsc(getBankName());
     }
 
     /**
-     * Retorna transações por período.
+     * Retorna transações do banco por período.
      */
+    @Override
     public List<Transacao> getExtratoPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        return transacaoRepository.findByDataBetween(dataInicio, dataFim);
+        return transacaoRepository.findByBancoAndDataBetweenOrderByDataDescIdAsc(getBankName(), dataInicio, dataFim);
     }
-    private String calcularHash(MultipartFile file) throws IOException {
-        try (InputStream is = file.getInputStream()) {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] buffer = new byte[8192];
-            int read;
-            int totalRead = 0;
-
-            while ((read = is.read(buffer)) > 0) {
-                digest.update(buffer, 0, read);
-                totalRead += read;
-            }
-
-            log.debug("Total de bytes lidos para hash: {}", totalRead);
-            byte[] hash = digest.digest();
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            log.error("Algoritmo SHA-256 não disponível no ambiente", e);
-            throw new HashCalculationException("Algoritmo de hash não disponível", e);
-        }
+
+    @Override
+    public ConsultaExtratoService.Pagina getExtratoPaginado(LocalDate dataInicio, LocalDate dataFim,
+                                                            CursorExtrato apos, Integer limite) {
+        return consultaExtrato.pagina(getBankName(), dataInicio, dataFim, apos, limite);
+    }
+
+    @Override
+    public String getBankName() {
+        return bbParser.getBankName();
     }
 
     private UploadArquivo salvarUploadArquivo(MultipartFile file, String hash, String banco) {
@@ -148,56 +164,31 @@ public class BancoDoBrasilService implements ExtratoService {
         return savedUpload;
     }
 
-    private List<Transacao> salvarTransacoes(List<Transacao> transacoes, UploadArquivo upload) {
+    /**
+     * Salva o lote em INSERTs multi-linha que ignoram as transações já existentes,
+     * sem desfazer o lote quando parte dele se sobrepõe a um extrato anterior
+     */
+    private TransacaoBatchRepository.ResultadoInsercao salvarTransacoes(List<Transacao> transacoes, UploadArquivo upload) {
         // Prepara todas as transações com o upload
         transacoes.forEach(transacao -> transacao.setUploadArquivo(upload));
 
-        try {
-            // Tenta salvar em lote primeiro (mais eficiente)
-            List<Transacao> transacoesSalvas = transacaoRepository.saveAll(transacoes);
-            log.info("{} transações salvas em lote com sucesso", transacoesSalvas.size());
-            return transacoesSalvas;
-
-        } catch (DataIntegrityViolationException e) {
-            log.warn("Violação de integridade detectada, salvando transações individualmente");
-            // Limpa a sessão para evitar problemas com entidades com ID nulo
-            try {
-                entityManager.flush();
-            } catch (Exception ignored) {
-                // Ignora erros de flush
-            }
-            entityManager.clear();
-            
-            // Salva transações individualmente diretamente aqui
-            List<Transacao> transacoesSalvas = new ArrayList<>();
-            int duplicatas = 0;
-
-            for (Transacao transacao : transacoes) {
-                try {
-                    transacao.setUploadArquivo(upload);
-                    Transacao salva = transacaoRepository.save(transacao);
-                    transacoesSalvas.add(salva);
-                } catch (DataIntegrityViolationException duplicata) {
-                    // Transação duplicada (unique constraint violada)
-                    duplicatas++;
-                    log.debug("Transação duplicada ignorada: {}", transacao);
-                }
-            }
-
-            if (duplicatas > 0) {
-                log.info("{} transações salvas, {} duplicatas ignoradas",
-                        transacoesSalvas.size(), duplicatas);
-            }
-
-            return transacoesSalvas;
+        TransacaoBatchRepository.ResultadoInsercao resultado = transacaoBatchRepository.inserirIgnorandoDuplicatas(transacoes);
+        filtroDuplicatas.registrarTransacoes(transacoes);
+        if (resultado.ignoradas() > 0) {
+            log.info("{} transações salvas, {} duplicatas ignoradas",
+                    resultado.inseridas(), resultado.ignoradas());
+        } else {
+            log.info("{} transações salvas em lote com sucesso", resultado.inseridas());
         }
+        return resultado;
     }
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
-        }
-        return result.toString();
+    /**
+     * Descarrega e limpa o contexto de persistência após cada lote, para que as entidades
+     * já gravadas não fiquem retidas em memória até o fim do arquivo.
+     */
+    private void liberarContextoPersistencia() {
+        entityManager.flush();
+        entityManager.clear();
     }
 
 }
@@ -0,0 +1,103 @@
+package br.com.financas.extrato_api.service;
+
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
+import br.com.financas.extrato_api.model.dto.TransacaoDTO;
+import br.com.financas.extrato_api.model.dto.TransacaoLinhaDTO;
+import br.com.financas.extrato_api.repository.TransacaoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Leitura do extrato sem carregar a tabela inteira: páginas por chave (data, id) ou stream do cursor JDBC,
+ * com filtros opcionais de banco e período, sempre da transação mais recente para a mais antiga. As linhas são
+ * projetadas direto em {@link TransacaoDTO}, sem hidratar entidades Transacao.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsultaExtratoService {
+
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+    /** Limites do tipo DATE do MySQL, usados quando o período não é informado */
+    static final LocalDate DATA_MINIMA = LocalDate.of(1000, 1, 1);
+    static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+    /**
+     * Timeout da transação do stream, no lugar do spring.transaction.default-timeout (30s): o cursor fica aberto
+     * enquanto o cliente lê a resposta, e um download lento de um extrato grande passaria facilmente disso
+     */
+    public static final int TIMEOUT_STREAM_SEGUNDOS = 3600;
+
+    private final TransacaoRepository transacaoRepository;
+
+    /**
+     * @param banco nome gravado em Transacao.banco, ou null para todos os bancos
+     * @param apos posição da última transação entregue, ou null para a primeira página
+     * @param limite tamanho da página, limitado a {@link #LIMITE_MAXIMO}; null usa {@link #LIMITE_PADRAO}
+     * @return as transações da página e o cursor da próxima, se houver
+     */
+    @Transactional(readOnly = true)
+    public Pagina pagina(String banco, LocalDate dataInicio, LocalDate dataFim, CursorExtrato apos, Integer limite) {
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        LocalDate inicio = dataInicio == null ? DATA_MINIMA : dataInicio;
+        LocalDate fim = dataFim == null ? DATA_MAXIMA : dataFim;
+        // Sem cursor, a página começa no primeiro id do dia final
+        CursorExtrato posicao = apos == null ? new CursorExtrato(fim, 0L) : apos;
+
+        // Uma linha a mais indica se existe próxima página, sem consulta de contagem
+        PageRequest linhas = PageRequest.of(0, tamanho + 1);
+        List<TransacaoDTO> transacoes = banco == null
+                ? transacaoRepository.findPaginaApos(inicio, fim, posicao.data(), posicao.id(), linhas)
+                : transacaoRepository.findPaginaDoBancoApos(banco, inicio, fim, posicao.data(), posicao.id(), linhas);
+
+        if (transacoes.size() <= tamanho) {
+            return new Pagina(transacoes, null);
+        }
+        List<TransacaoDTO> pagina = transacoes.subList(0, tamanho);
+        return new Pagina(pagina, CursorExtrato.apos(pagina.get(tamanho - 1)));
+    }
+
+    /**
+     * Entrega as transações do período ao consumidor na ordem do extrato, lendo do banco em blocos.
+     * As projeções não entram no contexto de persistência, então a memória não cresce com o extrato
+     * enquanto o consumidor não as guardar.
+     * <p>
+     * O consumidor pode escrever direto na resposta HTTP, então a transação dura o quanto o cliente levar para ler:
+     * o limite é {@link #TIMEOUT_STREAM_SEGUNDOS}, e não o timeout padrão das demais transações.
+     * @param banco nome gravado em Transacao.banco, ou null para todos os bancos
+     * @return quantidade de transações entregues
+     */
+    @Transactional(readOnly = true, timeout = TIMEOUT_STREAM_SEGUNDOS)
+    public int percorrer(String banco, LocalDate dataInicio, LocalDate dataFim, Consumer<TransacaoLinhaDTO> consumidor) {
+        LocalDate inicio = dataInicio == null ? DATA_MINIMA : dataInicio;
+        LocalDate fim = dataFim == null ? DATA_MAXIMA : dataFim;
+        int entregues = 0;
+        try (Stream<TransacaoLinhaDTO> transacoes = banco == null
+                ? transacaoRepository.streamByDataBetween(inicio, fim)
+                : transacaoRepository.streamByBancoAndDataBetween(banco, inicio, fim)) {
+            Iterator<TransacaoLinhaDTO> iterador = transacoes.iterator();
+            while (iterador.hasNext()) {
+                consumidor.accept(iterador.next());
+                entregues++;
+            }
+        }
+        log.debug("{} transações entregues em stream (banco: {}, período: {} a {})", entregues, banco, inicio, fim);
+        return entregues;
+    }
+
+    /**
+     * Página do extrato
+     * @param proximo cursor da próxima página, ou null na última
+     */
+    public record Pagina(List<TransacaoDTO> transacoes, CursorExtrato proximo) {
+    }
+}
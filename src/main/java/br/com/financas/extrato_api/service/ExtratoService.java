@@ -1,11 +1,14 @@
 package br.com.financas.extrato_api.service;
 
 import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
 import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ExtratoService {
@@ -25,6 +28,30 @@ public interface ExtratoService {
             readOnly = false                      // Modo apenas leitura
     )
     ProcessamentoResult processarArquivo(MultipartFile file);
+
+    /**
+     * Transações deste banco, da mais recente para a mais antiga
+     */
     @Transactional(readOnly = true)
     List<Transacao> getExtrato();
+
+    /**
+     * Transações deste banco no período, da mais recente para a mais antiga
+     */
+    @Transactional(readOnly = true)
+    List<Transacao> getExtratoPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Página do extrato deste banco, da transação mais recente para a mais antiga
+     * @param dataInicio data inicial (inclusive), ou null
+     * @param dataFim data final (inclusive), ou null
+     * @param apos posição da última transação entregue, ou null para a primeira página
+     * @param limite tamanho da página, ou null para o padrão
+     */
+    ConsultaExtratoService.Pagina getExtratoPaginado(LocalDate dataInicio, LocalDate dataFim, CursorExtrato apos, Integer limite);
+
+    /**
+     * Nome do banco gravado em Transacao.banco pelas transações deste service
+     */
+    String getBankName();
 }
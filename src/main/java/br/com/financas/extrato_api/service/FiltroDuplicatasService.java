@@ -0,0 +1,195 @@
+package br.com.financas.extrato_api.service;
+
+import br.com.financas.extrato_api.config.FiltroDuplicatasConfig;
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import br.com.financas.extrato_api.repository.TransacaoRepository;
+import br.com.financas.extrato_api.repository.UploadArquivoRepository;
+import br.com.financas.extrato_api.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pré-filtro de duplicatas: filtros de Bloom em memória com os hashes de arquivo já enviados e as impressões
+ * digitais das transações já gravadas.
+ * <p>
+ * Os filtros são recarregados do banco na subida (antes do readiness) e atualizados a cada gravação. Uma
+ * resposta negativa dispensa a consulta ao banco; uma positiva sempre é confirmada nele. Até a carga terminar,
+ * ou com o filtro desligado, toda verificação vai ao banco.
+ * <p>
+ * Os filtros são por instância: gravações feitas por outra instância depois da carga não aparecem aqui.
+ * As restrições únicas de upload_arquivos.hash_arquivo e transacoes.fingerprint continuam barrando essas duplicatas.
+ */
+@Slf4j
+@Service
+public class FiltroDuplicatasService implements ApplicationRunner {
+
+    static final String UPLOADS = "uploads";
+    static final String TRANSACOES = "transacoes";
+
+    private final FiltroDuplicatasConfig config;
+    private final UploadArquivoRepository uploadArquivoRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExtratoMetricsService metricsService;
+    private volatile Filtro uploads;
+    private volatile Filtro transacoes;
+
+    public FiltroDuplicatasService(FiltroDuplicatasConfig config, UploadArquivoRepository uploadArquivoRepository,
+                                   TransacaoRepository transacaoRepository, JdbcTemplate jdbcTemplate,
+                                   ExtratoMetricsService metricsService) {
+        this.config = config;
+        this.uploadArquivoRepository = uploadArquivoRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.metricsService = metricsService;
+        this.uploads = new Filtro(config.getUploadCapacity(), config.getFalsePositiveRate());
+        this.transacoes = new Filtro(config.getTransactionCapacity(), config.getFalsePositiveRate());
+        metricsService.registrarFiltroDuplicatas(UPLOADS, this,
+                s -> s.uploads.bloom.taxaFalsoPositivo(), s -> s.uploads.bloom.tamanhoEmBytes(), s -> s.uploads.chaves.sum());
+        metricsService.registrarFiltroDuplicatas(TRANSACOES, this,
+                s -> s.transacoes.bloom.taxaFalsoPositivo(), s -> s.transacoes.bloom.tamanhoEmBytes(), s -> s.transacoes.chaves.sum());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (config.isEnabled()) {
+            carregar();
+        }
+    }
+
+    /**
+     * Recria os filtros com as chaves gravadas no banco. Gravações feitas durante a carga já entram nos novos filtros.
+     */
+    public void carregar() {
+        long inicio = System.nanoTime();
+        try {
+            long totalUploads = contar("SELECT COUNT(*) FROM upload_arquivos");
+            Filtro novosUploads = new Filtro(Math.max(config.getUploadCapacity(), totalUploads * 2), config.getFalsePositiveRate());
+            uploads = novosUploads;
+            jdbcTemplate.query("SELECT hash_arquivo FROM upload_arquivos", rs -> {
+                novosUploads.put(rs.getString(1));
+            });
+            novosUploads.carregado = true;
+
+            long totalTransacoes = contar("SELECT COUNT(*) FROM transacoes");
+            Filtro novasTransacoes = new Filtro(Math.max(config.getTransactionCapacity(), totalTransacoes * 2), config.getFalsePositiveRate());
+            transacoes = novasTransacoes;
+            jdbcTemplate.query("SELECT fingerprint FROM transacoes", rs -> {
+                novasTransacoes.put(rs.getLong(1));
+            });
+            novasTransacoes.carregado = true;
+
+            log.info("Filtros de duplicatas carregados em {} ms: {} uploads ({} KB), {} transações ({} KB)",
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis(),
+                    totalUploads, novosUploads.bloom.tamanhoEmBytes() / 1024,
+                    totalTransacoes, novasTransacoes.bloom.tamanhoEmBytes() / 1024);
+        } catch (DataAccessException e) {
+            // Sem a carga completa o filtro não pode negar nada: as verificações continuam indo ao banco
+            log.warn("Falha ao carregar os filtros de duplicatas; verificações seguem direto no banco: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return se o arquivo com o hash já foi enviado, consultando o banco só quando o filtro não descarta o hash
+     */
+    public boolean existeUpload(String hashArquivo) {
+        Filtro atual = uploads;
+        boolean filtrar = ativo(atual);
+        if (filtrar && !atual.bloom.mightContain(hashArquivo)) {
+            metricsService.incrementarConsultaFiltro(UPLOADS, "ausente", 1);
+            return false;
+        }
+        boolean existe = uploadArquivoRepository.existsByHashArquivo(hashArquivo);
+        if (filtrar) {
+            metricsService.incrementarConsultaFiltro(UPLOADS, existe ? "confirmado" : "falso_positivo", 1);
+        }
+        return existe;
+    }
+
+    /**
+     * Impressões digitais já gravadas do banco no período, entre as candidatas. Quando o filtro descarta todas
+     * as candidatas, a consulta ao banco não é feita.
+     */
+    public Set<Long> fingerprintsExistentes(String banco, LocalDate dataInicio, LocalDate dataFim, Collection<Long> candidatas) {
+        Filtro atual = transacoes;
+        boolean filtrar = ativo(atual);
+        int possiveis = candidatas.size();
+        if (filtrar) {
+            possiveis = (int) candidatas.stream().filter(atual.bloom::mightContain).count();
+            metricsService.incrementarConsultaFiltro(TRANSACOES, "ausente", candidatas.size() - possiveis);
+            if (possiveis == 0) {
+                return Set.of();
+            }
+        }
+        Set<Long> existentes = new HashSet<>(transacaoRepository.findFingerprintsByBancoAndDataBetween(banco, dataInicio, dataFim));
+        if (filtrar) {
+            int confirmadas = (int) candidatas.stream().filter(existentes::contains).count();
+            metricsService.incrementarConsultaFiltro(TRANSACOES, "confirmado", confirmadas);
+            metricsService.incrementarConsultaFiltro(TRANSACOES, "falso_positivo", possiveis - confirmadas);
+        }
+        return existentes;
+    }
+
+    /**
+     * Inclui o hash de um upload gravado
+     */
+    public void registrarUpload(String hashArquivo) {
+        uploads.put(hashArquivo);
+    }
+
+    /**
+     * Inclui as impressões digitais das transações gravadas ou já existentes
+     */
+    public void registrarTransacoes(Collection<Transacao> gravadas) {
+        Filtro atual = transacoes;
+        for (Transacao transacao : gravadas) {
+            if (transacao.getFingerprint() != null) {
+                atual.put(transacao.getFingerprint());
+            }
+        }
+    }
+
+    private boolean ativo(Filtro filtro) {
+        return config.isEnabled() && filtro.carregado;
+    }
+
+    private long contar(String sql) {
+        Long total = jdbcTemplate.queryForObject(sql, Long.class);
+        return total == null ? 0 : total;
+    }
+
+    /**
+     * Filtro de Bloom e se ele já contém todas as chaves do banco
+     */
+    private static final class Filtro {
+        private final BloomFilter bloom;
+        private final LongAdder chaves = new LongAdder();
+        private volatile boolean carregado;
+
+        Filtro(long capacidade, double taxaFalsoPositivo) {
+            this.bloom = BloomFilter.criar(capacidade, taxaFalsoPositivo);
+        }
+
+        void put(String chave) {
+            bloom.put(chave);
+            chaves.increment();
+        }
+
+        void put(long chave) {
+            bloom.put(chave);
+            chaves.increment();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.financas.extrato_api.service;
+
+import br.com.financas.extrato_api.config.IndiceUploadsConfig;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import br.com.financas.extrato_api.util.ArquivoComHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+/**
+ * Índice em memória (Caffeine) dos hashes de arquivos já enviados, consultado antes da publicação na fila.
+ * <p>
+ * Um hash presente no índice é recusado sem ir ao banco. Um hash ausente passa pelo
+ * {@link FiltroDuplicatasService}, que só consulta o banco quando o filtro de Bloom não o descarta; hashes
+ * confirmados no banco entram no índice. Na subida o índice é carregado com os uploads mais recentes.
+ * <p>
+ * Uploads gravados entram no índice só depois do commit, para que um upload desfeito não seja recusado depois.
+ * <p>
+ * No processamento síncrono o hash só é conhecido ao fim do parse ({@link ArquivoComHash}): o upload é gravado com
+ * um {@link #hashPendente() hash provisório} e {@link #confirmar} grava o definitivo na mesma transação, onde a uk
+ * do hash_arquivo recusa o reenvio, inclusive o concorrente, que espera o commit do primeiro.
+ */
+@Slf4j
+@Service
+public class IndiceUploadsService implements ApplicationRunner {
+
+    /** Prefixo do hash dos uploads gravados antes do fim do parse; nunca chega ao commit */
+    static final String PREFIXO_PENDENTE = "pendente:";
+
+    private final IndiceUploadsConfig config;
+    private final FiltroDuplicatasService filtroDuplicatas;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Boolean> hashes;
+
+    public IndiceUploadsService(IndiceUploadsConfig config, FiltroDuplicatasService filtroDuplicatas,
+                                JdbcTemplate jdbcTemplate, ExtratoMetricsService metricsService) {
+        this.config = config;
+        this.filtroDuplicatas = filtroDuplicatas;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hashes = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .recordStats()
+                .build();
+        metricsService.monitorarCache("indice-uploads", hashes);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (config.isEnabled()) {
+            carregar();
+        }
+    }
+
+    /**
+     * Carrega os hashes dos uploads mais recentes, até o tamanho máximo do índice
+     */
+    public void carregar() {
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement("SELECT hash_arquivo FROM upload_arquivos ORDER BY id DESC");
+                ps.setMaxRows((int) Math.min(config.getMaximumSize(), Integer.MAX_VALUE));
+                return ps;
+            }, rs -> {
+                hashes.put(rs.getString(1), Boolean.TRUE);
+            });
+            log.info("Índice de uploads carregado com {} hashes", hashes.estimatedSize());
+        } catch (DataAccessException e) {
+            log.warn("Falha ao carregar o índice de uploads; verificações seguem pelo filtro e pelo banco: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return se o arquivo com o hash já foi enviado
+     */
+    public boolean conhecido(String hashArquivo) {
+        if (config.isEnabled() && hashes.getIfPresent(hashArquivo) != null) {
+            return true;
+        }
+        boolean existe = filtroDuplicatas.existeUpload(hashArquivo);
+        if (existe && config.isEnabled()) {
+            hashes.put(hashArquivo, Boolean.TRUE);
+        }
+        return existe;
+    }
+
+    /**
+     * Registra o hash de um upload gravado. Dentro de uma transação, o índice só é atualizado no commit;
+     * o filtro de duplicatas é atualizado na hora, já que um falso positivo lá só custa uma consulta.
+     */
+    public void registrar(String hashArquivo) {
+        filtroDuplicatas.registrarUpload(hashArquivo);
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hashes.put(hashArquivo, Boolean.TRUE);
+                }
+            });
+        } else {
+            hashes.put(hashArquivo, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return hash provisório e único para gravar o upload antes de o conteúdo ser lido por completo
+     */
+    public String hashPendente() {
+        return PREFIXO_PENDENTE + UUID.randomUUID();
+    }
+
+    /**
+     * Grava o hash do conteúdo no upload gravado com {@link #hashPendente()}, na transação corrente.
+     * @return false se outro upload já tem o hash; a transação corrente é marcada para rollback, desfazendo o
+     * upload e as suas transações
+     */
+    public boolean confirmar(Long uploadId, String hashArquivo) {
+        try {
+            jdbcTemplate.update("UPDATE upload_arquivos SET hash_arquivo = ? WHERE id = ?", hashArquivo, uploadId);
+        } catch (DuplicateKeyException e) {
+            log.debug("Hash {} já pertence a outro upload", hashArquivo);
+            descartar();
+            return false;
+        }
+        registrar(hashArquivo);
+        return true;
+    }
+
+    /**
+     * Marca a transação corrente para rollback, sem exceção para o chamador
+     */
+    public void descartar() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package br.com.financas.extrato_api.service;
 
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
 import br.com.financas.extrato_api.model.Transacao;
 import br.com.financas.extrato_api.model.UploadArquivo;
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
 import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
+import br.com.financas.extrato_api.parser.ExtratoParser;
 import br.com.financas.extrato_api.parser.ItauParser;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
 import br.com.financas.extrato_api.repository.TransacaoRepository;
 import br.com.financas.extrato_api.repository.UploadArquivoRepository;
+import br.com.financas.extrato_api.util.ArquivoComHash;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service para processamento de extratos PDF do Itaú
@@ -28,7 +40,13 @@ public class ItauService implements ExtratoService {
 
     private final ItauParser itauParser;
     private final TransacaoRepository transacaoRepository;
+    private final TransacaoBatchRepository transacaoBatchRepository;
     private final UploadArquivoRepository uploadArquivoRepository;
+    private final EntityManager entityManager;
+    private final ParserGeneralConfig parserConfig;
+    private final FiltroDuplicatasService filtroDuplicatas;
+    private final IndiceUploadsService indiceUploads;
+    private final ConsultaExtratoService consultaExtrato;
 
     @Override
     @Transactional
@@ -37,40 +55,50 @@ public class ItauService implements ExtratoService {
                 file.getOriginalFilename(), file.getSize());
 
         try {
-            // Calcular hash do arquivo para verificar duplicatas
-            String hashArquivo = calcularHashArquivo(file.getBytes());
-            log.debug("Hash calculado para arquivo {}: {}", file.getOriginalFilename(), hashArquivo);
-
-            // Verificar se arquivo já foi processado
-            if (uploadArquivoRepository.existsByHashArquivo(hashArquivo)) {
-                log.warn("Arquivo duplicado detectado: {} (hash: {})", file.getOriginalFilename(), hashArquivo);
-                return ProcessamentoResult.arquivoDuplicado(file.getOriginalFilename());
+            // Parsear e salvar transações do PDF em lotes, à medida que as páginas são extraídas.
+            // O upload só é registrado quando o arquivo tem ao menos uma transação, com hash provisório:
+            // o hash sai da leitura do parser e é confirmado ao fim, quando a uk recusa os reenvios.
+            ArquivoComHash arquivo = new ArquivoComHash(file);
+            AtomicReference<UploadArquivo> upload = new AtomicReference<>();
+            AtomicInteger transacoesSalvas = new AtomicInteger();
+            AtomicInteger duplicatasIgnoradas = new AtomicInteger();
+            int transacoesParseadas;
+            try (Stream<Transacao> transacoes = itauParser.stream(arquivo)) {
+                transacoesParseadas = ExtratoParser.consumirEmLotes(transacoes, parserConfig.getBatchSize(), lote -> {
+                    if (upload.get() == null) {
+                        upload.set(salvarUploadArquivo(file, indiceUploads.hashPendente()));
+                        log.debug("Upload salvo com ID: {}", upload.get().getId());
+                    }
+
+                    // Associar transações ao upload
+                    lote.forEach(transacao -> transacao.setUploadArquivo(upload.get()));
+
+                    int salvas = salvarTransacoes(lote);
+                    transacoesSalvas.addAndGet(salvas);
+                    duplicatasIgnoradas.addAndGet(lote.size() - salvas);
+                    liberarContextoPersistencia();
+                });
             }
+            log.info("{} transações parseadas do arquivo {}", transacoesParseadas, file.getOriginalFilename());
 
-            // Parsear transações do PDF
-            List<Transacao> transacoes = itauParser.parse(file);
-            log.info("{} transações parseadas do arquivo {}", transacoes.size(), file.getOriginalFilename());
-
-            if (transacoes.isEmpty()) {
+            if (transacoesParseadas == 0) {
                 log.warn("Nenhuma transação encontrada no arquivo: {}", file.getOriginalFilename());
                 return ProcessamentoResult.sucesso(file.getOriginalFilename(), 0);
             }
 
-            // Salvar upload do arquivo
-            UploadArquivo upload = salvarUploadArquivo(file, hashArquivo);
-            log.debug("Upload salvo com ID: {}", upload.getId());
-
-            // Associar transações ao upload
-            transacoes.forEach(transacao -> transacao.setUploadArquivo(upload));
-
-            // Salvar transações
-            int transacoesSalvas = salvarTransacoes(transacoes);
-            log.info("{} transações salvas em lote com sucesso", transacoesSalvas);
+            // Verificar se arquivo já foi processado
+            String hashArquivo = arquivo.hash();
+            log.debug("Hash calculado para arquivo {}: {}", file.getOriginalFilename(), hashArquivo);
+            if (!indiceUploads.confirmar(upload.get().getId(), hashArquivo)) {
+                log.warn("Arquivo duplicado detectado: {} (hash: {})", file.getOriginalFilename(), hashArquivo);
+                return ProcessamentoResult.arquivoDuplicado(file.getOriginalFilename());
+            }
+            log.info("{} transações salvas em lote com sucesso", transacoesSalvas.get());
 
-            log.info("Processamento concluído com sucesso: {} transações salvas para arquivo {}", 
-                    transacoesSalvas, file.getOriginalFilename());
+            log.info("Processamento concluído com sucesso: {} transações salvas, {} duplicatas ignoradas para arquivo {}", 
+                    transacoesSalvas.get(), duplicatasIgnoradas.get(), file.getOriginalFilename());
 
-            return ProcessamentoResult.sucesso(file.getOriginalFilename(), transacoesSalvas);
+            return ProcessamentoResult.sucesso(file.getOriginalFilename(), transacoesSalvas.get(), duplicatasIgnoradas.get());
 
         } catch (Exception e) {
             log.error("Erro ao processar arquivo PDF do Itaú: {}", file.getOriginalFilename(), e);
@@ -82,30 +110,19 @@ public class ItauService implements ExtratoService {
     @Transactional(readOnly = true)
     public List<Transacao> getExtrato() {
         log.debug("Buscando extrato do Itaú");
-        return transacaoRepository.findAll().stream()
-                .filter(t -> "Itaú".equals(t.getBanco()))
-                .sorted((t1, t2) -> t2.getData().compareTo(t1.getData()))
-                .toList();
+        return transacaoRepository.findByBancoOrderByDataDescIdAsc(getBankName());
     }
 
-    /**
-     * Calcula hash MD5 do conteúdo do arquivo
-     */
-    private String calcularHashArquivo(byte[] conteudo) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hashBytes = md.digest(conteudo);
-            
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hashBytes) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-            
-        } catch (NoSuchAlgorithmException e) {
-            log.error("Erro ao calcular hash MD5", e);
-            throw new RuntimeException("Erro ao calcular hash do arquivo", e);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<Transacao> getExtratoPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        return transacaoRepository.findByBancoAndDataBetweenOrderByDataDescIdAsc(getBankName(), dataInicio, dataFim);
+    }
+
+    @Override
+    public ConsultaExtratoService.Pagina getExtratoPaginado(LocalDate dataInicio, LocalDate dataFim,
+                                                            CursorExtrato apos, Integer limite) {
+        return consultaExtrato.pagina(getBankName(), dataInicio, dataFim, apos, limite);
     }
 
     /**
@@ -122,43 +139,60 @@ public class ItauService implements ExtratoService {
     }
 
     /**
-     * Salva transações verificando duplicatas antes de salvar
+     * Salva transações verificando duplicatas antes de salvar. As impressões digitais já gravadas do banco no
+     * período do lote são carregadas em uma única consulta e as duplicadas são descartadas em memória; as novas
+     * são gravadas em INSERTs multi-linha que também ignoram as repetidas dentro do lote.
+     * @return quantidade de transações salvas
      */
     private int salvarTransacoes(List<Transacao> transacoes) {
-        int salvas = 0;
-        
+        transacoes.forEach(Transacao::prepararPersistencia);
+        Set<Long> existentes = carregarFingerprintsExistentes(transacoes);
+        List<Transacao> novas = new ArrayList<>(transacoes.size());
+
         for (Transacao transacao : transacoes) {
-            try {
-                // Verificar se transação já existe antes de salvar
-                boolean exists = transacaoRepository.existsByDataAndNumeroDocumentoAndValorAndBanco(
-                        transacao.getData(), 
-                        transacao.getNumeroDocumento(), 
-                        transacao.getValor(), 
-                        transacao.getBanco()
-                );
-                
-                if (!exists) {
-                    transacaoRepository.save(transacao);
-                    salvas++;
-                    log.debug("Transação salva: {} | {} | {}", 
-                            transacao.getData(), transacao.getLancamento(), transacao.getValor());
-                } else {
-                    log.debug("Transação duplicada ignorada: {} | {} | {} | {}",
-                            transacao.getData(), transacao.getLancamento(), 
-                            transacao.getValor(), transacao.getBanco());
-                }
-                
-            } catch (Exception e) {
-                log.warn("Erro ao salvar transação individual: {} | {} | {}", 
-                        transacao.getData(), transacao.getLancamento(), transacao.getValor(), e);
+            if (!existentes.contains(transacao.getFingerprint())) {
+                novas.add(transacao);
+            } else {
+                log.debug("Transação duplicada ignorada: {} | {} | {} | {}",
+                        transacao.getData(), transacao.getLancamento(),
+                        transacao.getValor(), transacao.getBanco());
             }
         }
-        
-        return salvas;
+
+        int inseridas = transacaoBatchRepository.inserirIgnorandoDuplicatas(novas).inseridas();
+        filtroDuplicatas.registrarTransacoes(novas);
+        return inseridas;
     }
 
+    /**
+     * Impressões digitais já gravadas para os bancos do lote, entre a menor e a maior data do lote.
+     * Bancos cujas transações o filtro de duplicatas descarta não são consultados.
+     */
+    private Set<Long> carregarFingerprintsExistentes(List<Transacao> transacoes) {
+        Map<String, List<Transacao>> porBanco = transacoes.stream()
+                .filter(transacao -> transacao.getData() != null && transacao.getBanco() != null)
+                .collect(Collectors.groupingBy(Transacao::getBanco));
+        Set<Long> existentes = new HashSet<>();
+        porBanco.forEach((banco, doBanco) -> {
+            LocalDate inicio = doBanco.stream().map(Transacao::getData).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDate fim = doBanco.stream().map(Transacao::getData).max(Comparator.naturalOrder()).orElseThrow();
+            List<Long> candidatas = doBanco.stream().map(Transacao::getFingerprint).toList();
+            existentes.addAll(filtroDuplicatas.fingerprintsExistentes(banco, inicio, fim, candidatas));
+        });
+        return existentes;
+    }
+
+    /**
+     * Descarrega e limpa o contexto de persistência após cada lote salvo
+     */
+    private void liberarContextoPersistencia() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
     public String getBankName() {
-        return "Itaú";
+        return itauParser.getBankName();
     }
 
     public boolean supports(String fileName) {
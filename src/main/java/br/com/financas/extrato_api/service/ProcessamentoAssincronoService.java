@@ -1,9 +1,11 @@
 package br.com.financas.extrato_api.service;
 
 import br.com.financas.extrato_api.config.RabbitMQConfig;
+import br.com.financas.extrato_api.exception.BancoNaoSuportadoException;
 import br.com.financas.extrato_api.exception.ProcessamentoAssincronoException;
 import br.com.financas.extrato_api.model.dto.ProcessamentoMessage;
 import br.com.financas.extrato_api.model.dto.ProcessamentoStatusDTO;
+import br.com.financas.extrato_api.util.HashConteudo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -24,12 +26,25 @@ public class ProcessamentoAssincronoService {
 
     private final RabbitTemplate rabbitTemplate;
     private final ProcessamentoStatusService statusService;
+    private final ExtratoServiceLocator serviceLocator;
+    private final IndiceUploadsService indiceUploads;
 
     /**
-     * Envia arquivo para processamento assíncrono
+     * Envia arquivo para processamento assíncrono. Arquivos já enviados não são publicados na fila:
+     * o status volta concluído, sem transações salvas.
      */
     public ProcessamentoStatusDTO enviarParaProcessamento(String banco, String nomeArquivo, 
                                                          byte[] conteudoArquivo) {
+        return enviarParaProcessamento(banco, nomeArquivo, conteudoArquivo,
+                conteudoArquivo == null ? null : HashConteudo.de(conteudoArquivo));
+    }
+
+    /**
+     * Como {@link #enviarParaProcessamento(String, String, byte[])}, com o hash já calculado na leitura do
+     * upload ({@link HashConteudo#ler})
+     */
+    public ProcessamentoStatusDTO enviarParaProcessamento(String banco, String nomeArquivo,
+                                                         byte[] conteudoArquivo, String hashArquivo) {
         
         try {
             // Validações básicas
@@ -45,11 +60,14 @@ public class ProcessamentoAssincronoService {
                 throw new ProcessamentoAssincronoException("Conteúdo do arquivo não pode ser nulo ou vazio");
             }
             
-            // Calcular hash do arquivo
-            String hashArquivo = java.util.Arrays.toString(java.security.MessageDigest.getInstance("MD5")
-                    .digest(conteudoArquivo));
-            
+            // Banco não suportado é recusado antes de publicar, assim como reenvios
+            serviceLocator.getService(banco);
+
             UUID processamentoId = UUID.randomUUID();
+            if (indiceUploads.conhecido(hashArquivo)) {
+                log.warn("Arquivo duplicado detectado: {} (hash: {}); não enviado para a fila", nomeArquivo, hashArquivo);
+                return salvarStatusDuplicado(processamentoId, banco, nomeArquivo);
+            }
             
             ProcessamentoMessage message = ProcessamentoMessage.builder()
                     .processamentoId(processamentoId)
@@ -86,7 +104,7 @@ public class ProcessamentoAssincronoService {
 
             return status;
             
-        } catch (ProcessamentoAssincronoException e) {
+        } catch (ProcessamentoAssincronoException | BancoNaoSuportadoException e) {
             throw e; // Re-lançar exceções específicas
         } catch (Exception e) {
             log.error("Erro inesperado ao enviar arquivo para processamento: {}", e.getMessage(), e);
@@ -94,6 +112,25 @@ public class ProcessamentoAssincronoService {
         }
     }
 
+    private ProcessamentoStatusDTO salvarStatusDuplicado(UUID processamentoId, String banco, String nomeArquivo) {
+        LocalDateTime agora = LocalDateTime.now();
+        ProcessamentoStatusDTO status = ProcessamentoStatusDTO.builder()
+                .processamentoId(processamentoId)
+                .banco(banco)
+                .nomeArquivo(nomeArquivo)
+                .status(ProcessamentoMessage.ProcessamentoStatus.CONCLUIDO)
+                .dataInicio(agora)
+                .dataFim(agora)
+                .progresso(100)
+                .mensagem("Arquivo já foi processado anteriormente")
+                .transacoesProcessadas(0)
+                .transacoesSalvas(0)
+                .duplicatasIgnoradas(0)
+                .build();
+        statusService.salvarStatus(status);
+        return status;
+    }
+
     /**
      * Consulta status do processamento
      */
@@ -44,9 +44,9 @@ public class ProcessamentoWorker {
             // Marcar como concluído
             statusService.marcarConcluido(
                 processamentoId,
+                resultado.getTransacoesSalvas() + resultado.getDuplicatasIgnoradas(),
                 resultado.getTransacoesSalvas(),
-                resultado.getTransacoesSalvas(),
-                0, // duplicatas ignoradas - não disponível no ProcessamentoResult atual
+                resultado.getDuplicatasIgnoradas(),
                 null // uploadId - não disponível no ProcessamentoResult atual
             );
             
@@ -0,0 +1,165 @@
+package br.com.financas.extrato_api.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+/**
+ * Upload que calcula o {@link HashConteudo} na leitura feita pelo parser, sem uma leitura só para o hash.
+ * <p>
+ * O primeiro InputStream lido até o fim, o {@link #getBytes()} ou o {@link #transferTo(File)} definem o hash.
+ * A transferência mantém a renomeação do arquivo de spool pelo container e calcula o hash da cópia local,
+ * que o mapeamento em memória lê em seguida do cache de páginas. {@link #hash()} só lê o upload de novo se o
+ * parser não chegou ao fim do conteúdo.
+ */
+public final class ArquivoComHash implements MultipartFile {
+
+    private final MultipartFile arquivo;
+    private volatile String hash;
+
+    public ArquivoComHash(MultipartFile arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    /** Upload original */
+    public MultipartFile getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * @return hash do conteúdo, da leitura do parser quando ela chegou ao fim
+     */
+    public String hash() throws IOException {
+        String atual = hash;
+        if (atual == null) {
+            atual = HashConteudo.de(arquivo);
+            hash = atual;
+        }
+        return atual;
+    }
+
+    @Override
+    public String getName() {
+        return arquivo.getName();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return arquivo.getOriginalFilename();
+    }
+
+    @Override
+    public String getContentType() {
+        return arquivo.getContentType();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return arquivo.isEmpty();
+    }
+
+    @Override
+    public long getSize() {
+        return arquivo.getSize();
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        byte[] conteudo = arquivo.getBytes();
+        if (hash == null) {
+            hash = HashConteudo.de(conteudo);
+        }
+        return conteudo;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream conteudo = arquivo.getInputStream();
+        return hash == null ? new Calculando(conteudo) : conteudo;
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException, IllegalStateException {
+        arquivo.transferTo(dest);
+        calcularDe(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException, IllegalStateException {
+        arquivo.transferTo(dest);
+        calcularDe(dest);
+    }
+
+    private void calcularDe(Path copia) throws IOException {
+        if (hash == null) {
+            try (InputStream conteudo = Files.newInputStream(copia)) {
+                hash = HashConteudo.de(conteudo);
+            }
+        }
+    }
+
+    /**
+     * Passa os bytes lidos pelo digest e publica o hash ao chegar ao fim do conteúdo
+     */
+    private final class Calculando extends FilterInputStream {
+        private final MessageDigest digest = HashConteudo.novoDigest();
+
+        private Calculando(InputStream conteudo) {
+            super(conteudo);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido = super.read();
+            if (lido == -1) {
+                concluir();
+            } else {
+                digest.update((byte) lido);
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int lidos = super.read(b, off, len);
+            if (lidos == -1) {
+                concluir();
+            } else {
+                digest.update(b, off, lidos);
+            }
+            return lidos;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Bytes pulados também entram no hash
+            byte[] descarte = new byte[(int) Math.min(n, 8192)];
+            long pulados = 0;
+            while (pulados < n) {
+                int lidos = read(descarte, 0, (int) Math.min(descarte.length, n - pulados));
+                if (lidos == -1) {
+                    break;
+                }
+                pulados += lidos;
+            }
+            return pulados;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void concluir() {
+            if (hash == null) {
+                hash = HashConteudo.hex(digest.digest());
+            }
+        }
+    }
+}
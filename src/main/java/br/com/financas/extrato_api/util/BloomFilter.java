@@ -0,0 +1,115 @@
+package br.com.financas.extrato_api.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de chaves de 64 bits, seguro para uso concorrente.
+ * <p>
+ * Responde "talvez contenha" ou "com certeza não contém": uma chave inserida nunca é negada, mas chaves
+ * não inseridas podem ser aceitas com a taxa de falso positivo estimada em {@link #taxaFalsoPositivo()}.
+ * As posições vêm de hashing duplo sobre a chave misturada; textos entram pelo XXH64 dos bytes UTF-8.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private final int funcoes;
+    private final AtomicLong bitsLigados = new AtomicLong();
+
+    private BloomFilter(long totalBits, int funcoes) {
+        this.palavras = new AtomicLongArray((int) ((totalBits + 63) / 64));
+        this.totalBits = (long) palavras.length() * 64;
+        this.funcoes = funcoes;
+    }
+
+    /**
+     * Dimensiona o filtro para a capacidade e a taxa de falso positivo desejadas
+     * @param capacidade quantidade de chaves esperada
+     * @param taxaFalsoPositivo taxa desejada com a capacidade preenchida, entre 0 e 1
+     */
+    public static BloomFilter criar(long capacidade, double taxaFalsoPositivo) {
+        if (taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Taxa de falso positivo deve estar entre 0 e 1: " + taxaFalsoPositivo);
+        }
+        long n = Math.max(1, capacidade);
+        long bits = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        bits = Math.min(Math.max(bits, 64), (long) Integer.MAX_VALUE * 64);
+        int funcoes = (int) Math.max(1, Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, funcoes);
+    }
+
+    public void put(long chave) {
+        long h1 = misturar(chave);
+        long h2 = misturar(h1 ^ chave) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            ligar(Long.remainderUnsigned(h1 + i * h2, totalBits));
+        }
+    }
+
+    public void put(String chave) {
+        put(hash(chave));
+    }
+
+    /**
+     * @return false se a chave com certeza não foi inserida
+     */
+    public boolean mightContain(long chave) {
+        long h1 = misturar(chave);
+        long h2 = misturar(h1 ^ chave) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, totalBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean mightContain(String chave) {
+        return mightContain(hash(chave));
+    }
+
+    /**
+     * @return taxa de falso positivo estimada pela fração de bits ligados
+     */
+    public double taxaFalsoPositivo() {
+        return Math.pow((double) bitsLigados.get() / totalBits, funcoes);
+    }
+
+    /**
+     * @return memória ocupada pelos bits, em bytes
+     */
+    public long tamanhoEmBytes() {
+        return totalBits / 8;
+    }
+
+    public int funcoes() {
+        return funcoes;
+    }
+
+    private void ligar(long bit) {
+        int indice = (int) (bit >>> 6);
+        long mascara = 1L << bit;
+        long atual;
+        do {
+            atual = palavras.get(indice);
+            if ((atual & mascara) != 0) {
+                return;
+            }
+        } while (!palavras.compareAndSet(indice, atual, atual | mascara));
+        bitsLigados.incrementAndGet();
+    }
+
+    private static long hash(String chave) {
+        return TransacaoFingerprint.xxh64(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Finalizador do SplitMix64: espalha chaves sequenciais ou de pouca entropia por todos os bits */
+    private static long misturar(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.financas.extrato_api.util;
+
+import br.com.financas.extrato_api.model.parser.CsvConfig;
+
+import java.util.Arrays;
+
+/**
+ * Tokenizer de linhas CSV em uma única passada, sem regex.
+ * Respeita o caractere de aspas configurado (delimitadores dentro de aspas não separam campos)
+ * e já devolve cada campo sem aspas e sem espaços nas pontas, com a mesma semântica de
+ * {@code campo.replace("\"", "").trim()}.
+ */
+public final class CsvTokenizer {
+
+    public static final char DEFAULT_DELIMITER = ',';
+    public static final char DEFAULT_QUOTE = '"';
+
+    private final char delimiter;
+    private final char quote;
+
+    public CsvTokenizer(char delimiter, char quote) {
+        this.delimiter = delimiter;
+        this.quote = quote;
+    }
+
+    /**
+     * Cria o tokenizer a partir da configuração CSV do banco, usando vírgula e aspas duplas
+     * quando não configurados.
+     * @param config configuração CSV
+     * @return tokenizer configurado
+     */
+    public static CsvTokenizer of(CsvConfig config) {
+        Character delimiter = config != null ? config.getDelimiter() : null;
+        Character quote = config != null ? config.getQuote() : null;
+        return new CsvTokenizer(
+                delimiter != null ? delimiter : DEFAULT_DELIMITER,
+                quote != null ? quote : DEFAULT_QUOTE);
+    }
+
+    /**
+     * Separa a linha em campos.
+     * @param linha linha do extrato
+     * @return campos da linha, referenciando trechos da linha original
+     */
+    public Campos tokenize(CharSequence linha) {
+        Campos campos = new Campos(linha);
+        int length = linha.length();
+        boolean entreAspas = false;
+        int inicio = -1;
+        int fim = -1;
+        boolean aspaPendente = false;
+        boolean aspasInternas = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = linha.charAt(i);
+            if (c == quote) {
+                entreAspas = !entreAspas;
+                aspaPendente = inicio >= 0;
+            } else if (c == delimiter && !entreAspas) {
+                campos.add(inicio, fim, aspasInternas);
+                inicio = -1;
+                fim = -1;
+                aspaPendente = false;
+                aspasInternas = false;
+            } else if (c > ' ') {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+                // Aspa entre dois caracteres do conteúdo: o campo não é um trecho contínuo
+                aspasInternas |= aspaPendente;
+                aspaPendente = false;
+                fim = i + 1;
+            }
+        }
+        campos.add(inicio, fim, aspasInternas);
+        return campos;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public char getQuote() {
+        return quote;
+    }
+
+    /**
+     * Campos de uma linha tokenizada. Cada campo é um trecho [start, end) da linha original;
+     * a String só é criada quando o campo é lido por {@link #get(int)}.
+     */
+    public final class Campos {
+        private final CharSequence linha;
+        // Três posições por campo: início, fim e 1 quando há aspas internas a remover
+        private int[] limites = new int[24];
+        private int size;
+
+        private Campos(CharSequence linha) {
+            this.linha = linha;
+        }
+
+        private void add(int inicio, int fim, boolean comAspasInternas) {
+            if (size * 3 == limites.length) {
+                limites = Arrays.copyOf(limites, limites.length * 2);
+            }
+            if (inicio < 0) {
+                inicio = 0;
+                fim = 0;
+            }
+            limites[size * 3] = inicio;
+            limites[size * 3 + 1] = fim;
+            limites[size * 3 + 2] = comAspasInternas ? 1 : 0;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CharSequence getLinha() {
+            return linha;
+        }
+
+        /** Início (inclusivo) do campo na linha original */
+        public int start(int index) {
+            checkIndex(index);
+            return limites[index * 3];
+        }
+
+        /** Fim (exclusivo) do campo na linha original */
+        public int end(int index) {
+            checkIndex(index);
+            return limites[index * 3 + 1];
+        }
+
+        /**
+         * Indica se o campo é um trecho contínuo da linha, sem aspas internas a remover.
+         */
+        public boolean isContiguous(int index) {
+            checkIndex(index);
+            return limites[index * 3 + 2] == 0;
+        }
+
+        /**
+         * Retorna o campo limpo (sem aspas e sem espaços nas pontas).
+         */
+        public String get(int index) {
+            int inicio = start(index);
+            int fim = end(index);
+            if (inicio == fim) {
+                return "";
+            }
+            if (isContiguous(index)) {
+                return linha.subSequence(inicio, fim).toString();
+            }
+            StringBuilder sb = new StringBuilder(fim - inicio);
+            for (int i = inicio; i < fim; i++) {
+                char c = linha.charAt(i);
+                if (c != quote) {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        public String[] toArray() {
+            String[] valores = new String[size];
+            for (int i = 0; i < size; i++) {
+                valores[i] = get(i);
+            }
+            return valores;
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Campo " + index + " inexistente, linha possui " + size + " campos");
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.financas.extrato_api.util;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parser de datas de formato fixo (ex.: {@code dd/MM/yyyy}) que lê os dígitos direto do texto,
+ * sem regex e sem DateTimeFormatter, e não lança exceção para datas inválidas.
+ * <p>
+ * O padrão é compilado uma vez em posições de dia, mês e ano; padrões com outros campos usam
+ * DateTimeFormatter como fallback. Dia fora do mês (ex.: 31/02) é ajustado para o último dia
+ * válido, como o ResolverStyle.SMART usado pelo DateTimeFormatter.
+ * <p>
+ * Datas de extrato se repetem muito, então as instâncias de LocalDate são reaproveitadas
+ * através de um cache pequeno de mapeamento direto.
+ */
+public final class FixedFormatDateParser {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private final String pattern;
+    private final int length;
+    private final int dayPos;
+    private final int monthPos;
+    private final int yearPos;
+    private final char[] literais;
+    private final DateTimeFormatter fallback;
+    // Acesso concorrente sem sincronização é seguro: LocalDate é imutável
+    private final LocalDate[] cache = new LocalDate[CACHE_SIZE];
+
+    private FixedFormatDateParser(String pattern) {
+        this.pattern = pattern;
+        this.length = pattern.length();
+        this.literais = new char[length];
+
+        int dia = pattern.indexOf("dd");
+        int mes = pattern.indexOf("MM");
+        int ano = pattern.indexOf("yyyy");
+        boolean suportado = dia >= 0 && mes >= 0 && ano >= 0;
+        for (int i = 0; suportado && i < length; i++) {
+            boolean campo = (i >= dia && i < dia + 2) || (i >= mes && i < mes + 2) || (i >= ano && i < ano + 4);
+            char c = pattern.charAt(i);
+            if (campo) {
+                literais[i] = 0;
+            } else if (Character.isLetter(c) || c == '\'') {
+                suportado = false;
+            } else {
+                literais[i] = c;
+            }
+        }
+        if (suportado && pattern.indexOf('y', ano + 4) >= 0) {
+            suportado = false;
+        }
+
+        this.dayPos = suportado ? dia : -1;
+        this.monthPos = suportado ? mes : -1;
+        this.yearPos = suportado ? ano : -1;
+        this.fallback = suportado ? null : DateTimeFormatter.ofPattern(pattern);
+    }
+
+    public static FixedFormatDateParser of(String pattern) {
+        return new FixedFormatDateParser(pattern);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return a data, ou null se o texto não estiver no formato ou a data for inválida
+     */
+    public LocalDate parse(CharSequence texto) {
+        if (texto == null) {
+            return null;
+        }
+        return parse(texto, 0, texto.length());
+    }
+
+    /**
+     * Lê a data do trecho [inicio, fim) do texto, sem copiá-lo.
+     * @return a data, ou null se o trecho não estiver no formato ou a data for inválida
+     */
+    public LocalDate parse(CharSequence texto, int inicio, int fim) {
+        if (fallback != null) {
+            return parseFallback(texto.subSequence(inicio, fim).toString());
+        }
+        if (fim - inicio != length) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            char literal = literais[i];
+            if (literal != 0 && texto.charAt(inicio + i) != literal) {
+                return null;
+            }
+        }
+        int dia = digitos(texto, inicio + dayPos, 2);
+        int mes = digitos(texto, inicio + monthPos, 2);
+        int ano = digitos(texto, inicio + yearPos, 4);
+        if (dia < 1 || dia > 31 || mes < 1 || mes > 12 || ano < 1) {
+            return null;
+        }
+
+        int chave = (ano * 100 + mes) * 100 + dia;
+        int slot = (chave ^ (chave >>> 10)) & (CACHE_SIZE - 1);
+        LocalDate cached = cache[slot];
+        if (cached != null && cached.getDayOfMonth() == dia && cached.getMonthValue() == mes && cached.getYear() == ano) {
+            return cached;
+        }
+
+        int ultimoDia = mes == 2 ? (Year.isLeap(ano) ? 29 : 28) : (mes == 4 || mes == 6 || mes == 9 || mes == 11 ? 30 : 31);
+        LocalDate data = LocalDate.of(ano, mes, Math.min(dia, ultimoDia));
+        if (dia <= ultimoDia) {
+            cache[slot] = data;
+        }
+        return data;
+    }
+
+    private static int digitos(CharSequence texto, int pos, int quantidade) {
+        int valor = 0;
+        for (int i = pos; i < pos + quantidade; i++) {
+            int d = texto.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            valor = valor * 10 + d;
+        }
+        return valor;
+    }
+
+    private LocalDate parseFallback(String texto) {
+        try {
+            return LocalDate.parse(texto, fallback);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.financas.extrato_api.util;
+
+import org.javamoney.moneta.Money;
+
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em ponto fixo: quantidade de centavos em um long e o índice da moeda.
+ * Usado no caminho de ingestão (parse, deduplicação, somas) no lugar de BigDecimal/Money,
+ * que só são criados nas bordas via {@link #toBigDecimal()} e {@link #toMonetaryAmount()}.
+ * Todas as moedas suportadas têm 2 casas decimais.
+ */
+public final class FixedPointMoney implements Comparable<FixedPointMoney> {
+
+    /** Retorno de {@link #parseCentavos(CharSequence, int, int)} para texto inválido. */
+    public static final long INVALIDO = Long.MIN_VALUE;
+
+    private static final String[] MOEDAS = {"BRL", "USD", "EUR"};
+    private static final int CASAS_DECIMAIS = 2;
+    // Com 16 dígitos na parte inteira, inteiro * 100 + fracao fica abaixo de 10^18 e cabe em um long
+    private static final int MAX_DIGITOS = 16;
+
+    private final long centavos;
+    private final byte moeda;
+
+    private FixedPointMoney(long centavos, byte moeda) {
+        this.centavos = centavos;
+        this.moeda = moeda;
+    }
+
+    public static FixedPointMoney ofCentavos(long centavos, String currencyCode) {
+        return new FixedPointMoney(centavos, indiceMoeda(currencyCode));
+    }
+
+    public static FixedPointMoney brl(long centavos) {
+        return new FixedPointMoney(centavos, (byte) 0);
+    }
+
+    /**
+     * Converte um BigDecimal, arredondando para centavos (HALF_EVEN).
+     */
+    public static FixedPointMoney of(BigDecimal valor, String currencyCode) {
+        return ofCentavos(valor.setScale(CASAS_DECIMAIS, RoundingMode.HALF_EVEN).unscaledValue().longValueExact(), currencyCode);
+    }
+
+    public static FixedPointMoney of(MonetaryAmount valor) {
+        return of(valor.getNumber().numberValue(BigDecimal.class), valor.getCurrency().getCurrencyCode());
+    }
+
+    /**
+     * Lê um valor no formato brasileiro ({@code -1.234,56}) e cria o valor na moeda informada.
+     * @return o valor, ou null se o texto for inválido
+     */
+    public static FixedPointMoney parse(CharSequence texto, String currencyCode) {
+        if (texto == null) {
+            return null;
+        }
+        long centavos = parseCentavos(texto, 0, texto.length());
+        return centavos == INVALIDO ? null : ofCentavos(centavos, currencyCode);
+    }
+
+    /**
+     * Lê centavos do trecho [inicio, fim) no formato brasileiro, sem alocar: sinal opcional,
+     * pontos como separador de milhar (ignorados) e vírgula como separador decimal.
+     * Aspas e espaços são ignorados, como no cleanField dos validadores. Casas decimais além
+     * da segunda só são aceitas se forem zeros.
+     * @return quantidade de centavos, ou {@link #INVALIDO}
+     */
+    public static long parseCentavos(CharSequence texto, int inicio, int fim) {
+        long inteiro = 0;
+        int fracao = 0;
+        int casas = 0;
+        int digitos = 0;
+        boolean negativo = false;
+        boolean sinal = false;
+        boolean decimal = false;
+
+        for (int i = inicio; i < fim; i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int d = c - '0';
+                if (!decimal) {
+                    if (++digitos > MAX_DIGITOS) {
+                        return INVALIDO;
+                    }
+                    inteiro = inteiro * 10 + d;
+                } else if (casas < CASAS_DECIMAIS) {
+                    fracao = fracao * 10 + d;
+                    casas++;
+                    digitos++;
+                } else if (d != 0) {
+                    return INVALIDO;
+                }
+            } else if (c == '.') {
+                // separador de milhar
+            } else if (c == ',') {
+                if (decimal) {
+                    return INVALIDO;
+                }
+                decimal = true;
+            } else if ((c == '-' || c == '+') && !sinal && digitos == 0 && !decimal) {
+                sinal = true;
+                negativo = c == '-';
+            } else if (c != '"' && !Character.isWhitespace(c)) {
+                return INVALIDO;
+            }
+        }
+        if (digitos == 0) {
+            return INVALIDO;
+        }
+        for (; casas < CASAS_DECIMAIS; casas++) {
+            fracao *= 10;
+        }
+        long centavos = inteiro * 100 + fracao;
+        return negativo ? -centavos : centavos;
+    }
+
+    private static byte indiceMoeda(String currencyCode) {
+        for (byte i = 0; i < MOEDAS.length; i++) {
+            if (MOEDAS[i].equals(currencyCode)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Moeda não suportada: " + currencyCode);
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public String getCurrencyCode() {
+        return MOEDAS[moeda];
+    }
+
+    public boolean isPositive() {
+        return centavos > 0;
+    }
+
+    public boolean isNegative() {
+        return centavos < 0;
+    }
+
+    public FixedPointMoney plus(FixedPointMoney outro) {
+        if (moeda != outro.moeda) {
+            throw new IllegalArgumentException("Moedas diferentes: " + getCurrencyCode() + " e " + outro.getCurrencyCode());
+        }
+        return new FixedPointMoney(Math.addExact(centavos, outro.centavos), moeda);
+    }
+
+    public FixedPointMoney negate() {
+        return new FixedPointMoney(Math.negateExact(centavos), moeda);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, CASAS_DECIMAIS);
+    }
+
+    public MonetaryAmount toMonetaryAmount() {
+        return Money.of(toBigDecimal(), getCurrencyCode());
+    }
+
+    @Override
+    public int compareTo(FixedPointMoney outro) {
+        if (moeda != outro.moeda) {
+            throw new IllegalArgumentException("Moedas diferentes: " + getCurrencyCode() + " e " + outro.getCurrencyCode());
+        }
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FixedPointMoney outro)) return false;
+        return centavos == outro.centavos && moeda == outro.moeda;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos) * 31 + moeda;
+    }
+
+    @Override
+    public String toString() {
+        return getCurrencyCode() + " " + toBigDecimal().toPlainString();
+    }
+}
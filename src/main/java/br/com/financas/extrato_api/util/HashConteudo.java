@@ -0,0 +1,101 @@
+package br.com.financas.extrato_api.util;
+
+import br.com.financas.extrato_api.exception.HashCalculationException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Endereçamento de conteúdo dos uploads: SHA-256 em hexadecimal minúsculo (64 caracteres).
+ * <p>
+ * É o único hash de arquivo da aplicação: gravado em UploadArquivo.hashArquivo por todos os bancos, enviado na
+ * mensagem do processamento assíncrono e usado como chave do cache de extração de PDFs. O hash é calculado uma
+ * vez por upload, na mesma leitura do conteúdo:
+ * <ul>
+ *   <li>no envio assíncrono, {@link #ler(MultipartFile)} copia os bytes da mensagem e calcula o hash na mesma leitura;</li>
+ *   <li>no processamento síncrono, o {@link ArquivoComHash} calcula o hash na leitura do parser. Como ele só é
+ *   conhecido ao fim do parse, o reenvio é recusado pela uk do hash_arquivo no fim da transação do upload.</li>
+ * </ul>
+ */
+public final class HashConteudo {
+
+    public static final String ALGORITMO = "SHA-256";
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private HashConteudo() {
+    }
+
+    /**
+     * @return hash do conteúdo restante do stream, que é consumido mas não fechado
+     */
+    public static String de(InputStream conteudo) throws IOException {
+        return copiar(conteudo, OutputStream.nullOutputStream());
+    }
+
+    /**
+     * @return hash do conteúdo do upload
+     */
+    public static String de(MultipartFile arquivo) throws IOException {
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            return de(conteudo);
+        }
+    }
+
+    public static String de(byte[] conteudo) {
+        return hex(novoDigest().digest(conteudo));
+    }
+
+    /**
+     * Lê todo o conteúdo do upload calculando o hash na mesma passada, direto em um array do tamanho do upload
+     * @throws IOException se o conteúdo não tiver o tamanho informado pelo upload
+     */
+    public static ConteudoEnderecado ler(MultipartFile arquivo) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(arquivo.getSize())];
+        try (DigestInputStream digest = new DigestInputStream(arquivo.getInputStream(), novoDigest())) {
+            int lidos = digest.readNBytes(bytes, 0, bytes.length);
+            if (lidos != bytes.length || digest.read() != -1) {
+                throw new IOException("Conteúdo do arquivo " + arquivo.getOriginalFilename()
+                        + " difere do tamanho informado: " + bytes.length + " bytes");
+            }
+            return new ConteudoEnderecado(bytes, hex(digest.getMessageDigest().digest()));
+        }
+    }
+
+    /**
+     * @return hexadecimal minúsculo do digest
+     */
+    public static String hex(byte[] digest) {
+        return HEX.formatHex(digest);
+    }
+
+    private static String copiar(InputStream conteudo, OutputStream destino) throws IOException {
+        DigestInputStream digest = new DigestInputStream(conteudo, novoDigest());
+        byte[] buffer = new byte[TAMANHO_BUFFER];
+        int lidos;
+        while ((lidos = digest.read(buffer)) != -1) {
+            destino.write(buffer, 0, lidos);
+        }
+        return hex(digest.getMessageDigest().digest());
+    }
+
+    static MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITMO);
+        } catch (NoSuchAlgorithmException e) {
+            throw new HashCalculationException("Algoritmo de hash não disponível", e);
+        }
+    }
+
+    /**
+     * Conteúdo lido por completo e o seu hash
+     */
+    public record ConteudoEnderecado(byte[] bytes, String hash) {
+    }
+}
@@ -0,0 +1,244 @@
+package br.com.financas.extrato_api.util;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Extração do extrato PDF do Itaú por posição: agrupa os {@link TextPosition} de cada linha em palavras e
+ * distribui as palavras nas colunas data, lançamentos, valor e saldo pela coordenada x, usando o cabeçalho
+ * da tabela ({@code data lançamentos valor (R$) saldo (R$)}) como referência das colunas.
+ * <p>
+ * As células saem direto, sem montar o texto da página nem passar por regex. As colunas do último cabeçalho
+ * valem para as páginas seguintes; linhas antes de qualquer cabeçalho usam o {@link ItauLineClassifier} sobre
+ * o texto da linha. Para extrair uma faixa de páginas que não começa no cabeçalho, informe as colunas
+ * lidas antes com {@link #localizarCabecalho}.
+ * <p>
+ * Como o PDFTextStripper, não é thread-safe: use uma instância por thread.
+ */
+public class ItauColumnStripper extends PDFTextStripper {
+
+    /** Folga em pontos ao comparar posições com as colunas do cabeçalho */
+    private static final float TOLERANCIA = 2f;
+
+    private final ItauLineClassifier classifier;
+    private final List<Palavra> linhaAtual = new ArrayList<>();
+    private final StringBuilder palavra = new StringBuilder();
+    private float palavraInicio;
+    private float palavraFim;
+    private List<String[]> linhasPagina = new ArrayList<>();
+    private Colunas colunas;
+
+    public ItauColumnStripper(ItauLineClassifier classifier, boolean sortByPosition) throws IOException {
+        this(classifier, sortByPosition, null);
+    }
+
+    /**
+     * @param colunas colunas do cabeçalho de uma página anterior, usadas até o próximo cabeçalho; null para nenhuma
+     */
+    public ItauColumnStripper(ItauLineClassifier classifier, boolean sortByPosition, Colunas colunas) throws IOException {
+        this.classifier = classifier;
+        this.colunas = colunas;
+        setSortByPosition(sortByPosition);
+    }
+
+    /**
+     * Procura, página a página a partir de startPage, o primeiro cabeçalho da tabela
+     * @return a página do cabeçalho e as colunas lidas dele, ou null se nenhuma página até endPage tiver cabeçalho
+     */
+    public Cabecalho localizarCabecalho(PDDocument document, int startPage, int endPage) throws IOException {
+        for (int page = startPage; page <= endPage; page++) {
+            extrairPagina(document, page);
+            if (colunas != null) {
+                return new Cabecalho(page, colunas);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extrai sob demanda as linhas de transação das páginas de startPage a endPage.
+     * O documento continua sob responsabilidade do chamador e deve permanecer aberto enquanto o stream é consumido.
+     * @param document Documento PDF aberto
+     * @param startPage Página inicial (1-based)
+     * @param endPage Página final (1-based, inclusiva)
+     * @return Stream com [data, descricao, valor, saldo] de cada transação (ver {@link ItauColumn}), em ordem
+     */
+    public Stream<String[]> streamRows(PDDocument document, int startPage, int endPage) {
+        return IntStream.rangeClosed(startPage, endPage)
+                .mapToObj(page -> {
+                    try {
+                        return extrairPagina(document, page);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Erro ao extrair as colunas da página " + page, e);
+                    }
+                })
+                .flatMap(List::stream);
+    }
+
+    /**
+     * @return [data, descricao, valor, saldo] de cada transação da página
+     */
+    public List<String[]> extrairPagina(PDDocument document, int page) throws IOException {
+        setStartPage(page);
+        setEndPage(page);
+        linhasPagina = new ArrayList<>();
+        writeText(document, Writer.nullWriter());
+        return linhasPagina;
+    }
+
+    @Override
+    protected void writeString(String text, List<TextPosition> textPositions) {
+        for (TextPosition posicao : textPositions) {
+            String unicode = posicao.getUnicode();
+            if (unicode.isBlank()) {
+                fecharPalavra();
+                continue;
+            }
+            if (palavra.isEmpty()) {
+                palavraInicio = posicao.getXDirAdj();
+            }
+            palavra.append(unicode);
+            palavraFim = posicao.getXDirAdj() + posicao.getWidthDirAdj();
+        }
+    }
+
+    @Override
+    protected void writeWordSeparator() {
+        fecharPalavra();
+    }
+
+    @Override
+    protected void writeLineSeparator() {
+        fecharLinha();
+    }
+
+    @Override
+    protected void endPage(PDPage page) throws IOException {
+        fecharLinha();
+        super.endPage(page);
+    }
+
+    private void fecharPalavra() {
+        if (!palavra.isEmpty()) {
+            linhaAtual.add(new Palavra(palavra.toString(), palavraInicio, palavraFim));
+            palavra.setLength(0);
+        }
+    }
+
+    private void fecharLinha() {
+        fecharPalavra();
+        if (linhaAtual.isEmpty()) {
+            return;
+        }
+        Colunas cabecalho = Colunas.de(linhaAtual);
+        if (cabecalho != null) {
+            colunas = cabecalho;
+        } else {
+            String[] campos = colunas != null ? celulas(linhaAtual) : classifier.classificar(texto(linhaAtual));
+            if (campos != null) {
+                linhasPagina.add(campos);
+            }
+        }
+        linhaAtual.clear();
+    }
+
+    /**
+     * Distribui as palavras da linha nas colunas do cabeçalho
+     * @return [data, descricao, valor, saldo], ou null se a linha não for uma transação
+     */
+    private String[] celulas(List<Palavra> palavras) {
+        Palavra primeira = palavras.get(0);
+        if (!ItauLineClassifier.isData(primeira.texto()) || primeira.inicio() > colunas.descricaoInicio() + TOLERANCIA) {
+            return null;
+        }
+        String valor = null;
+        String saldo = "";
+        StringBuilder descricao = new StringBuilder();
+        for (int i = 1; i < palavras.size(); i++) {
+            Palavra atual = palavras.get(i);
+            String texto = atual.texto();
+            if (atual.fim() > colunas.valorInicio() - TOLERANCIA
+                    && ItauLineClassifier.isValor(texto, 0, texto.length())) {
+                // Valores alinhados à direita: a coluna é a de borda direita mais próxima
+                if (Math.abs(atual.fim() - colunas.valorFim()) <= Math.abs(atual.fim() - colunas.saldoFim())) {
+                    valor = texto;
+                } else {
+                    saldo = texto;
+                }
+            } else {
+                if (!descricao.isEmpty()) {
+                    descricao.append(' ');
+                }
+                descricao.append(texto);
+            }
+        }
+        String linha = texto(palavras);
+        if (valor == null || ItauLineClassifier.contemIgnorandoCaixa(linha, "saldo") || classifier.isCabecalho(linha)) {
+            return null;
+        }
+        return new String[]{primeira.texto(), descricao.toString(), valor, saldo};
+    }
+
+    private static String texto(List<Palavra> palavras) {
+        StringBuilder texto = new StringBuilder();
+        for (Palavra atual : palavras) {
+            if (!texto.isEmpty()) {
+                texto.append(' ');
+            }
+            texto.append(atual.texto());
+        }
+        return texto.toString();
+    }
+
+    private record Palavra(String texto, float inicio, float fim) {
+    }
+
+    /**
+     * Primeiro cabeçalho da tabela no documento
+     * @param pagina página do cabeçalho (1-based)
+     */
+    public record Cabecalho(int pagina, Colunas colunas) {
+    }
+
+    /**
+     * Posições das colunas, lidas da linha de cabeçalho da tabela
+     */
+    public record Colunas(float descricaoInicio, float valorInicio, float valorFim, float saldoFim) {
+
+        /**
+         * @return as colunas, se a linha for o cabeçalho {@code data lançamentos valor ... saldo ...}
+         */
+        static Colunas de(List<Palavra> palavras) {
+            if (palavras.size() < 4 || !palavras.get(0).texto().equalsIgnoreCase("data")) {
+                return null;
+            }
+            int valor = -1;
+            int saldo = -1;
+            for (int i = 2; i < palavras.size(); i++) {
+                String texto = palavras.get(i).texto().toLowerCase(Locale.ROOT);
+                if (valor < 0 && texto.equals("valor")) {
+                    valor = i;
+                } else if (valor > 0 && texto.equals("saldo")) {
+                    saldo = i;
+                    break;
+                }
+            }
+            if (valor < 0 || saldo < 0) {
+                return null;
+            }
+            return new Colunas(palavras.get(1).inicio(), palavras.get(valor).inicio(),
+                    palavras.get(saldo - 1).fim(), palavras.get(palavras.size() - 1).fim());
+        }
+    }
+}
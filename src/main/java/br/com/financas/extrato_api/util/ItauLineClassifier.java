@@ -0,0 +1,229 @@
+package br.com.financas.extrato_api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Classificador de linhas do extrato PDF do Itaú, sem regex e sem backtracking.
+ * <p>
+ * Reconhece as mesmas linhas e extrai os mesmos campos da transaction-regex padrão
+ * ({@code data  descrição  valor [valor]}): os valores são lidos da direita para a esquerda a partir do fim
+ * da linha, a data é a primeira ocorrência de {@code dd/dd/dddd} seguida de espaço e a descrição é o que
+ * sobra entre as duas. Linhas de saldo e linhas de cabeçalho (header-regex) são descartadas.
+ * <p>
+ * A header-regex é avaliada como busca de trechos literais quando tem a forma {@code .*a.*|.*b.*c.*};
+ * outras formas usam a regex compilada.
+ */
+public final class ItauLineClassifier {
+
+    private static final int TAMANHO_DATA = 10;
+    private static final String SALDO = "saldo";
+    private static final String METACARACTERES = "\\^$.|?*+()[]{}";
+
+    /** Trechos literais de cada alternativa da header-regex, na ordem */
+    private final List<String[]> cabecalhos;
+    private final Pattern headerPattern;
+
+    /**
+     * @param headerRegex regex de linhas de cabeçalho; null ou vazia para não descartar cabeçalhos
+     */
+    public ItauLineClassifier(String headerRegex) {
+        List<String[]> literais = headerRegex == null || headerRegex.isBlank() ? List.of() : literais(headerRegex);
+        this.cabecalhos = literais;
+        this.headerPattern = literais == null ? Pattern.compile(headerRegex) : null;
+    }
+
+    /**
+     * Classifica a linha em uma única passada.
+     * @param linha linha do extrato
+     * @return [data, descricao, valor, saldo] (ver {@link ItauColumn}), ou null se não for uma transação
+     */
+    public String[] classificar(String linha) {
+        if (linha == null || contemIgnorandoCaixa(linha, SALDO)) {
+            return null;
+        }
+        String[] campos = extrair(linha);
+        if (campos == null || isCabecalho(linha)) {
+            return null;
+        }
+        return campos;
+    }
+
+    /**
+     * Extrai os campos sem descartar linhas de saldo ou cabeçalho, como {@code transaction-regex} com find().
+     * Havendo dois valores no fim da linha, o valor é o último; o saldo fica vazio, como na regex.
+     * @return [data, descricao, valor, saldo], ou null se a linha não tiver data e valor
+     */
+    public String[] extrair(String linha) {
+        if (linha == null) {
+            return null;
+        }
+        int inicio = 0;
+        int fim = linha.length();
+        while (inicio < fim && isEspaco(linha.charAt(inicio))) {
+            inicio++;
+        }
+        while (fim > inicio && isEspaco(linha.charAt(fim - 1))) {
+            fim--;
+        }
+
+        // Último token: valor obrigatório
+        int inicioValor = inicioToken(linha, inicio, fim);
+        if (inicioValor == inicio || !isValor(linha, inicioValor, fim)) {
+            return null;
+        }
+        // Penúltimo token: segundo valor opcional
+        int fimAnterior = inicioValor;
+        while (fimAnterior > inicio && isEspaco(linha.charAt(fimAnterior - 1))) {
+            fimAnterior--;
+        }
+        int inicioAnterior = inicioToken(linha, inicio, fimAnterior);
+        boolean doisValores = inicioAnterior > inicio && isValor(linha, inicioAnterior, fimAnterior);
+
+        // Data: primeira ocorrência seguida de espaço antes do valor
+        int data = procurarData(linha, inicio, inicioValor);
+        if (data < 0) {
+            return null;
+        }
+        // Como o \s+ guloso e o (.+?) preguiçoso da regex: a descrição começa no primeiro caractere após os
+        // espaços e termina antes do segundo valor, se houver descrição antes dele, ou antes do último valor
+        int inicioDescricao = data + TAMANHO_DATA;
+        while (inicioDescricao < inicioValor && isEspaco(linha.charAt(inicioDescricao))) {
+            inicioDescricao++;
+        }
+        int limiteDescricao = doisValores && inicioDescricao < inicioAnterior ? inicioAnterior : inicioValor;
+        // Só espaços entre a data e o valor: a regex aceita com descrição vazia se houver ao menos três
+        if (inicioDescricao == inicioValor && inicioValor - (data + TAMANHO_DATA) < 3) {
+            return null;
+        }
+
+        return new String[]{
+                linha.substring(data, data + TAMANHO_DATA),
+                linha.substring(data + TAMANHO_DATA, limiteDescricao).trim(),
+                linha.substring(inicioValor, fim),
+                ""
+        };
+    }
+
+    /**
+     * @return se a linha corresponde à header-regex
+     */
+    public boolean isCabecalho(String linha) {
+        if (headerPattern != null) {
+            return headerPattern.matcher(linha).matches();
+        }
+        for (String[] trechos : cabecalhos) {
+            int posicao = 0;
+            boolean encontrou = true;
+            for (int i = 0; i < trechos.length && encontrou; i++) {
+                int indice = linha.indexOf(trechos[i], posicao);
+                encontrou = indice >= 0;
+                posicao = indice + trechos[i].length();
+            }
+            if (encontrou) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Separa a header-regex em alternativas {@code .*a.*b.*} de trechos literais.
+     * @return trechos de cada alternativa, ou null se a regex tiver outra forma
+     */
+    private static List<String[]> literais(String regex) {
+        List<String[]> alternativas = new ArrayList<>();
+        for (String alternativa : regex.split("\\|", -1)) {
+            if (!alternativa.startsWith(".*") || !alternativa.endsWith(".*") || alternativa.length() < 4) {
+                return null;
+            }
+            String[] trechos = alternativa.substring(2, alternativa.length() - 2).split("\\.\\*");
+            for (String trecho : trechos) {
+                if (trecho.isEmpty() || trecho.chars().anyMatch(c -> METACARACTERES.indexOf(c) >= 0)) {
+                    return null;
+                }
+            }
+            alternativas.add(trechos);
+        }
+        return alternativas;
+    }
+
+    private static int inicioToken(String linha, int inicio, int fim) {
+        int i = fim;
+        while (i > inicio && !isEspaco(linha.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Mesmo formato de {@code [+-]?\d{1,3}(?:\.\d{3})*(?:,\d{2})?}, ocupando todo o trecho
+     */
+    static boolean isValor(CharSequence texto, int inicio, int fim) {
+        int i = inicio;
+        if (i < fim && (texto.charAt(i) == '+' || texto.charAt(i) == '-')) {
+            i++;
+        }
+        int digitos = 0;
+        while (i < fim && isDigito(texto.charAt(i))) {
+            i++;
+            digitos++;
+        }
+        if (digitos < 1 || digitos > 3) {
+            return false;
+        }
+        while (i + 4 <= fim && texto.charAt(i) == '.'
+                && isDigito(texto.charAt(i + 1)) && isDigito(texto.charAt(i + 2)) && isDigito(texto.charAt(i + 3))) {
+            i += 4;
+        }
+        if (i + 3 == fim && texto.charAt(i) == ',' && isDigito(texto.charAt(i + 1)) && isDigito(texto.charAt(i + 2))) {
+            i += 3;
+        }
+        return i == fim;
+    }
+
+    /**
+     * @return posição da primeira data {@code dd/dd/dddd} seguida de espaço antes de {@code limite}, ou -1
+     */
+    private static int procurarData(String linha, int inicio, int limite) {
+        for (int i = inicio; i + TAMANHO_DATA < limite; i++) {
+            if (isData(linha, i) && isEspaco(linha.charAt(i + TAMANHO_DATA))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return se o texto é exatamente uma data {@code dd/dd/dddd}
+     */
+    static boolean isData(String texto) {
+        return texto.length() == TAMANHO_DATA && isData(texto, 0);
+    }
+
+    private static boolean isData(String texto, int i) {
+        return isDigito(texto.charAt(i)) && isDigito(texto.charAt(i + 1)) && texto.charAt(i + 2) == '/'
+                && isDigito(texto.charAt(i + 3)) && isDigito(texto.charAt(i + 4)) && texto.charAt(i + 5) == '/'
+                && isDigito(texto.charAt(i + 6)) && isDigito(texto.charAt(i + 7))
+                && isDigito(texto.charAt(i + 8)) && isDigito(texto.charAt(i + 9));
+    }
+
+    static boolean contemIgnorandoCaixa(String linha, String trecho) {
+        for (int i = 0; i + trecho.length() <= linha.length(); i++) {
+            if (linha.regionMatches(true, i, trecho, 0, trecho.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Mesmo conjunto de {@code \s} da regex */
+    private static boolean isEspaco(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.financas.extrato_api.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Visão de um trecho de bytes ISO-8859-1 como {@link CharSequence}, sem decodificação.
+ * Em ISO-8859-1 cada byte corresponde exatamente a um char, então {@link #charAt(int)} lê direto do buffer
+ * e a String só é criada em {@link #toString()}.
+ */
+public final class Latin1CharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    public Latin1CharSequence(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora do trecho de tamanho " + length);
+        }
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Trecho [" + start + ", " + end + ") inválido para tamanho " + length);
+        }
+        return new Latin1CharSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
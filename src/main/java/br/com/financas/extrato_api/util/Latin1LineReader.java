@@ -0,0 +1,201 @@
+package br.com.financas.extrato_api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Leitor de linhas de arquivos ISO-8859-1 que trabalha direto sobre os bytes.
+ * Arquivos grandes são mapeados em memória; arquivos pequenos usam o próprio array de bytes.
+ * As linhas são entregues como {@link Latin1CharSequence}, sem passar por decodificador de charset.
+ */
+public final class Latin1LineReader implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(Latin1LineReader.class);
+
+    private final ByteBuffer buffer;
+    private final Path tempFile;
+
+    private Latin1LineReader(ByteBuffer buffer, Path tempFile) {
+        this.buffer = buffer;
+        this.tempFile = tempFile;
+    }
+
+    /**
+     * Envolve um array de bytes já em memória.
+     */
+    public static Latin1LineReader of(byte[] conteudo) {
+        return new Latin1LineReader(ByteBuffer.wrap(conteudo), null);
+    }
+
+    /**
+     * Mapeia um arquivo em memória, somente leitura.
+     */
+    public static Latin1LineReader map(Path arquivo) throws IOException {
+        return new Latin1LineReader(mapear(arquivo), null);
+    }
+
+    /**
+     * Abre o upload para leitura por bytes. Uploads a partir de {@code limiteMapeamento} bytes são transferidos
+     * para um arquivo temporário e mapeados; os menores são lidos como array.
+     * A transferência usa {@link MultipartFile#transferTo(java.io.File)}, que no Servlet vira {@code Part.write}:
+     * o container renomeia o arquivo de spool em vez de copiá-lo, se ele já estiver em disco no mesmo sistema de
+     * arquivos. {@code transferTo(Path)} não serve, pois copia o conteúdo pelo InputStream.
+     * Depois de aberto, o conteúdo do MultipartFile não deve mais ser lido pelo InputStream.
+     * @param file upload
+     * @param limiteMapeamento tamanho mínimo para mapear em memória; negativo para nunca mapear
+     */
+    public static Latin1LineReader of(MultipartFile file, long limiteMapeamento) throws IOException {
+        if (limiteMapeamento < 0 || file.getSize() < limiteMapeamento) {
+            return of(file.getBytes());
+        }
+        Path tempFile = Files.createTempFile("extrato_", ".csv");
+        try {
+            file.transferTo(tempFile.toFile());
+            log.debug("Arquivo {} mapeado em memória ({} bytes)", file.getOriginalFilename(), file.getSize());
+            return new Latin1LineReader(mapear(tempFile), tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    private static ByteBuffer mapear(Path arquivo) throws IOException {
+        try (FileChannel channel = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo grande demais para mapeamento: " + size + " bytes");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Linhas do arquivo, na ordem, sem os terminadores (\n, \r ou \r\n), com a mesma
+     * semântica de {@link java.io.BufferedReader#lines()}.
+     */
+    public Stream<CharSequence> lines() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new LineIterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Divide o conteúdo em partes de aproximadamente {@code tamanhoAlvo} bytes, terminadas em quebra de linha
+     * fora de aspas, para parse em paralelo. As partes são visões do mesmo buffer (sem cópia) e são
+     * calculadas sob demanda, então a busca pelos limites acontece enquanto as partes anteriores são processadas.
+     * As linhas de todas as partes, na ordem, são as mesmas de {@link #lines()} após {@code linhasIgnoradas}.
+     * Fechar as partes não tem efeito; o arquivo temporário pertence a este leitor.
+     * @param linhasIgnoradas linhas iniciais descartadas (cabeçalho)
+     * @param tamanhoAlvo tamanho mínimo de cada parte, exceto a última
+     * @param aspas caractere de aspas do CSV
+     */
+    public Iterator<Latin1LineReader> split(long linhasIgnoradas, int tamanhoAlvo, char aspas) {
+        if (tamanhoAlvo < 1) {
+            throw new IllegalArgumentException("Tamanho das partes deve ser maior que zero: " + tamanhoAlvo);
+        }
+        return new PartIterator(linhasIgnoradas, tamanhoAlvo, (byte) aspas);
+    }
+
+    public int size() {
+        return buffer.limit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tempFile != null) {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private final class LineIterator implements Iterator<CharSequence> {
+        private int posicao = 0;
+
+        @Override
+        public boolean hasNext() {
+            return posicao < buffer.limit();
+        }
+
+        @Override
+        public CharSequence next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int inicio = posicao;
+            int limite = buffer.limit();
+            int fim = inicio;
+            while (fim < limite) {
+                byte b = buffer.get(fim);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                fim++;
+            }
+            posicao = fim + 1;
+            if (fim < limite && buffer.get(fim) == '\r' && posicao < limite && buffer.get(posicao) == '\n') {
+                posicao++;
+            }
+            return new Latin1CharSequence(buffer, inicio, fim - inicio);
+        }
+    }
+
+    private final class PartIterator implements Iterator<Latin1LineReader> {
+        private final int tamanhoAlvo;
+        private final byte aspas;
+        private int posicao;
+        private boolean entreAspas;
+
+        private PartIterator(long linhasIgnoradas, int tamanhoAlvo, byte aspas) {
+            this.tamanhoAlvo = tamanhoAlvo;
+            this.aspas = aspas;
+            LineIterator linhas = new LineIterator();
+            for (long i = 0; i < linhasIgnoradas && linhas.hasNext(); i++) {
+                linhas.next();
+            }
+            this.posicao = linhas.posicao;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return posicao < buffer.limit();
+        }
+
+        @Override
+        public Latin1LineReader next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int inicio = posicao;
+            int limite = buffer.limit();
+            int fim = limite;
+            for (int i = inicio; i < limite; i++) {
+                byte b = buffer.get(i);
+                if (b == aspas) {
+                    entreAspas = !entreAspas;
+                } else if ((b == '\n' || b == '\r') && !entreAspas && i + 1 - inicio >= tamanhoAlvo) {
+                    fim = i + 1;
+                    if (b == '\r' && fim < limite && buffer.get(fim) == '\n') {
+                        fim++;
+                    }
+                    break;
+                }
+            }
+            posicao = fim;
+            return new Latin1LineReader(buffer.slice(inicio, fim - inicio), null);
+        }
+    }
+}
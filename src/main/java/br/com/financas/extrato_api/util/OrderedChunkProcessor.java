@@ -0,0 +1,156 @@
+package br.com.financas.extrato_api.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Processa partes de um arquivo em paralelo em um executor dedicado, devolvendo os resultados na ordem das partes.
+ * No máximo {@code janela} partes ficam em andamento por chamada: a próxima parte só é enviada quando o
+ * consumidor retira a mais antiga, o que limita a memória e o uso do pool por upload.
+ * <p>
+ * Fechar o stream descarta as partes que ainda não começaram e espera as que já estão em execução: os
+ * recursos compartilhados com as partes (o documento do upload, por exemplo) só são liberados pelos
+ * onClose seguintes depois que nenhuma thread do pool os usa mais.
+ */
+public final class OrderedChunkProcessor {
+
+    private OrderedChunkProcessor() {
+    }
+
+    /**
+     * @param partes partes do arquivo, na ordem; o iterador é consumido apenas pela thread chamadora
+     * @param processamento processamento de uma parte, executado no executor
+     * @param executor pool dedicado ao parse
+     * @param janela máximo de partes em andamento
+     * @return stream sequencial com os resultados na ordem das partes; fechar o stream cancela as partes pendentes
+     * e espera as que estão em execução
+     */
+    public static <C, T> Stream<T> processar(Iterator<C> partes, Function<C, List<T>> processamento,
+                                             Executor executor, int janela) {
+        if (janela < 1) {
+            throw new IllegalArgumentException("Janela de partes deve ser maior que zero: " + janela);
+        }
+        Resultados<C, T> resultados = new Resultados<>(partes, processamento, executor, janela);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(resultados, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .flatMap(List::stream)
+                .onClose(resultados::cancelar);
+    }
+
+    private static final class Resultados<C, T> implements Iterator<List<T>> {
+        private final Iterator<C> partes;
+        private final Function<C, List<T>> processamento;
+        private final Executor executor;
+        private final int janela;
+        private final Deque<Parte<C, T>> emAndamento = new ArrayDeque<>();
+
+        private Resultados(Iterator<C> partes, Function<C, List<T>> processamento, Executor executor, int janela) {
+            this.partes = partes;
+            this.processamento = processamento;
+            this.executor = executor;
+            this.janela = janela;
+        }
+
+        private void preencher() {
+            while (emAndamento.size() < janela && partes.hasNext()) {
+                Parte<C, T> parte = new Parte<>(partes.next(), processamento);
+                emAndamento.addLast(parte);
+                executor.execute(parte);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            preencher();
+            return !emAndamento.isEmpty();
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return emAndamento.removeFirst().resultado.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+
+        private void cancelar() {
+            emAndamento.forEach(Parte::cancelar);
+            emAndamento.clear();
+        }
+    }
+
+    /**
+     * Processamento de uma parte no executor. Cancelar antes do início descarta a parte; depois do início,
+     * espera o processamento terminar
+     */
+    private static final class Parte<C, T> implements Runnable {
+        private static final int PENDENTE = 0;
+        private static final int EXECUTANDO = 1;
+        private static final int CANCELADA = 2;
+
+        private final C parte;
+        private final Function<C, List<T>> processamento;
+        private final AtomicInteger estado = new AtomicInteger(PENDENTE);
+        private final CompletableFuture<List<T>> resultado = new CompletableFuture<>();
+        private final CountDownLatch terminada = new CountDownLatch(1);
+
+        private Parte(C parte, Function<C, List<T>> processamento) {
+            this.parte = parte;
+            this.processamento = processamento;
+        }
+
+        @Override
+        public void run() {
+            if (!estado.compareAndSet(PENDENTE, EXECUTANDO)) {
+                return;
+            }
+            try {
+                resultado.complete(processamento.apply(parte));
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            } finally {
+                terminada.countDown();
+            }
+        }
+
+        private void cancelar() {
+            if (estado.compareAndSet(PENDENTE, CANCELADA)) {
+                resultado.cancel(false);
+                return;
+            }
+            boolean interrompida = false;
+            while (true) {
+                try {
+                    terminada.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.financas.extrato_api.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Cache de regex compiladas, para padrões vindos da configuração que são usados a cada requisição.
+ * A quantidade de padrões é limitada pela configuração, então o cache não tem expiração.
+ */
+public final class PatternCache {
+
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private PatternCache() {
+    }
+
+    public static Pattern compile(String regex) {
+        return PATTERNS.computeIfAbsent(regex, Pattern::compile);
+    }
+}
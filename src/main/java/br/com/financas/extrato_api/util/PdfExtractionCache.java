@@ -0,0 +1,207 @@
+package br.com.financas.extrato_api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em disco das linhas extraídas de PDFs, indexado pelo SHA-256 do conteúdo do arquivo
+ * ({@link HashConteudo}).
+ * <p>
+ * Cada entrada é um arquivo {@code <hash>.rows} com a versão do parser que a gravou; entradas de outra
+ * versão são tratadas como ausentes e sobrescritas. O tamanho total é limitado: ao passar do máximo,
+ * as entradas lidas ou gravadas há mais tempo (data de modificação) são removidas.
+ * <p>
+ * O cache é só uma otimização: erros de leitura e gravação são registrados em log e tratados como ausência.
+ * Seguro para uso concorrente; gravações usam arquivo temporário e move atômico.
+ */
+public final class PdfExtractionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfExtractionCache.class);
+
+    private static final int MAGIC = 0x45585452;
+    private static final String EXTENSAO = ".rows";
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final Path diretorio;
+    private final long tamanhoMaximo;
+    private final String versao;
+    private final AtomicLong tamanhoAtual = new AtomicLong();
+
+    /**
+     * @param diretorio diretório das entradas, criado se não existir
+     * @param tamanhoMaximo tamanho máximo em bytes de todas as entradas
+     * @param versao versão do parser gravada em cada entrada
+     */
+    public PdfExtractionCache(Path diretorio, long tamanhoMaximo, String versao) throws IOException {
+        this.diretorio = Files.createDirectories(diretorio);
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.versao = versao;
+        for (Path entrada : entradas()) {
+            tamanhoAtual.addAndGet(tamanhoArquivo(entrada));
+        }
+    }
+
+    /**
+     * @return as linhas gravadas para o hash, ou vazio se não houver entrada da versão atual
+     */
+    public Optional<List<String[]>> get(String hash) {
+        Path entrada = entrada(hash);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(entrada), TAMANHO_BUFFER))) {
+            if (in.readInt() != MAGIC || !versao.equals(in.readUTF())) {
+                return Optional.empty();
+            }
+            int total = in.readInt();
+            List<String[]> linhas = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                String[] campos = new String[in.readUnsignedByte()];
+                for (int c = 0; c < campos.length; c++) {
+                    campos[c] = in.readUTF();
+                }
+                linhas.add(campos);
+            }
+            // Marca a entrada como usada para a remoção por antiguidade
+            Files.setLastModifiedTime(entrada, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(linhas);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Entrada inválida no cache de extração {}: {}", entrada.getFileName(), e.getMessage());
+            remover(entrada);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Grava as linhas do arquivo com o hash informado, substituindo a entrada existente.
+     * Entradas maiores que o tamanho máximo do cache não são gravadas.
+     */
+    public void put(String hash, List<String[]> linhas) {
+        Path entrada = entrada(hash);
+        Path temporario = null;
+        try {
+            temporario = Files.createTempFile(diretorio, hash, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario), TAMANHO_BUFFER))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(versao);
+                out.writeInt(linhas.size());
+                for (String[] campos : linhas) {
+                    out.writeByte(campos.length);
+                    for (String campo : campos) {
+                        out.writeUTF(campo == null ? "" : campo);
+                    }
+                }
+            }
+            long tamanho = Files.size(temporario);
+            if (tamanho > tamanhoMaximo) {
+                return;
+            }
+            long anterior = tamanhoArquivo(entrada);
+            mover(temporario, entrada);
+            temporario = null;
+            if (tamanhoAtual.addAndGet(tamanho - anterior) > tamanhoMaximo) {
+                removerAntigas();
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o cache de extração {}: {}", entrada.getFileName(), e.getMessage());
+        } finally {
+            if (temporario != null) {
+                remover(temporario);
+            }
+        }
+    }
+
+    /**
+     * @return tamanho total das entradas em bytes
+     */
+    public long tamanho() {
+        return tamanhoAtual.get();
+    }
+
+    /**
+     * Remove as entradas usadas há mais tempo até o cache voltar ao tamanho máximo
+     */
+    private synchronized void removerAntigas() throws IOException {
+        if (tamanhoAtual.get() <= tamanhoMaximo) {
+            return;
+        }
+        List<Path> entradas = entradas();
+        entradas.sort(Comparator.comparing(PdfExtractionCache::modificacao));
+        for (Path entrada : entradas) {
+            if (tamanhoAtual.get() <= tamanhoMaximo) {
+                break;
+            }
+            long tamanho = tamanhoArquivo(entrada);
+            if (Files.deleteIfExists(entrada)) {
+                tamanhoAtual.addAndGet(-tamanho);
+                log.debug("Entrada {} removida do cache de extração", entrada.getFileName());
+            }
+        }
+    }
+
+    private List<Path> entradas() throws IOException {
+        List<Path> entradas = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+            arquivos.forEach(entradas::add);
+        }
+        return entradas;
+    }
+
+    private Path entrada(String hash) {
+        return diretorio.resolve(hash + EXTENSAO);
+    }
+
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static long tamanhoArquivo(Path arquivo) {
+        try {
+            return Files.size(arquivo);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime modificacao(Path arquivo) {
+        try {
+            return Files.getLastModifiedTime(arquivo);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private void remover(Path arquivo) {
+        try {
+            long tamanho = arquivo.toString().endsWith(EXTENSAO) ? tamanhoArquivo(arquivo) : 0;
+            if (Files.deleteIfExists(arquivo)) {
+                tamanhoAtual.addAndGet(-tamanho);
+            }
+        } catch (IOException e) {
+            log.debug("Não foi possível remover {}: {}", arquivo.getFileName(), e.getMessage());
+        }
+    }
+}
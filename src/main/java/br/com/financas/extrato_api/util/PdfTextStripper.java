@@ -1,15 +1,20 @@
 package br.com.financas.extrato_api.util;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import java.nio.file.Files;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Utilitário para extrair texto de PDFs de extratos bancários
@@ -110,6 +115,42 @@ public class PdfTextStripper {
         return pages;
     }
     
+    /**
+     * Extrai o texto página a página sob demanda, mantendo em memória apenas a página corrente.
+     * O documento continua sob responsabilidade do chamador e deve permanecer aberto enquanto o stream é consumido.
+     * @param document Documento PDF aberto
+     * @return Stream com o texto de cada página, em ordem
+     */
+    public static Stream<String> streamTextByPages(PDDocument document) throws IOException {
+        int totalPages = document.getNumberOfPages();
+        log.info("Extraindo texto sob demanda de {} páginas", totalPages);
+        return streamTextByPages(document, 1, totalPages);
+    }
+
+    /**
+     * Extrai sob demanda o texto das páginas de startPage a endPage, com um stripper próprio do stream.
+     * PDDocument não é thread-safe: streams de threads diferentes precisam de documentos diferentes.
+     * @param document Documento PDF aberto
+     * @param startPage Página inicial (1-based)
+     * @param endPage Página final (1-based, inclusiva)
+     * @return Stream com o texto de cada página, em ordem
+     */
+    public static Stream<String> streamTextByPages(PDDocument document, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        return IntStream.rangeClosed(startPage, endPage)
+                .mapToObj(page -> {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    try {
+                        String pageText = stripper.getText(document);
+                        log.debug("Página {} extraída: {} caracteres", page, pageText.length());
+                        return pageText;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Erro ao extrair texto da página " + page, e);
+                    }
+                });
+    }
+
     /**
      * Analisa a estrutura do PDF e identifica padrões
      * @param pdfFile Arquivo PDF
@@ -117,27 +158,57 @@ public class PdfTextStripper {
      * @throws IOException Se houver erro na leitura do arquivo
      */
     public static PdfStructureInfo analyzeStructure(File pdfFile) throws IOException {
-        log.info("Analisando estrutura do PDF: {}", pdfFile.getName());
-        
         try (PDDocument document = PDDocument.load(pdfFile)) {
-            int totalPages = document.getNumberOfPages();
-            log.info("PDF possui {} páginas", totalPages);
-            
-            // Extrair primeira página para análise
-            String firstPageText = extractTextFromPage(pdfFile, 1);
-            
-            PdfStructureInfo info = new PdfStructureInfo();
-            info.setTotalPages(totalPages);
-            info.setFirstPageText(firstPageText);
-            info.setFileName(pdfFile.getName());
-            
-            // Análise básica de padrões
-            analyzePatterns(info, firstPageText);
-            
-            return info;
+            return analyzeStructure(document, pdfFile.getName());
         }
     }
-    
+
+    /**
+     * Analisa a estrutura de um documento já aberto, sem carregá-lo novamente
+     * @param document Documento PDF aberto, que continua sob responsabilidade do chamador
+     * @param fileName Nome do arquivo, para identificação
+     * @return Informações sobre a estrutura do PDF
+     * @throws IOException Se houver erro na leitura do documento
+     */
+    public static PdfStructureInfo analyzeStructure(PDDocument document, String fileName) throws IOException {
+        log.info("Analisando estrutura do PDF: {}", fileName);
+
+        int totalPages = document.getNumberOfPages();
+        log.info("PDF possui {} páginas", totalPages);
+
+        // Extrair primeira página para análise
+        String firstPageText = totalPages > 0
+                ? streamTextByPages(document, 1, 1).findFirst().orElse("")
+                : "";
+
+        PdfStructureInfo info = new PdfStructureInfo();
+        info.setTotalPages(totalPages);
+        info.setFirstPageText(firstPageText);
+        info.setFileName(fileName);
+
+        // Análise básica de padrões
+        analyzePatterns(info, firstPageText);
+
+        return info;
+    }
+
+    /**
+     * Política de memória do PDFBox para carregar documentos sem arquivo temporário próprio
+     * @param maxMainMemory memória máxima por documento; null ou negativo para usar só memória
+     * @param scratchDir diretório dos arquivos de scratch; null ou vazio para java.io.tmpdir
+     * @return configuração para {@link PDDocument#load(java.io.InputStream, MemoryUsageSetting)}
+     */
+    public static MemoryUsageSetting memoryUsageSetting(DataSize maxMainMemory, String scratchDir) {
+        if (maxMainMemory == null || maxMainMemory.isNegative()) {
+            return MemoryUsageSetting.setupMainMemoryOnly();
+        }
+        MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(maxMainMemory.toBytes());
+        if (scratchDir != null && !scratchDir.isBlank()) {
+            setting.setTempDir(new File(scratchDir));
+        }
+        return setting;
+    }
+
     /**
      * Analisa padrões no texto extraído
      * @param info Informações da estrutura do PDF
@@ -0,0 +1,94 @@
+package br.com.financas.extrato_api.util;
+
+/**
+ * Tabela de internação de Strings limitada e concorrente, para os campos de texto repetitivos do extrato
+ * (lançamento, tipo, descrição). Valores iguais passam a compartilhar a mesma instância e, quando o texto
+ * é lido direto de um trecho da linha, a String nem chega a ser criada se já estiver na tabela.
+ * <p>
+ * A tabela é de mapeamento direto: cada valor ocupa uma posição calculada pelo hash e uma colisão
+ * substitui o valor anterior. O tamanho nunca cresce e não há locks; a corrida entre threads no máximo
+ * perde uma inserção, e String é imutável, então a publicação sem sincronização é segura.
+ */
+public final class StringDictionary {
+
+    private static final int CAPACIDADE_GLOBAL = 8192;
+    private static final int TAMANHO_MAXIMO_GLOBAL = 64;
+    private static final StringDictionary GLOBAL = new StringDictionary(CAPACIDADE_GLOBAL, TAMANHO_MAXIMO_GLOBAL);
+
+    private final String[] valores;
+    private final int mascara;
+    private final int tamanhoMaximo;
+
+    /**
+     * @param capacidade quantidade de posições, arredondada para potência de 2
+     * @param tamanhoMaximo textos maiores não são internados (tendem a ser únicos)
+     */
+    public StringDictionary(int capacidade, int tamanhoMaximo) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser maior que zero: " + capacidade);
+        }
+        int tamanho = Integer.highestOneBit(capacidade - 1) << 1;
+        this.valores = new String[Math.max(tamanho, 1)];
+        this.mascara = valores.length - 1;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Dicionário compartilhado pela aplicação, para valores que se repetem entre uploads.
+     */
+    public static StringDictionary global() {
+        return GLOBAL;
+    }
+
+    public String intern(String valor) {
+        if (valor == null || valor.length() > tamanhoMaximo) {
+            return valor;
+        }
+        int posicao = posicao(valor, 0, valor.length());
+        String atual = valores[posicao];
+        if (valor.equals(atual)) {
+            return atual;
+        }
+        valores[posicao] = valor;
+        return valor;
+    }
+
+    /**
+     * Interna o trecho [inicio, fim) do texto, criando a String apenas se ela ainda não estiver na tabela.
+     */
+    public String intern(CharSequence texto, int inicio, int fim) {
+        int tamanho = fim - inicio;
+        if (tamanho > tamanhoMaximo) {
+            return texto.subSequence(inicio, fim).toString();
+        }
+        int posicao = posicao(texto, inicio, fim);
+        String atual = valores[posicao];
+        if (atual != null && igual(atual, texto, inicio, tamanho)) {
+            return atual;
+        }
+        String valor = texto.subSequence(inicio, fim).toString();
+        valores[posicao] = valor;
+        return valor;
+    }
+
+    private int posicao(CharSequence texto, int inicio, int fim) {
+        // Mesmo cálculo de String.hashCode, para qualquer CharSequence
+        int h = 0;
+        for (int i = inicio; i < fim; i++) {
+            h = 31 * h + texto.charAt(i);
+        }
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    private static boolean igual(String valor, CharSequence texto, int inicio, int tamanho) {
+        if (valor.length() != tamanho) {
+            return false;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (valor.charAt(i) != texto.charAt(inicio + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.financas.extrato_api.util;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Impressão digital de 64 bits de uma transação: XXH64 (semente 0) sobre os campos normalizados
+ * banco, data, valor, número do documento e lançamento.
+ * <p>
+ * A normalização deixa o resultado estável entre reprocessamentos do mesmo extrato: a data entra como dia
+ * da época, o valor na escala da coluna (4 casas), e os textos sem espaços nas pontas, com espaços
+ * repetidos reduzidos a um e em maiúsculas. Número do documento nulo e vazio são equivalentes.
+ * <p>
+ * O valor é persistido em {@code transacoes.fingerprint} e é a chave de deduplicação das gravações.
+ */
+public final class TransacaoFingerprint {
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    /** Escala da coluna transacoes.valor */
+    private static final int ESCALA_VALOR = 4;
+    /** Separador entre os campos de texto, que não aparece em texto normalizado */
+    private static final int SEPARADOR = 0x1F;
+
+    private TransacaoFingerprint() {
+    }
+
+    /**
+     * @return a impressão digital dos campos; campos nulos entram como vazios
+     */
+    public static long calcular(String banco, LocalDate data, BigDecimal valor, String numeroDocumento, String lancamento) {
+        ByteArrayOutputStream campos = new ByteArrayOutputStream(128);
+        escreverLong(campos, data == null ? 0 : data.toEpochDay());
+        escreverLong(campos, valor == null ? 0
+                : valor.setScale(ESCALA_VALOR, RoundingMode.HALF_UP).unscaledValue().longValue());
+        escreverTexto(campos, banco);
+        escreverTexto(campos, numeroDocumento);
+        escreverTexto(campos, lancamento);
+        return xxh64(campos.toByteArray());
+    }
+
+    /**
+     * Texto sem espaços nas pontas, com espaços repetidos reduzidos a um e em maiúsculas
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder normalizado = new StringBuilder(texto.length());
+        boolean espaco = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                espaco = !normalizado.isEmpty();
+            } else {
+                if (espaco) {
+                    normalizado.append(' ');
+                    espaco = false;
+                }
+                normalizado.append(c);
+            }
+        }
+        return normalizado.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private static void escreverLong(ByteArrayOutputStream out, long valor) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            out.write((int) (valor >>> (i * 8)));
+        }
+    }
+
+    private static void escreverTexto(ByteArrayOutputStream out, String texto) {
+        out.writeBytes(normalizar(texto).getBytes(StandardCharsets.UTF_8));
+        out.write(SEPARADOR);
+    }
+
+    /**
+     * @return XXH64 (semente 0) dos bytes
+     */
+    public static long xxh64(byte[] dados) {
+        int tamanho = dados.length;
+        int i = 0;
+        long hash;
+        if (tamanho >= 32) {
+            long v1 = PRIME64_1 + PRIME64_2;
+            long v2 = PRIME64_2;
+            long v3 = 0;
+            long v4 = -PRIME64_1;
+            for (int limite = tamanho - 32; i <= limite; i += 32) {
+                v1 = rodada(v1, lerLong(dados, i));
+                v2 = rodada(v2, lerLong(dados, i + 8));
+                v3 = rodada(v3, lerLong(dados, i + 16));
+                v4 = rodada(v4, lerLong(dados, i + 24));
+            }
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = misturar(hash, v1);
+            hash = misturar(hash, v2);
+            hash = misturar(hash, v3);
+            hash = misturar(hash, v4);
+        } else {
+            hash = PRIME64_5;
+        }
+        hash += tamanho;
+
+        for (; i + 8 <= tamanho; i += 8) {
+            hash ^= rodada(0, lerLong(dados, i));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+        }
+        if (i + 4 <= tamanho) {
+            hash ^= (lerInt(dados, i) & 0xFFFFFFFFL) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            i += 4;
+        }
+        for (; i < tamanho; i++) {
+            hash ^= (dados[i] & 0xFFL) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long rodada(long acumulador, long entrada) {
+        acumulador += entrada * PRIME64_2;
+        acumulador = Long.rotateLeft(acumulador, 31);
+        return acumulador * PRIME64_1;
+    }
+
+    private static long misturar(long hash, long acumulador) {
+        hash ^= rodada(0, acumulador);
+        return hash * PRIME64_1 + PRIME64_4;
+    }
+
+    private static long lerLong(byte[] dados, int i) {
+        return (dados[i] & 0xFFL)
+                | (dados[i + 1] & 0xFFL) << 8
+                | (dados[i + 2] & 0xFFL) << 16
+                | (dados[i + 3] & 0xFFL) << 24
+                | (dados[i + 4] & 0xFFL) << 32
+                | (dados[i + 5] & 0xFFL) << 40
+                | (dados[i + 6] & 0xFFL) << 48
+                | (dados[i + 7] & 0xFFL) << 56;
+    }
+
+    private static int lerInt(byte[] dados, int i) {
+        return (dados[i] & 0xFF)
+                | (dados[i + 1] & 0xFF) << 8
+                | (dados[i + 2] & 0xFF) << 16
+                | (dados[i + 3] & 0xFF) << 24;
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.financas.extrato_api.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Geração de massa de dados para os benchmarks, no mesmo layout de test-data/extrato-performance.csv.
+ */
+final class BenchmarkData {
+
+    static final String CABECALHO_BB = "\"Data\",\"Lançamento\",\"Detalhes\",\"Nº documento\",\"Valor\",\"Tipo Lançamento\"";
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Gera linhas de extrato do Banco do Brasil (sem cabeçalho).
+     * @param quantidade número de linhas
+     * @param detalhesLength tamanho aproximado do campo Detalhes
+     */
+    static String[] linhasBancoDoBrasil(int quantidade, int detalhesLength) {
+        String[] linhas = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            linhas[i] = linhaBancoDoBrasil(i, detalhesLength);
+        }
+        return linhas;
+    }
+
+    /**
+     * Gera o conteúdo de um arquivo CSV do Banco do Brasil completo (com cabeçalho) em ISO-8859-1.
+     */
+    static byte[] arquivoBancoDoBrasil(int quantidade, int detalhesLength) {
+        StringBuilder sb = new StringBuilder(quantidade * (detalhesLength + 80));
+        sb.append(CABECALHO_BB).append('\n');
+        for (int i = 0; i < quantidade; i++) {
+            sb.append(linhaBancoDoBrasil(i, detalhesLength)).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static String linhaBancoDoBrasil(int i, int detalhesLength) {
+        LocalDate data = LocalDate.of(2020, 1, 1).plusDays(i / 40);
+        StringBuilder detalhes = new StringBuilder("Compra com Cartão ").append(i);
+        while (detalhes.length() < detalhesLength) {
+            detalhes.append(" LOJA ").append(i % 97);
+        }
+        boolean saida = i % 3 != 0;
+        String valor = (saida ? "-" : "") + (1 + i % 4_000) + "," + String.format("%02d", i % 100);
+        return "\"" + data.format(FORMATO_DATA) + "\","
+                + "\"Compra " + (i % 50) + "\","
+                + "\"" + detalhes + "\","
+                + "\"" + (100_000 + i) + "\","
+                + "\"" + valor + "\","
+                + "\"" + (saida ? "Saída" : "Entrada") + "\"";
+    }
+
+    /**
+     * Gera um extrato PDF no layout do Itaú: cabeçalho, linhas de saldo do dia e lançamentos
+     * (parte deles com valor e saldo na mesma linha).
+     * @param paginas número de páginas
+     * @param linhasPorPagina lançamentos por página
+     * @param descricaoLength tamanho aproximado da descrição
+     */
+    static byte[] pdfItau(int paginas, int linhasPorPagina, int descricaoLength) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream saida = new ByteArrayOutputStream()) {
+            int i = 0;
+            for (int pagina = 0; pagina < paginas; pagina++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream conteudo = new PDPageContentStream(document, page)) {
+                    conteudo.beginText();
+                    conteudo.setFont(PDType1Font.HELVETICA, 6);
+                    conteudo.setLeading(7);
+                    conteudo.newLineAtOffset(20, 770);
+                    conteudo.showText("extrato conta corrente - agência: 1234 conta: 56789-0");
+                    conteudo.newLine();
+                    conteudo.showText("data lançamentos valor (R$) saldo (R$)");
+                    conteudo.newLine();
+                    for (int linha = 0; linha < linhasPorPagina; linha++, i++) {
+                        conteudo.showText(linhaItau(i, descricaoLength));
+                        conteudo.newLine();
+                        if (i % 10 == 9) {
+                            conteudo.showText(linhaItau(i, 0).substring(0, 11) + "SALDO DO DIA 2.178,23");
+                            conteudo.newLine();
+                        }
+                    }
+                    conteudo.endText();
+                }
+            }
+            document.save(saida);
+            return saida.toByteArray();
+        }
+    }
+
+    static String linhaItau(int i, int descricaoLength) {
+        LocalDate data = LocalDate.of(2025, 1, 1).plusDays(i / 20);
+        StringBuilder descricao = new StringBuilder("PIX TRANSF ").append(i % 500);
+        while (descricao.length() < descricaoLength) {
+            descricao.append(" MERCADO ").append(i % 97);
+        }
+        String valor = (i % 3 != 0 ? "-" : "") + (1 + i % 900) + "," + String.format("%02d", i % 100);
+        String saldo = i % 4 == 0 ? "  " + (1 + i % 9) + "." + String.format("%03d", i % 1000) + ",00" : "";
+        return data.format(FORMATO_DATA) + " " + descricao + "  " + valor + saldo;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.util.CsvTokenizer;
+import br.com.financas.extrato_api.util.Latin1LineReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a leitura de um CSV de ~10MB via InputStreamReader(ISO_8859_1) com a leitura direta dos bytes
+ * ({@link Latin1LineReader}), ambas tokenizando com o {@link CsvTokenizer}.
+ * Rodar com {@code -prof gc} para comparar a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvLeituraBenchmark {
+
+    private static final int LINHAS = 60_000;
+
+    private byte[] arquivo;
+    private final CsvTokenizer tokenizer = new CsvTokenizer(',', '"');
+
+    @Setup
+    public void setUp() {
+        arquivo = BenchmarkData.arquivoBancoDoBrasil(LINHAS, 64);
+    }
+
+    @Benchmark
+    public void inputStreamReader(Blackhole bh) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(arquivo), StandardCharsets.ISO_8859_1))) {
+            reader.lines().skip(1).forEach(linha -> bh.consume(tokenizer.tokenize(linha).toArray()));
+        }
+    }
+
+    @Benchmark
+    public void leituraBytes(Blackhole bh) throws IOException {
+        try (Latin1LineReader leitor = Latin1LineReader.of(arquivo)) {
+            leitor.lines().skip(1).forEach(linha -> bh.consume(tokenizer.tokenize(linha).toArray()));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvLeituraBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
+import br.com.financas.extrato_api.model.parser.CsvConfig;
+import br.com.financas.extrato_api.parser.BancoDoBrasilParser;
+import br.com.financas.extrato_api.parser.ParserExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse completo de um CSV do BB com 1M de linhas (~110MB) variando as threads do {@link ParserExecutor}.
+ * {@code threads = 1} equivale à leitura sequencial em partes; a partir de 2 mede o ganho do parse paralelo.
+ * O resultado só é significativo em máquinas com pelo menos 8 núcleos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CsvParaleloBenchmark {
+
+    private static final int LINHAS = 1_000_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private MockMultipartFile arquivo;
+    private BancoDoBrasilParser parser;
+    private ParserExecutor parserExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        arquivo = new MockMultipartFile("file", "extrato_bb.csv", "text/csv",
+                BenchmarkData.arquivoBancoDoBrasil(LINHAS, 32));
+
+        CsvConfig csv = new CsvConfig();
+        csv.setDelimiter(',');
+        csv.setQuote('"');
+        csv.setDateFormat("dd/MM/yyyy");
+        csv.setSkipLine(1);
+        csv.setPais("BR");
+        csv.setIdioma("pt");
+        csv.setByteReading(true);
+        BancoDoBrasilParserConfig config = new BancoDoBrasilParserConfig();
+        config.setName("Banco do Brasil");
+        config.setFilePatterns(List.of(".*bb.*\\.csv$"));
+        config.setSupportedExtensions(List.of(".csv"));
+        config.setCsv(csv);
+
+        ParserGeneralConfig generalConfig = new ParserGeneralConfig();
+        generalConfig.setThreads(threads);
+        generalConfig.setParallelismPerUpload(threads);
+        generalConfig.setChunkSize(DataSize.ofMegabytes(1));
+        parserExecutor = new ParserExecutor(generalConfig);
+        parser = new BancoDoBrasilParser(config, null, generalConfig, parserExecutor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parserExecutor.destroy();
+    }
+
+    @Benchmark
+    public int parse() {
+        return parser.parse(arquivo).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvParaleloBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
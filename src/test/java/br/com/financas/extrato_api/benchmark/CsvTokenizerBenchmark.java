@@ -0,0 +1,71 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.util.CsvTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o split por regex usado originalmente no BancoDoBrasilParser (com cleanField em cada campo)
+ * com o {@link CsvTokenizer}, sobre linhas no formato de extrato-performance.csv.
+ * O parâmetro detalhesLength simula exportações com descrições longas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvTokenizerBenchmark {
+
+    private static final String SEPARATOR_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
+    private static final int LINHAS = 1_000;
+
+    @Param({"32", "256"})
+    public int detalhesLength;
+
+    private String[] linhas;
+    private final CsvTokenizer tokenizer = new CsvTokenizer(',', '"');
+
+    @Setup
+    public void setUp() {
+        linhas = BenchmarkData.linhasBancoDoBrasil(LINHAS, detalhesLength);
+    }
+
+    @Benchmark
+    public void regexSplit(Blackhole bh) {
+        for (String linha : linhas) {
+            String[] campos = linha.split(SEPARATOR_REGEX, -1);
+            for (String campo : campos) {
+                bh.consume(campo.replace("\"", "").trim());
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole bh) {
+        for (String linha : linhas) {
+            bh.consume(tokenizer.tokenize(linha).toArray());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvTokenizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
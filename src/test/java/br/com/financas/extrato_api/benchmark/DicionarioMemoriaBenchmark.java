@@ -0,0 +1,67 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.parser.CsvConfig;
+import br.com.financas.extrato_api.parser.BancoDoBrasilParser;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+
+/**
+ * Mede a memória retida pelas transações parseadas de um CSV do BB com e sem o dicionário de Strings
+ * ({@code parser.general.intern-strings}). Não é um benchmark JMH: mede o heap ocupado após GC, não tempo.
+ * <pre>
+ * java -Xmx2g -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     br.com.financas.extrato_api.benchmark.DicionarioMemoriaBenchmark
+ * </pre>
+ */
+public class DicionarioMemoriaBenchmark {
+
+    private static final int LINHAS = 500_000;
+
+    public static void main(String[] args) throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("file", "extrato_bb.csv", "text/csv",
+                BenchmarkData.arquivoBancoDoBrasil(LINHAS, 32));
+
+        for (boolean internar : new boolean[]{false, true, false, true}) {
+            BancoDoBrasilParser parser = criarParser(internar);
+            long antes = heapUsado();
+            List<Transacao> transacoes = parser.parse(arquivo);
+            long depois = heapUsado();
+            System.out.printf("intern-strings=%-5s %,d transações, %,d KB retidos (%d bytes/transação)%n",
+                    internar, transacoes.size(), (depois - antes) / 1024, (depois - antes) / transacoes.size());
+        }
+    }
+
+    private static BancoDoBrasilParser criarParser(boolean internar) {
+        CsvConfig csv = new CsvConfig();
+        csv.setDelimiter(',');
+        csv.setQuote('"');
+        csv.setDateFormat("dd/MM/yyyy");
+        csv.setSkipLine(1);
+        csv.setPais("BR");
+        csv.setIdioma("pt");
+        csv.setByteReading(true);
+        BancoDoBrasilParserConfig config = new BancoDoBrasilParserConfig();
+        config.setName("Banco do Brasil");
+        config.setFilePatterns(List.of(".*bb.*\\.csv$"));
+        config.setSupportedExtensions(List.of(".csv"));
+        config.setCsv(csv);
+
+        ParserGeneralConfig generalConfig = new ParserGeneralConfig();
+        generalConfig.setParallelProcessing(false);
+        generalConfig.setInternStrings(internar);
+        return new BancoDoBrasilParser(config, null, generalConfig, null);
+    }
+
+    private static long heapUsado() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
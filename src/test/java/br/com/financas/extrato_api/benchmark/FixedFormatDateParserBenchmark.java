@@ -0,0 +1,80 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.util.FixedFormatDateParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a validação de data original do BBValidation (regex + DateTimeFormatter criado a cada linha)
+ * e o DateTimeFormatter reaproveitado com o {@link FixedFormatDateParser}. Usar com {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedFormatDateParserBenchmark {
+
+    private static final String PATTERN = "dd/MM/yyyy";
+    private static final String DATE_REGEX = "^\\d{2}/\\d{2}/\\d{4}$";
+    private static final int LINHAS = 1_000;
+
+    private String[] datas;
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PATTERN);
+    private final FixedFormatDateParser dateParser = FixedFormatDateParser.of(PATTERN);
+
+    @Setup
+    public void setUp() {
+        datas = new String[LINHAS];
+        for (int i = 0; i < LINHAS; i++) {
+            // Mesma distribuição do extrato gerado: ~40 lançamentos por dia
+            datas[i] = LocalDate.of(2020, 1, 1).plusDays(i / 40).format(formatter);
+        }
+    }
+
+    @Benchmark
+    public void regexEFormatterPorLinha(Blackhole bh) {
+        for (String data : datas) {
+            if (data.matches(DATE_REGEX)) {
+                bh.consume(LocalDate.parse(data, DateTimeFormatter.ofPattern(PATTERN)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatterCompartilhado(Blackhole bh) {
+        for (String data : datas) {
+            bh.consume(LocalDate.parse(data, formatter));
+        }
+    }
+
+    @Benchmark
+    public void fixedFormat(Blackhole bh) {
+        for (String data : datas) {
+            bh.consume(dateParser.parse(data));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FixedFormatDateParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.util.ItauLineClassifier;
+import br.com.financas.extrato_api.util.PdfTextStripper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Compara a classificação original das linhas do PDF do Itaú (toLowerCase + transaction-regex duas vezes +
+ * {@code \d+} compilada por linha) com o {@link ItauLineClassifier}, sobre o texto extraído de um PDF gerado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItauLineClassifierBenchmark {
+
+    // Mesmas regex do application.yml
+    private static final String TRANSACTION_REGEX = "(\\d{2}/\\d{2}/\\d{4})\\s+(.+?)\\s+([+-]?\\d{1,3}(?:\\.\\d{3})*(?:,\\d{2})?)(?:\\s+([+-]?\\d{1,3}(?:\\.\\d{3})*(?:,\\d{2})?))?\\s*$";
+    private static final String HEADER_REGEX = ".*agência:.*|.*conta:.*|.*saldo em conta.*|.*Limite da Conta.*|.*extrato conta.*|.*período de visualização.*|.*data lançamentos valor.*|.*extrato.*conta.*corrente.*|.*banco.*itau.*|.*itau.*banco.*";
+
+    @Param({"20", "120"})
+    public int descricaoLength;
+
+    private String[] linhas;
+    private final Pattern transactionPattern = Pattern.compile(TRANSACTION_REGEX);
+    private final ItauLineClassifier classifier = new ItauLineClassifier(HEADER_REGEX);
+
+    @Setup
+    public void setUp() throws IOException {
+        try (PDDocument document = PDDocument.load(BenchmarkData.pdfItau(4, 100, descricaoLength));
+             Stream<String> paginas = PdfTextStripper.streamTextByPages(document)) {
+            linhas = paginas.flatMap(String::lines).map(String::trim).filter(linha -> !linha.isEmpty())
+                    .toArray(String[]::new);
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (String linha : linhas) {
+            if (linha.toLowerCase().contains("saldo") || !transactionPattern.matcher(linha).find()) {
+                continue;
+            }
+            Matcher matcher = transactionPattern.matcher(linha);
+            if (matcher.find()) {
+                String descricao = matcher.group(2).trim();
+                bh.consume(matcher.group(1));
+                bh.consume(matcher.group(4) != null ? matcher.group(4) : matcher.group(3));
+                Matcher numero = Pattern.compile("\\d+").matcher(descricao);
+                bh.consume(numero.find() ? numero.group() : String.valueOf(descricao.hashCode()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void classificador(Blackhole bh) {
+        for (String linha : linhas) {
+            String[] campos = classifier.classificar(linha);
+            if (campos != null) {
+                bh.consume(campos);
+                bh.consume(primeiroNumero(campos[1]));
+            }
+        }
+    }
+
+    private static String primeiroNumero(String descricao) {
+        int inicio = 0;
+        while (inicio < descricao.length() && !isDigito(descricao.charAt(inicio))) {
+            inicio++;
+        }
+        int fim = inicio;
+        while (fim < descricao.length() && isDigito(descricao.charAt(fim))) {
+            fim++;
+        }
+        return inicio == fim ? String.valueOf(descricao.hashCode()) : descricao.substring(inicio, fim);
+    }
+
+    private static boolean isDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItauLineClassifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.financas.extrato_api.benchmark;
+
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linhas/s gravadas em transacoes: INSERT por linha lendo o id gerado (o que o Hibernate faz com
+ * {@code GenerationType.IDENTITY} no saveAll) vs lote JDBC do {@link TransacaoBatchRepository}.
+ * Cada operação é uma linha; cada invocação grava um lote de {@link #LOTE} linhas em uma transação.
+ * <p>
+ * Usa H2 em memória por padrão. Para MySQL:
+ * {@code -p url=jdbc:mysql://localhost:3306/financas_db?rewriteBatchedStatements=true -p usuario=appuser -p senha=apppassword}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(TransacaoInsercaoBenchmark.LOTE)
+public class TransacaoInsercaoBenchmark {
+
+    static final int LOTE = 1_000;
+
+    private static final String INSERT = "INSERT INTO transacoes "
+            + "(data, lancamento, detalhes, numero_documento, valor, moeda, tipo_lancamento, categoria, banco, "
+            + "upload_arquivo_id, fingerprint) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String usuario;
+
+    @Param("")
+    public String senha;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TransacaoBatchRepository batchRepository;
+    private long sequencia;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(url, usuario, senha, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        batchRepository = new TransacaoBatchRepository(jdbcTemplate);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transacoes");
+        jdbcTemplate.execute("CREATE TABLE transacoes ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, data DATE NOT NULL, lancamento VARCHAR(255) NOT NULL, "
+                + "detalhes VARCHAR(255), numero_documento VARCHAR(255), valor DECIMAL(10,4) NOT NULL, "
+                + "moeda VARCHAR(3) NOT NULL, tipo_lancamento VARCHAR(255), categoria VARCHAR(255) NOT NULL, "
+                + "banco VARCHAR(255) NOT NULL, upload_arquivo_id BIGINT, fingerprint BIGINT NOT NULL, "
+                + "CONSTRAINT uk_transacao_fingerprint UNIQUE (fingerprint))");
+        jdbcTemplate.execute("CREATE INDEX idx_transacao_banco_data ON transacoes (banco, data DESC, id)");
+    }
+
+    @Setup(Level.Iteration)
+    public void limpar() {
+        jdbcTemplate.execute("DELETE FROM transacoes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transacoes");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int identidadePorLinha() {
+        List<Transacao> lote = lote();
+        return transactionTemplate.execute(status -> {
+            int inseridas = 0;
+            for (Transacao transacao : lote) {
+                GeneratedKeyHolder id = new GeneratedKeyHolder();
+                inseridas += jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS);
+                    preencher(ps, transacao);
+                    return ps;
+                }, id);
+            }
+            return inseridas;
+        });
+    }
+
+    @Benchmark
+    public int loteJdbc() {
+        List<Transacao> lote = lote();
+        return transactionTemplate.execute(status -> batchRepository.inserirEmLote(lote));
+    }
+
+    private List<Transacao> lote() {
+        List<Transacao> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < LOTE; i++) {
+            long n = sequencia++;
+            lote.add(Transacao.builder()
+                    .data(LocalDate.of(2020, 1, 1).plusDays(n % 3_650))
+                    .lancamento("Compra " + (n % 50))
+                    .detalhes("Compra com Cartão " + n)
+                    .numeroDocumento(Long.toString(n))
+                    .valor(BigDecimal.valueOf(-(1 + n % 4_000), 2))
+                    .moeda("BRL")
+                    .tipoLancamento("Saída")
+                    .categoria("PENDENTE")
+                    .banco("Banco do Brasil")
+                    .build()
+                    .comFingerprint());
+        }
+        return lote;
+    }
+
+    private static void preencher(PreparedStatement ps, Transacao transacao) throws SQLException {
+        ps.setDate(1, Date.valueOf(transacao.getData()));
+        ps.setString(2, transacao.getLancamento());
+        ps.setString(3, transacao.getDetalhes());
+        ps.setString(4, transacao.getNumeroDocumento());
+        ps.setBigDecimal(5, transacao.getValor());
+        ps.setString(6, transacao.getMoeda());
+        ps.setString(7, transacao.getTipoLancamento());
+        ps.setString(8, transacao.getCategoria());
+        ps.setString(9, transacao.getBanco());
+        ps.setNull(10, Types.BIGINT);
+        ps.setLong(11, transacao.getFingerprint());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransacaoInsercaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,20 +1,32 @@
 package br.com.financas.extrato_api.controller;
 
 import br.com.financas.extrato_api.exception.ExtratoExceptionControllerAdvice;
-import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
+import br.com.financas.extrato_api.model.dto.TransacaoDTO;
+import br.com.financas.extrato_api.model.dto.TransacaoLinhaDTO;
 import br.com.financas.extrato_api.model.dto.TransacaoRepresentationAssembler;
+import br.com.financas.extrato_api.exception.FormatoArquivoInvalidoException;
+import br.com.financas.extrato_api.parser.ArquivoExtratoDetectado;
+import br.com.financas.extrato_api.parser.ExtratoDetector;
+import br.com.financas.extrato_api.service.ConsultaExtratoService;
 import br.com.financas.extrato_api.service.ExtratoService;
 import br.com.financas.extrato_api.service.ExtratoServiceLocator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.hateoas.Link;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
@@ -41,6 +53,17 @@ class ExtratoControllerTest {
     @Mock
     private TransacaoRepresentationAssembler transacaoAssembler;
 
+    @Mock
+    private ExtratoDetector extratoDetector;
+
+    @Mock
+    private ConsultaExtratoService consultaExtrato;
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
     @InjectMocks
     private ExtratoSyncController financasController;
 
@@ -120,8 +143,8 @@ class ExtratoControllerTest {
     @DisplayName("Deve visualizar extrato com transações")
     void deveVisualizarExtratoComTransacoes() throws Exception {
         // Given
-        List<Transacao> transacoes = Arrays.asList(
-            Transacao.builder()
+        List<TransacaoDTO> transacoes = Arrays.asList(
+            TransacaoDTO.builder()
                 .id(1L)
                 .data(LocalDate.of(2024, 1, 15))
                 .lancamento("SAQUE")
@@ -131,7 +154,7 @@ class ExtratoControllerTest {
                 .tipoLancamento("SAQUE")
                 .categoria("PENDENTE")
                 .build(),
-            Transacao.builder()
+            TransacaoDTO.builder()
                 .id(2L)
                 .data(LocalDate.of(2024, 1, 16))
                 .lancamento("DEPOSITO")
@@ -143,9 +166,9 @@ class ExtratoControllerTest {
                 .build()
         );
 
-        when(serviceLocator.getService("banco-do-brasil")).thenReturn(extratoService);
-        when(extratoService.getExtrato()).thenReturn(transacoes);
-        when(transacaoAssembler.toCollectionModel(transacoes)).thenReturn(org.springframework.hateoas.CollectionModel.empty());
+        when(consultaExtrato.pagina(null, null, null, null, null))
+                .thenReturn(new ConsultaExtratoService.Pagina(transacoes, null));
+        when(transacaoAssembler.toCollectionModelDeDtos(eq(transacoes), any())).thenReturn(org.springframework.hateoas.CollectionModel.empty());
 
         // When & Then
         mockMvc.perform(get("/financas/visualisar-extrato"))
@@ -154,7 +177,80 @@ class ExtratoControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(0)))
                 .andExpect(jsonPath("$.links").exists());
 
-        verify(extratoService, times(1)).getExtrato();
+        verify(consultaExtrato, times(1)).pagina(null, null, null, null, null);
+        verify(extratoService, never()).getExtrato();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar o extrato por banco e período, com os filtros no self e o cursor no next")
+    void deveFiltrarExtratoEApontarProximaPagina() throws Exception {
+        // Given
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        LocalDate fim = LocalDate.of(2024, 1, 31);
+        CursorExtrato proximo = new CursorExtrato(LocalDate.of(2024, 1, 15), 42L);
+        when(serviceLocator.getService("itau")).thenReturn(extratoService);
+        when(extratoService.getExtratoPaginado(inicio, fim, null, 50))
+                .thenReturn(new ConsultaExtratoService.Pagina(List.of(), proximo));
+        when(transacaoAssembler.toCollectionModelDeDtos(eq(List.of()), any())).thenAnswer(invocacao ->
+                org.springframework.hateoas.CollectionModel.of(List.<TransacaoDTO>of(), invocacao.<Link>getArgument(1)));
+
+        // When & Then
+        mockMvc.perform(get("/financas/visualisar-extrato")
+                        .param("banco", "itau")
+                        .param("dataInicio", "2024-01-01")
+                        .param("dataFim", "2024-01-31")
+                        .param("limite", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[?(@.rel == 'self')].href", contains(allOf(
+                        containsString("banco=itau"), containsString("dataInicio=2024-01-01"),
+                        containsString("dataFim=2024-01-31"), containsString("limite=50")))))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')].href",
+                        contains(containsString("cursor=" + proximo.codificar()))));
+    }
+
+    @Test
+    @DisplayName("Deve escrever o extrato em stream sem links nas transações, com um único self no envelope")
+    void deveEscreverStreamSemLinksPorTransacao() throws Exception {
+        // Given
+        when(serviceLocator.getService("itau")).thenReturn(extratoService);
+        when(extratoService.getBankName()).thenReturn("Itaú");
+        when(consultaExtrato.percorrer(eq("Itaú"), eq(LocalDate.of(2024, 1, 1)), isNull(), any())).thenAnswer(invocacao -> {
+            java.util.function.Consumer<TransacaoLinhaDTO> consumidor = invocacao.getArgument(3);
+            consumidor.accept(new TransacaoLinhaDTO(2L, LocalDate.of(2024, 1, 16), "PIX", "PIX 2", "2",
+                    new BigDecimal("-10.00"), "Saída", "PENDENTE", "Itaú"));
+            consumidor.accept(new TransacaoLinhaDTO(1L, LocalDate.of(2024, 1, 15), "PIX", "PIX 1", "1",
+                    new BigDecimal("500.00"), "Entrada", "PENDENTE", "Itaú"));
+            return 2;
+        });
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/financas/visualisar-extrato")
+                        .param("stream", "true")
+                        .param("banco", "itau")
+                        .param("dataInicio", "2024-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(jsonPath("$.content[0].data").value("2024-01-16"))
+                .andExpect(jsonPath("$.content[*].links").doesNotExist())
+                .andExpect(jsonPath("$.links", hasSize(1)))
+                .andExpect(jsonPath("$.links[0].rel").value("self"))
+                .andExpect(jsonPath("$.links[0].href", allOf(containsString("stream=true"),
+                        containsString("banco=itau"), containsString("dataInicio=2024-01-01"))));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor de paginação inválido")
+    void deveRejeitarCursorInvalido() throws Exception {
+        mockMvc.perform(get("/financas/visualisar-extrato").param("cursor", "não é cursor"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(consultaExtrato);
     }
 
     @Test
@@ -206,4 +302,51 @@ class ExtratoControllerTest {
                 .file(arquivoTexto))
                 .andExpect(status().isUnsupportedMediaType());
     }
+
+    @Test
+    @DisplayName("Deve carregar extrato detectando o banco pelo conteúdo")
+    void deveCarregarExtratoDetectandoBanco() throws Exception {
+        // Given
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "file",
+            "download.csv",
+            "text/csv",
+            "\"Data\",\"Lançamento\",\"Detalhes\"".getBytes()
+        );
+        ArquivoExtratoDetectado detectado = mock(ArquivoExtratoDetectado.class);
+        when(detectado.getBanco()).thenReturn("banco-do-brasil");
+        when(extratoDetector.detectar(any())).thenReturn(detectado);
+        when(serviceLocator.getService("banco-do-brasil")).thenReturn(extratoService);
+        when(extratoService.processarArquivo(detectado)).thenReturn(br.com.financas.extrato_api.model.dto.ProcessamentoResult.sucesso("download.csv", 0));
+
+        // When & Then
+        mockMvc.perform(multipart("/financas/carregar-extrato")
+                .file(arquivo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucesso").value(true));
+
+        verify(extratoService, times(1)).processarArquivo(detectado);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo não reconhecido antes de processar")
+    void deveRejeitarArquivoNaoReconhecido() throws Exception {
+        // Given
+        when(extratoDetector.detectar(any()))
+                .thenThrow(new FormatoArquivoInvalidoException("Arquivo não reconhecido como extrato de um banco suportado"));
+
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "file",
+            "foto.png",
+            "image/png",
+            new byte[]{(byte) 0x89, 'P', 'N', 'G', 0}
+        );
+
+        // When & Then
+        mockMvc.perform(multipart("/financas/carregar-extrato")
+                .file(arquivo))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(serviceLocator);
+    }
 }
@@ -0,0 +1,74 @@
+package br.com.financas.extrato_api.integration;
+
+import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
+import br.com.financas.extrato_api.service.ExtratoService;
+import br.com.financas.extrato_api.util.HashConteudo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BancoDoBrasilService - Teste de Integração")
+class BancoDoBrasilServiceIntegrationTest {
+
+    private static final byte[] CSV = """
+            "Data","Lançamento","Detalhes","N° documento","Valor","Tipo Lançamento"
+            "15/03/2024","Pix - Enviado","15/03 10:00 Padaria","31501","-25,90","Saída"
+            "16/03/2024","Pix - Recebido","16/03 09:30 Fulano","31602","300,00","Entrada"
+            """.getBytes(StandardCharsets.ISO_8859_1);
+
+    @Autowired
+    @Qualifier("banco-do-brasil-service")
+    private ExtratoService bancoDoBrasilService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // Os uploads são gravados na transação do service, fora da transação do teste
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM transacoes WHERE upload_arquivo_id IN "
+                    + "(SELECT id FROM upload_arquivos WHERE hash_arquivo = ?)", HashConteudo.de(CSV));
+            jdbcTemplate.update("DELETE FROM upload_arquivos WHERE hash_arquivo = ?", HashConteudo.de(CSV));
+        });
+    }
+
+    @Test
+    @DisplayName("Deve recusar o reenvio pela uk do hash ao fim do parse, desfazendo o upload provisório")
+    void deveRecusarReenvioPeloHashNoCommit() {
+        // Given
+        MockMultipartFile primeiro = new MockMultipartFile("file", "extrato_bb_03.csv", "text/csv", CSV);
+        MockMultipartFile reenvio = new MockMultipartFile("file", "extrato_bb_03_copia.csv", "text/csv", CSV);
+
+        // When
+        ProcessamentoResult gravado = bancoDoBrasilService.processarArquivo(primeiro);
+        ProcessamentoResult recusado = bancoDoBrasilService.processarArquivo(reenvio);
+
+        // Then
+        assertThat(gravado.isSucesso()).isTrue();
+        assertThat(gravado.getTransacoesSalvas()).isEqualTo(2);
+        assertThat(recusado.isSucesso()).isFalse();
+        assertThat(recusado.getMensagem()).contains("já foi processado");
+        assertThat(jdbcTemplate.queryForList("SELECT hash_arquivo FROM upload_arquivos WHERE nome_arquivo LIKE 'extrato_bb_03%'",
+                String.class)).containsExactly(HashConteudo.de(CSV));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacoes t JOIN upload_arquivos u "
+                + "ON t.upload_arquivo_id = u.id WHERE u.hash_arquivo = ?", Integer.class, HashConteudo.de(CSV)))
+                .isEqualTo(2);
+    }
+}
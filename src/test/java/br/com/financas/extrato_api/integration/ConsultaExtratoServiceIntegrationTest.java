@@ -0,0 +1,151 @@
+package br.com.financas.extrato_api.integration;
+
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.dto.CursorExtrato;
+import br.com.financas.extrato_api.model.dto.TransacaoDTO;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
+import br.com.financas.extrato_api.service.ConsultaExtratoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ConsultaExtratoService - Teste de Integração")
+class ConsultaExtratoServiceIntegrationTest {
+
+    @Autowired
+    private ConsultaExtratoService consultaExtrato;
+
+    @Autowired
+    private TransacaoBatchRepository transacaoBatchRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Transacao> transacoes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Dois por dia em 01 a 05/01 para cada banco, gravados fora da ordem de data
+        for (int dia = 5; dia >= 1; dia--) {
+            for (int i = 0; i < 2; i++) {
+                transacoes.add(transacao("Itaú", dia, "I" + dia + i));
+                transacoes.add(transacao("Banco do Brasil", dia, "B" + dia + i));
+            }
+        }
+        transacaoBatchRepository.inserirEmLote(transacoes);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer as páginas do banco no período pelo cursor, sem repetir nem pular transações")
+    void devePaginarPorCursor() {
+        // Given
+        LocalDate inicio = LocalDate.of(2024, 1, 2);
+        LocalDate fim = LocalDate.of(2024, 1, 4);
+        List<TransacaoDTO> lidas = new ArrayList<>();
+        CursorExtrato cursor = null;
+        int paginas = 0;
+
+        // When
+        do {
+            ConsultaExtratoService.Pagina pagina = consultaExtrato.pagina("Itaú", inicio, fim,
+                    CursorExtrato.decodificar(cursor == null ? null : cursor.codificar()), 4);
+            lidas.addAll(pagina.transacoes());
+            cursor = pagina.proximo();
+            paginas++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(paginas).isEqualTo(2);
+        assertThat(lidas).hasSize(6)
+                .allSatisfy(t -> assertThat(t.getBanco()).isEqualTo("Itaú"))
+                .extracting(TransacaoDTO::getData)
+                .isSortedAccordingTo(Comparator.reverseOrder())
+                .allSatisfy(data -> assertThat(data).isBetween(inicio, fim));
+        assertThat(lidas).extracting(TransacaoDTO::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Deve entregar em stream todas as transações do filtro, da mais recente para a mais antiga")
+    void deveEntregarEmStream() {
+        // Given
+        List<LocalDate> datas = new ArrayList<>();
+
+        // When
+        int todas = consultaExtrato.percorrer(null, null, null, t -> datas.add(t.data()));
+        int doBanco = consultaExtrato.percorrer("Banco do Brasil", LocalDate.of(2024, 1, 5), null, t -> { });
+
+        // Then
+        assertThat(todas).isEqualTo(20);
+        assertThat(datas).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(doBanco).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve abrir a transação do stream com o próprio timeout, e não o padrão de 30 segundos")
+    void deveUsarTimeoutProprioNoStream() {
+        // Given: sem transação do teste, o stream abre a própria
+        List<Integer> segundosRestantes = new ArrayList<>();
+
+        try {
+            // When
+            consultaExtrato.percorrer("Itaú", null, null, t -> {
+                EntityManagerHolder holder =
+                        (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+                segundosRestantes.add(holder.getTimeToLiveInSeconds());
+            });
+
+            // Then
+            assertThat(segundosRestantes).hasSize(10)
+                    .allSatisfy(segundos -> assertThat(segundos)
+                            .isGreaterThan(30)
+                            .isLessThanOrEqualTo(ConsultaExtratoService.TIMEOUT_STREAM_SEGUNDOS));
+        } finally {
+            // Gravadas fora da transação do teste, que não faz rollback; a conexão não usa auto-commit
+            transactionTemplate.executeWithoutResult(status -> transacoes.forEach(t ->
+                    jdbcTemplate.update("DELETE FROM transacoes WHERE fingerprint = ?", t.getFingerprint())));
+        }
+    }
+
+    private static Transacao transacao(String banco, int dia, String numeroDocumento) {
+        return Transacao.builder()
+                .data(LocalDate.of(2024, 1, dia))
+                .lancamento("PIX")
+                .detalhes("PIX " + numeroDocumento)
+                .numeroDocumento(numeroDocumento)
+                .valor(new BigDecimal("-10.00"))
+                .moeda("BRL")
+                .tipoLancamento("Saída")
+                .categoria("PENDENTE")
+                .banco(banco)
+                .build()
+                .comFingerprint();
+    }
+}
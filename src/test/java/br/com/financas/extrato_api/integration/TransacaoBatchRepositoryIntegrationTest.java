@@ -0,0 +1,135 @@
+package br.com.financas.extrato_api.integration;
+
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.UploadArquivo;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
+import br.com.financas.extrato_api.repository.TransacaoRepository;
+import br.com.financas.extrato_api.repository.UploadArquivoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("TransacaoBatchRepository - Teste de Integração")
+class TransacaoBatchRepositoryIntegrationTest {
+
+    @Autowired
+    private TransacaoBatchRepository transacaoBatchRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private UploadArquivoRepository uploadArquivoRepository;
+
+    @Test
+    @DisplayName("Deve inserir o lote com os mesmos campos do saveAll")
+    void deveInserirLote() {
+        // Given
+        UploadArquivo upload = new UploadArquivo();
+        upload.setHashArquivo("hash-lote");
+        upload.setNomeArquivo("extrato_bb.csv");
+        upload.setDataUpload(LocalDate.now());
+        upload.setBanco("Banco do Brasil");
+        upload = uploadArquivoRepository.save(upload);
+        Transacao saque = transacao("123456", "-100.50");
+        saque.setUploadArquivo(upload);
+        Transacao deposito = transacao("789012", "500.00");
+        deposito.setMoeda(null);
+
+        // When
+        int inseridas = transacaoBatchRepository.inserirEmLote(List.of(saque, deposito));
+
+        // Then
+        assertThat(inseridas).isEqualTo(2);
+        List<Transacao> salvas = transacaoRepository.findAll();
+        assertThat(salvas).hasSize(2);
+        Transacao salva = salvas.stream().filter(t -> "123456".equals(t.getNumeroDocumento())).findFirst().orElseThrow();
+        assertThat(salva.getId()).isNotNull();
+        assertThat(salva.getValor()).isEqualByComparingTo("-100.50");
+        assertThat(salva.getLancamento()).isEqualTo("SAQUE");
+        assertThat(salva.getUploadArquivo().getId()).isEqualTo(upload.getId());
+        // Mesmo padrão do @PrePersist
+        assertThat(salvas).extracting(Transacao::getMoeda).containsOnly("BRL");
+    }
+
+    @Test
+    @DisplayName("Deve lançar violação de integridade para transação duplicada")
+    void deveLancarViolacaoParaDuplicada() {
+        // Given
+        transacaoBatchRepository.inserir(transacao("123456", "-100.50"));
+
+        // When & Then
+        assertThatThrownBy(() -> transacaoBatchRepository.inserir(transacao("123456", "-100.50")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Deve inserir só as transações novas e contar as duplicadas")
+    void deveInserirIgnorandoDuplicatas() {
+        // Given
+        transacaoBatchRepository.inserirEmLote(List.of(transacao("123456", "-100.50")));
+        List<Transacao> lote = List.of(
+                transacao("123456", "-100.5"),
+                transacao("789012", "500.00"),
+                transacao("789012", "500.00"),
+                transacao(null, "10.00"));
+
+        // When
+        TransacaoBatchRepository.ResultadoInsercao resultado = transacaoBatchRepository.inserirIgnorandoDuplicatas(lote);
+
+        // Then
+        assertThat(resultado.inseridas()).isEqualTo(2);
+        assertThat(resultado.ignoradas()).isEqualTo(2);
+        assertThat(transacaoRepository.count()).isEqualTo(3);
+        assertThat(transacaoBatchRepository.inserirIgnorandoDuplicatas(lote.subList(0, 3)))
+                .isEqualTo(new TransacaoBatchRepository.ResultadoInsercao(0, 3));
+    }
+
+    @Test
+    @DisplayName("Deve carregar as impressões digitais do banco no período em uma consulta")
+    void deveCarregarFingerprintsDoPeriodo() {
+        // Given
+        Transacao saque = transacao("123456", "-100.50");
+        Transacao deposito = transacao("789012", "500.00");
+        transacaoBatchRepository.inserirEmLote(List.of(saque, deposito));
+
+        // When
+        List<Long> fingerprints = transacaoRepository.findFingerprintsByBancoAndDataBetween(
+                "Banco do Brasil", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Then
+        assertThat(fingerprints).containsExactlyInAnyOrder(saque.getFingerprint(), deposito.getFingerprint());
+        assertThat(transacaoRepository.existsByFingerprint(transacao("123456", "-100.5000").comFingerprint().getFingerprint()))
+                .isTrue();
+        assertThat(transacaoRepository.findFingerprintsByBancoAndDataBetween(
+                "Itaú", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))).isEmpty();
+    }
+
+    private static Transacao transacao(String numeroDocumento, String valor) {
+        return Transacao.builder()
+                .data(LocalDate.of(2024, 1, 15))
+                .lancamento("SAQUE")
+                .detalhes("SAQUE 24H")
+                .numeroDocumento(numeroDocumento)
+                .valor(new BigDecimal(valor))
+                .moeda("BRL")
+                .tipoLancamento("SAQUE")
+                .categoria("PENDENTE")
+                .banco("Banco do Brasil")
+                .build();
+    }
+}
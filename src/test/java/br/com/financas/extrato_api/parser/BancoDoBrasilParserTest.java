@@ -3,10 +3,12 @@ package br.com.financas.extrato_api.parser;
 import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
 import br.com.financas.extrato_api.config.parser.BankParserConfig;
 import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
 import br.com.financas.extrato_api.model.parser.CsvConfig;
-import br.com.financas.extrato_api.parser.validation.BBValidation;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
 import br.com.financas.extrato_api.parser.validation.Validation;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
@@ -38,7 +41,6 @@ class BancoDoBrasilParserTest {
 
     @Mock
     private CsvConfig csvConfig;
-    private BBValidation validation;
 
     private BancoDoBrasilParser parser;
 
@@ -49,6 +51,8 @@ class BancoDoBrasilParserTest {
         // Configurar mocks com lenient() para evitar UnnecessaryStubbingException
         lenient().when(csvConfig.getDateFormat()).thenReturn("dd/MM/yyyy");
         lenient().when(csvConfig.getSeparator()).thenReturn(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+        lenient().when(csvConfig.getDelimiter()).thenReturn(',');
+        lenient().when(csvConfig.getQuote()).thenReturn('"');
         lenient().when(csvConfig.getSkipLine()).thenReturn(1);
         lenient().when(csvConfig.getDateRegex()).thenReturn("^\\d{2}/\\d{2}/\\d{4}$");
         lenient().when(csvConfig.getValueRegex()).thenReturn("^[+-]?\\d{1,3}([.,]\\d{3})*([.,]\\d{1,2})?$|^[+-]?\\d+([.,]\\d{1,2})?$");
@@ -58,13 +62,10 @@ class BancoDoBrasilParserTest {
         lenient().when(config.getSupportedExtensions()).thenReturn(List.of(".csv"));
         lenient().when(config.getFilePatterns()).thenReturn(List.of(".*extrato.*bb.*", ".*bb.*extrato.*",".*bb.*\\.csv$"));
         lenient().when(config.getCsv()).thenReturn(csvConfig);
-        
-        // Criar instância real do BBValidation
-        validation = new BBValidation(config);
 
         // Inicializar o parser manualmente (já que não usamos Spring no teste)
         dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        parser = new BancoDoBrasilParser(config, validation);
+        parser = new BancoDoBrasilParser(config);
     }
 
     @Test
@@ -149,6 +150,76 @@ class BancoDoBrasilParserTest {
         assertThat(segunda.getValor()).isCloseTo(new BigDecimal("42.15"), within(new BigDecimal("0.01")));
     }
 
+    @Test
+    @DisplayName("Deve processar arquivo CSV lendo direto dos bytes")
+    void deveProcessarArquivoCSVLendoBytes() throws Exception {
+        // Given
+        when(csvConfig.isByteReading()).thenReturn(true);
+        when(csvConfig.getMapThreshold()).thenReturn(DataSize.ofBytes(1));
+        String conteudoCSV = """
+            "Data","Lançamento","Detalhes","Nº documento","Valor","Tipo Lançamento"
+            "02/05/2025","Compra com Cartão","01/05 20:08 COMERCIAL DE ALIMENT","643752","-41,66","Saída"
+            "02/05/2025","BB Rende Fácil","Rende Facil","9903","42,15","Entrada"
+            """;
+
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "file",
+            "extrato_bb.csv",
+            "text/csv",
+            conteudoCSV.getBytes(StandardCharsets.ISO_8859_1)
+        );
+
+        // When
+        List<Transacao> transacoes = parser.parse(arquivo);
+
+        // Then
+        assertThat(transacoes).hasSize(2);
+        assertThat(transacoes.get(0).getLancamento()).isEqualTo("Compra com Cartão");
+        assertThat(transacoes.get(0).getData()).isEqualTo(LocalDate.of(2025, 5, 2));
+        assertThat(transacoes.get(0).getValorMonetario().getNumber().numberValue(BigDecimal.class))
+            .isCloseTo(new BigDecimal("-41.66"), within(new BigDecimal("0.01")));
+        assertThat(transacoes.get(1).getLancamento()).isEqualTo("BB Rende Fácil");
+        assertThat(transacoes.get(1).getTipoLancamento()).isEqualTo("Entrada");
+    }
+
+    @Test
+    @DisplayName("Deve processar arquivo em partes paralelas mantendo a ordem")
+    void deveProcessarArquivoEmPartesParalelas() throws Exception {
+        // Given
+        when(csvConfig.isByteReading()).thenReturn(true);
+        when(csvConfig.getMapThreshold()).thenReturn(DataSize.ofBytes(-1));
+        StringBuilder conteudoCSV = new StringBuilder("\"Data\",\"Lançamento\",\"Detalhes\",\"Nº documento\",\"Valor\",\"Tipo Lançamento\"\r\n");
+        for (int i = 1; i <= 500; i++) {
+            conteudoCSV.append(String.format("\"%02d/05/2025\",\"Compra %d\",\"Loja, filial %d\",\"%d\",\"-%d,%02d\",\"Saída\"\r\n",
+                    i % 28 + 1, i, i, 1000 + i, i, i % 100));
+        }
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "file",
+            "extrato_bb.csv",
+            "text/csv",
+            conteudoCSV.toString().getBytes(StandardCharsets.ISO_8859_1)
+        );
+        ParserGeneralConfig generalConfig = new ParserGeneralConfig();
+        generalConfig.setChunkSize(DataSize.ofBytes(256));
+        generalConfig.setThreads(4);
+        ParserExecutor parserExecutor = new ParserExecutor(generalConfig);
+        BancoDoBrasilParser parserParalelo = new BancoDoBrasilParser(config, null, generalConfig, parserExecutor);
+
+        try {
+            // When
+            List<Transacao> transacoes = parserParalelo.parse(arquivo);
+
+            // Then
+            List<Transacao> sequencial = parser.parse(arquivo);
+            assertThat(transacoes).hasSize(500);
+            assertThat(transacoes).extracting(Transacao::getLancamento)
+                .containsExactlyElementsOf(sequencial.stream().map(Transacao::getLancamento).toList());
+            assertThat(transacoes.get(499).getDetalhes()).isEqualTo("Loja, filial 500");
+        } finally {
+            parserExecutor.destroy();
+        }
+    }
+
     @Test
     @DisplayName("Deve processar arquivo com valores monetários brasileiros")
     void deveProcessarArquivoComValoresMonetariosBrasileiros() throws Exception {
@@ -411,4 +482,53 @@ class BancoDoBrasilParserTest {
         assertThat(deposito.getLancamento()).isEqualTo("DEPOSITO");
         assertThat(deposito.getDetalhes()).isEqualTo("DEPOSITO EM CONTA");
     }
+
+    @Test
+    @DisplayName("Deve informar o motivo da rejeição da linha")
+    void deveInformarMotivoDaRejeicao() {
+        // When & Then
+        assertThat(parser.decode("\"15/01/2024\",\"SAQUE\"").getMotivo()).isEqualTo(RejectReason.SHORT_ROW);
+        assertThat(parser.decode("\"Data\",\"Lançamento\",\"Detalhes\",\"Nº documento\",\"Valor\",\"Tipo Lançamento\"").getMotivo())
+                .isEqualTo(RejectReason.HEADER);
+        assertThat(parser.decode("\"15/01/2024\",\"SAQUE\",\"SAQUE 24H\",\"1\",\"100,50\",\"\"").getMotivo())
+                .isEqualTo(RejectReason.MISSING_TYPE);
+        assertThat(parser.decode("\"00/00/0000\",\"Saldo Anterior\",\"\",\"\",\"100,50\",\"C\"").getMotivo())
+                .isEqualTo(RejectReason.BAD_DATE);
+        assertThat(parser.decode("\"15/01/2024\",\"SAQUE\",\"SAQUE 24H\",\"1\",\"abc\",\"Saída\"").getMotivo())
+                .isEqualTo(RejectReason.BAD_AMOUNT);
+
+        DecodeResult valida = parser.decode("\"15/01/2024\",\"SAQUE\",\"SAQUE 24H\",\"1\",\"-100,50\",\"Saída\"");
+        assertThat(valida.isValida()).isTrue();
+        assertThat(valida.getTransacao().getValor()).isEqualByComparingTo("-100.50");
+    }
+
+    @Test
+    @DisplayName("Deve contar linhas rejeitadas por motivo")
+    void deveContarLinhasRejeitadasPorMotivo() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BancoDoBrasilParser parserComMetricas = new BancoDoBrasilParser(config, new ExtratoMetricsService(registry), null, null);
+        String conteudoCSV = """
+            "Data","Lançamento","Detalhes","Número do Documento","Valor","Tipo do Lançamento"
+            "15/01/2024","SAQUE","SAQUE 24H 001","123456","100,50","SAQUE"
+            "00/00/0000","Saldo Anterior","","","1.000,00","C"
+            "31/13/2024","SAQUE","SAQUE 24H 001","123456","100,50","SAQUE"
+            linha inválida sem vírgulas
+            """;
+        MockMultipartFile arquivo = new MockMultipartFile(
+            "file",
+            "extrato_bb_rejeicoes.csv",
+            "text/csv",
+            conteudoCSV.getBytes(StandardCharsets.UTF_8)
+        );
+
+        // When
+        List<Transacao> transacoes = parserComMetricas.parse(arquivo);
+
+        // Then
+        assertThat(transacoes).hasSize(1);
+        assertThat(registry.get("extrato.linhas.rejeitadas").tag("motivo", "BAD_DATE").counter().count()).isEqualTo(2);
+        assertThat(registry.get("extrato.linhas.rejeitadas").tag("motivo", "SHORT_ROW").counter().count()).isEqualTo(1);
+        assertThat(registry.get("extrato.linhas.rejeitadas").tag("motivo", "BAD_AMOUNT").counter().count()).isZero();
+    }
 }
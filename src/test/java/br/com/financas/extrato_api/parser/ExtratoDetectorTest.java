@@ -0,0 +1,144 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
+import br.com.financas.extrato_api.config.parser.ItauParserConfig;
+import br.com.financas.extrato_api.exception.ArquivoProcessamentoException;
+import br.com.financas.extrato_api.exception.FormatoArquivoInvalidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ExtratoDetector - Testes Unitários")
+@ExtendWith(MockitoExtension.class)
+class ExtratoDetectorTest {
+
+    @Mock
+    private ExtratoParser bbParser;
+
+    @Mock
+    private ExtratoParser itauParser;
+
+    private ExtratoDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        BancoDoBrasilParserConfig bbConfig = new BancoDoBrasilParserConfig();
+        bbConfig.setId("banco-do-brasil");
+        bbConfig.setSupportedExtensions(List.of(".csv"));
+        bbConfig.setFilePatterns(List.of(".*extrato.*bb.*", ".*bb.*extrato.*", ".*bb.*\\.csv$"));
+        bbConfig.setContentMarkers(List.of("(?im)^\"?data\"?\\s*,\\s*\"?lan.{1,2}amento\"?\\s*,\\s*\"?detalhes\"?"));
+
+        ItauParserConfig itauConfig = new ItauParserConfig();
+        itauConfig.setId("itau");
+        itauConfig.setSupportedExtensions(List.of(".pdf"));
+        itauConfig.setFilePatterns(List.of(".*itau.*\\.pdf$"));
+        itauConfig.setContentMarkers(List.of("(?i)ita(?:u|.{1,2})\\s+unibanco"));
+
+        when(bbParser.getConfig()).thenReturn(bbConfig);
+        when(itauParser.getConfig()).thenReturn(itauConfig);
+        detector = new ExtratoDetector(List.of(bbParser, itauParser));
+    }
+
+    @Test
+    @DisplayName("Deve detectar CSV do Banco do Brasil pelo cabeçalho, independente do nome")
+    void deveDetectarBancoDoBrasilPeloCabecalho() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "download (3).txt", "text/plain",
+                "\"Data\",\"Lançamento\",\"Detalhes\",\"Nº documento\",\"Valor\",\"Tipo Lançamento\"\n"
+                        .getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        ArquivoExtratoDetectado detectado = detector.detectar(file);
+
+        // Then
+        assertThat(detectado.getParser()).isSameAs(bbParser);
+        assertThat(detectado.getBanco()).isEqualTo("banco-do-brasil");
+        assertThat(detectado.getOriginalFilename()).isEqualTo("download (3).txt");
+    }
+
+    @Test
+    @DisplayName("Deve detectar PDF do Itaú pelo nome do banco no conteúdo, independente do nome do arquivo")
+    void deveDetectarPdfPelaMarcaNoConteudo() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "extrato.bin", "application/octet-stream",
+                "%PDF-1.7\n%âã\n1 0 obj\n<< /Author (Itaú Unibanco S.A.) >>".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        ArquivoExtratoDetectado detectado = detector.detectar(file);
+
+        // Then
+        assertThat(detectado.getParser()).isSameAs(itauParser);
+    }
+
+    @Test
+    @DisplayName("Deve detectar PDF do Itaú pelo nome do arquivo quando o conteúdo está comprimido")
+    void deveDetectarPdfPeloNome() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "extrato_itau_052025.pdf", "application/pdf",
+                "%PDF-1.7\n%âã\n1 0 obj".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        ArquivoExtratoDetectado detectado = detector.detectar(file);
+
+        // Then
+        assertThat(detectado.getParser()).isSameAs(itauParser);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar PDF sem marca nem nome de um banco suportado")
+    void deveRejeitarPdfNaoReconhecido() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "nota_fiscal.pdf", "application/pdf",
+                "%PDF-1.7\n%âã\n1 0 obj".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When & Then
+        assertThatThrownBy(() -> detector.detectar(file))
+                .isInstanceOf(FormatoArquivoInvalidoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CSV sem cabeçalho nem nome de um banco suportado")
+    void deveRejeitarCsvNaoReconhecido() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "planilha.csv", "text/csv",
+                "nome,idade\nJoão,30\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When & Then
+        assertThatThrownBy(() -> detector.detectar(file))
+                .isInstanceOf(FormatoArquivoInvalidoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo binário que não é PDF")
+    void deveRejeitarArquivoBinario() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "extrato_bb.csv", "text/csv",
+                new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0});
+
+        // When & Then
+        assertThatThrownBy(() -> detector.detectar(file))
+                .isInstanceOf(FormatoArquivoInvalidoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo vazio")
+    void deveRejeitarArquivoVazio() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "extrato_bb.csv", "text/csv", new byte[0]);
+
+        // When & Then
+        assertThatThrownBy(() -> detector.detectar(file))
+                .isInstanceOf(ArquivoProcessamentoException.class);
+    }
+}
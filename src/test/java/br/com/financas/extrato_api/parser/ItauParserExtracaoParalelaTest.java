@@ -0,0 +1,159 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.config.parser.ItauParserConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.parser.PdfConfig;
+import br.com.financas.extrato_api.parser.validation.ItauValidation;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ItauParser - Extração Paralela")
+class ItauParserExtracaoParalelaTest {
+
+    private static final PDFont FONTE = PDType1Font.HELVETICA;
+    private static final float TAMANHO_FONTE = 8;
+    private static final int PAGINAS = 10;
+    private static final int LINHAS_POR_PAGINA = 5;
+
+    private ItauParserConfig config;
+    private ParserExecutor parserExecutor;
+
+    @BeforeEach
+    void setUp() {
+        PdfConfig pdf = new PdfConfig();
+        pdf.setDateFormat("dd/MM/yyyy");
+        pdf.setTransactionRegex("(\\d{2}/\\d{2}/\\d{4})\\s+(.+?)\\s+([+-]?\\d{1,3}(?:\\.\\d{3})*(?:,\\d{2})?)"
+                + "(?:\\s+([+-]?\\d{1,3}(?:\\.\\d{3})*(?:,\\d{2})?))?\\s*$");
+        pdf.setHeaderRegex(".*agência:.*|.*conta:.*|.*data lançamentos valor.*");
+        pdf.setPagesPerChunk(4);
+        pdf.getExtractionCache().setEnabled(false);
+        config = new ItauParserConfig();
+        config.setId("itau");
+        config.setName("Itaú");
+        config.setSupportedExtensions(List.of(".pdf"));
+        config.setFilePatterns(List.of(".*itau.*\\.pdf$"));
+        config.setPdf(pdf);
+
+        ParserGeneralConfig generalConfig = new ParserGeneralConfig();
+        generalConfig.setThreads(4);
+        parserExecutor = new ParserExecutor(generalConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parserExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve extrair em paralelo as mesmas transações da leitura sequencial, com as colunas do cabeçalho da primeira página")
+    void deveExtrairEmParaleloComoSequencial() throws Exception {
+        // Given: cabeçalho só na página 1; as demais trazem valor e saldo em todas as linhas
+        MockMultipartFile arquivo = new MockMultipartFile("file", "extrato_itau.pdf", "application/pdf", documento());
+        ItauValidation validation = new ItauValidation(config);
+        ParserGeneralConfig paralelo = new ParserGeneralConfig();
+        ParserGeneralConfig sequencial = new ParserGeneralConfig();
+        sequencial.setParallelProcessing(false);
+
+        // When
+        List<Transacao> extraidasEmParalelo = new ItauParser(config, validation, paralelo, parserExecutor).parse(arquivo);
+        List<Transacao> extraidasEmSequencia = new ItauParser(config, validation, sequencial, parserExecutor).parse(arquivo);
+
+        // Then
+        assertThat(extraidasEmParalelo).hasSize(PAGINAS * LINHAS_POR_PAGINA);
+        assertThat(extraidasEmParalelo).extracting(Transacao::getLancamento)
+                .containsExactlyElementsOf(extraidasEmSequencia.stream().map(Transacao::getLancamento).toList());
+        assertThat(extraidasEmParalelo).extracting(Transacao::getValor)
+                .containsExactlyElementsOf(extraidasEmSequencia.stream().map(Transacao::getValor).toList())
+                .allSatisfy(valor -> assertThat(valor).isEqualByComparingTo(new BigDecimal("-1.00")));
+    }
+
+    @Test
+    @DisplayName("Deve carregar o documento no máximo uma vez por worker, e não por parte de pages-per-chunk páginas")
+    void deveCarregarDocumentoUmaVezPorWorker() throws Exception {
+        // Given: 40 páginas em partes de 4 seriam 10 cargas; com 4 workers são 4 faixas de 10 páginas
+        AtomicInteger leituras = new AtomicInteger();
+        MockMultipartFile arquivo = new MockMultipartFile("file", "extrato_itau.pdf", "application/pdf", documento(40)) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                leituras.incrementAndGet();
+                return super.getInputStream();
+            }
+        };
+        ParserGeneralConfig generalConfig = new ParserGeneralConfig();
+        generalConfig.setParallelismPerUpload(4);
+
+        // When
+        List<Transacao> transacoes = new ItauParser(config, new ItauValidation(config), generalConfig, parserExecutor)
+                .parse(arquivo);
+
+        // Then
+        assertThat(transacoes).hasSize(40 * LINHAS_POR_PAGINA);
+        assertThat(leituras.get()).isEqualTo(4);
+    }
+
+    private static byte[] documento() throws IOException {
+        return documento(PAGINAS);
+    }
+
+    private static byte[] documento(int paginas) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream saida = new ByteArrayOutputStream()) {
+            for (int pagina = 1; pagina <= paginas; pagina++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream conteudo = new PDPageContentStream(document, page)) {
+                    float y = 750;
+                    if (pagina == 1) {
+                        linha(conteudo, y, "data", "lançamentos", "valor (R$)", "saldo (R$)");
+                        y -= 12;
+                    }
+                    for (int i = 1; i <= LINHAS_POR_PAGINA; i++) {
+                        linha(conteudo, y, String.format("%02d/07/2025", (pagina - 1) % 28 + 1), "PIX " + pagina + "-" + i,
+                                "-1,00", (100 - pagina) + "," + i + "0");
+                        y -= 12;
+                    }
+                }
+            }
+            document.save(saida);
+            return saida.toByteArray();
+        }
+    }
+
+    private static void linha(PDPageContentStream conteudo, float y, String data, String descricao,
+                              String valor, String saldo) throws IOException {
+        texto(conteudo, 30, y, data);
+        texto(conteudo, 90, y, descricao);
+        // Valores alinhados à direita da coluna
+        texto(conteudo, 430 - largura(valor), y, valor);
+        texto(conteudo, 530 - largura(saldo), y, saldo);
+    }
+
+    private static void texto(PDPageContentStream conteudo, float x, float y, String texto) throws IOException {
+        conteudo.beginText();
+        conteudo.setFont(FONTE, TAMANHO_FONTE);
+        conteudo.newLineAtOffset(x, y);
+        conteudo.showText(texto);
+        conteudo.endText();
+    }
+
+    private static float largura(String texto) throws IOException {
+        return FONTE.getStringWidth(texto) / 1000 * TAMANHO_FONTE;
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.financas.extrato_api.parser;
+
+import br.com.financas.extrato_api.config.parser.BancoDoBrasilParserConfig;
+import br.com.financas.extrato_api.config.parser.ItauParserConfig;
+import br.com.financas.extrato_api.config.parser.ParserWarmupConfig;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ParserWarmup - Testes Unitários")
+@ExtendWith(MockitoExtension.class)
+class ParserWarmupTest {
+
+    @Mock
+    private ExtratoParser bbParser;
+
+    @Mock
+    private ExtratoParser itauParser;
+
+    private ParserWarmupConfig config;
+    private SimpleMeterRegistry registry;
+    private ParserWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        config = new ParserWarmupConfig();
+        registry = new SimpleMeterRegistry();
+        warmup = new ParserWarmup(config, List.of(bbParser, itauParser), List.of(),
+                new ExtratoMetricsService(registry));
+    }
+
+    private static Binder binderDoApplicationYml() throws IOException {
+        List<PropertySource<?>> fontes = new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml"));
+        return new Binder(ConfigurationPropertySources.from(fontes));
+    }
+
+    @Test
+    @DisplayName("Deve executar cada parser sobre a amostra do classpath e registrar o tempo por etapa")
+    void deveExecutarParsersSobreAmostra() {
+        // Given
+        BancoDoBrasilParserConfig bbConfig = new BancoDoBrasilParserConfig();
+        bbConfig.setId("banco-do-brasil");
+        bbConfig.setSupportedExtensions(List.of(".csv"));
+        ItauParserConfig itauConfig = new ItauParserConfig();
+        itauConfig.setId("itau");
+        itauConfig.setSupportedExtensions(List.of(".pdf"));
+        when(bbParser.getConfig()).thenReturn(bbConfig);
+        when(itauParser.getConfig()).thenReturn(itauConfig);
+        when(bbParser.parse(any())).thenReturn(List.of());
+        when(itauParser.parse(any())).thenThrow(new IllegalStateException("falha"));
+
+        // When
+        assertThatCode(() -> warmup.run(null)).doesNotThrowAnyException();
+
+        // Then
+        ArgumentCaptor<MultipartFile> arquivo = ArgumentCaptor.forClass(MultipartFile.class);
+        verify(bbParser).parse(arquivo.capture());
+        assertThat(arquivo.getValue()).isInstanceOf(ArquivoExtratoDetectado.class);
+        assertThat(arquivo.getValue().getOriginalFilename()).isEqualTo("banco-do-brasil.csv");
+        assertThat(arquivo.getValue().getSize()).isPositive();
+        assertThat(((ArquivoExtratoDetectado) arquivo.getValue()).getParser()).isSameAs(bbParser);
+        for (String etapa : List.of("fontes", "moneta", "banco-do-brasil", "itau", "total")) {
+            assertThat(registry.find("extrato.aquecimento.tempo").tag("etapa", etapa).timer())
+                    .as(etapa).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler parser.warmup do application.yml")
+    void deveLerConfiguracaoDoApplicationYml() throws Exception {
+        // When
+        Binder binder = binderDoApplicationYml();
+
+        // Then
+        assertThat(binder.bind("parser.warmup", ParserWarmupConfig.class).isBound()).isTrue();
+        assertThat(binder.bind("parser.general.warmup", Bindable.mapOf(String.class, Object.class)).isBound()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve contar como rejeitadas as linhas da amostra do Banco do Brasil")
+    void naoDeveContarRejeicoesDaAmostra() throws Exception {
+        // Given
+        BancoDoBrasilParserConfig bbConfig = binderDoApplicationYml()
+                .bind("parser.config.banco-do-brasil", BancoDoBrasilParserConfig.class).get();
+        BancoDoBrasilParser parser = new BancoDoBrasilParser(bbConfig, new ExtratoMetricsService(registry), null, null);
+        warmup = new ParserWarmup(config, List.of(parser), List.of(), new ExtratoMetricsService(registry));
+
+        // When
+        warmup.run(null);
+
+        // Then
+        assertThat(registry.find("extrato.aquecimento.tempo").tag("etapa", "banco-do-brasil").timer()).isNotNull();
+        assertThat(registry.find("extrato.linhas.rejeitadas").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve aquecer quando desabilitado")
+    void naoDeveAquecerQuandoDesabilitado() {
+        // Given
+        config.setEnabled(false);
+
+        // When
+        warmup.run(null);
+
+        // Then
+        verify(bbParser, never()).parse(any());
+        verify(itauParser, never()).parse(any());
+        assertThat(registry.find("extrato.aquecimento.tempo").timers()).isEmpty();
+    }
+}
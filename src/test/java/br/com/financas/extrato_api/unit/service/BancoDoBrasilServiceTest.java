@@ -1,31 +1,41 @@
 package br.com.financas.extrato_api.unit.service;
 
+import br.com.financas.extrato_api.config.FiltroDuplicatasConfig;
+import br.com.financas.extrato_api.config.IndiceUploadsConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
 import br.com.financas.extrato_api.model.Transacao;
 import br.com.financas.extrato_api.model.UploadArquivo;
 import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
 import br.com.financas.extrato_api.observability.ExtratoMetricsService;
 import br.com.financas.extrato_api.parser.ExtratoParser;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository.ResultadoInsercao;
 import br.com.financas.extrato_api.repository.TransacaoRepository;
 import br.com.financas.extrato_api.repository.UploadArquivoRepository;
 import br.com.financas.extrato_api.service.BancoDoBrasilService;
+import br.com.financas.extrato_api.service.ConsultaExtratoService;
+import br.com.financas.extrato_api.service.FiltroDuplicatasService;
+import br.com.financas.extrato_api.service.IndiceUploadsService;
+import br.com.financas.extrato_api.util.HashConteudo;
 
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +49,9 @@ class BancoDoBrasilServiceTest {
     @Mock
     private TransacaoRepository transacaoRepository;
 
+    @Mock
+    private TransacaoBatchRepository transacaoBatchRepository;
+
     @Mock
     private UploadArquivoRepository uploadArquivoRepository;
 
@@ -52,7 +65,15 @@ class BancoDoBrasilServiceTest {
     @Mock
     private EntityManager entityManager;
 
-    @InjectMocks
+    @Spy
+    private ParserGeneralConfig parserConfig = new ParserGeneralConfig();
+
+    @Mock
+    private ConsultaExtratoService consultaExtrato;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     private BancoDoBrasilService bancoDoBrasilService;
 
     private MockMultipartFile arquivoValido;
@@ -61,6 +82,15 @@ class BancoDoBrasilServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Filtro de duplicatas sem carga: toda verificação vai aos repositórios mockados
+        FiltroDuplicatasService filtroDuplicatas = new FiltroDuplicatasService(new FiltroDuplicatasConfig(),
+                uploadArquivoRepository, transacaoRepository, null, metricsService);
+        IndiceUploadsService indiceUploads = new IndiceUploadsService(new IndiceUploadsConfig(),
+                filtroDuplicatas, jdbcTemplate, metricsService);
+        bancoDoBrasilService = new BancoDoBrasilService(transacaoRepository, transacaoBatchRepository,
+                uploadArquivoRepository, bbParser, metricsService, entityManager, parserConfig, filtroDuplicatas,
+                indiceUploads, consultaExtrato);
+
         // Setup do arquivo mock
         String conteudoCSV = """
             Data,Lançamento,Detalhes,Número do Documento,Valor,Tipo do Lançamento
@@ -115,10 +145,9 @@ class BancoDoBrasilServiceTest {
     void deveProcessarArquivoComSucesso() throws Exception {
         // Given
         when(bbParser.getBankName()).thenReturn("banco-do-brasil");
-        when(bbParser.parse(any())).thenReturn(transacoesMock);
-        when(uploadArquivoRepository.existsByHashArquivo(anyString())).thenReturn(false);
+        when(bbParser.stream(any())).thenReturn(transacoesMock.stream());
         when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
-        when(transacaoRepository.saveAll(anyList())).thenReturn(transacoesMock);
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList())).thenReturn(new ResultadoInsercao(2, 0));
 
         // When
         ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivoValido);
@@ -136,10 +165,35 @@ class BancoDoBrasilServiceTest {
     }
 
     @Test
-    @DisplayName("Deve detectar arquivo duplicado")
+    @DisplayName("Deve salvar transações em lotes do tamanho configurado")
+    void deveSalvarTransacoesEmLotes() throws Exception {
+        // Given
+        parserConfig.setBatchSize(1);
+        when(bbParser.getBankName()).thenReturn("banco-do-brasil");
+        when(bbParser.stream(any())).thenReturn(transacoesMock.stream());
+        when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList()))
+            .thenReturn(new ResultadoInsercao(1, 0))
+            .thenReturn(new ResultadoInsercao(1, 0));
+
+        // When
+        ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivoValido);
+
+        // Then
+        assertThat(resultado.getTransacoesSalvas()).isEqualTo(2);
+        verify(transacaoBatchRepository, times(2)).inserirIgnorandoDuplicatas(argThat(lote -> lote.size() == 1));
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Deve detectar arquivo duplicado pela uk do hash ao confirmar o upload")
     void deveDetectarArquivoDuplicado() throws Exception {
         // Given
-        when(uploadArquivoRepository.existsByHashArquivo(anyString())).thenReturn(true);
+        when(bbParser.getBankName()).thenReturn("banco-do-brasil");
+        when(bbParser.stream(any())).thenReturn(transacoesMock.stream());
+        when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList())).thenReturn(new ResultadoInsercao(0, 2));
+        when(jdbcTemplate.update(anyString(), any(Object.class), any(Object.class))).thenThrow(new DuplicateKeyException("uk hash_arquivo"));
 
         // When
         ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivoValido);
@@ -148,63 +202,53 @@ class BancoDoBrasilServiceTest {
         assertThat(resultado.isSucesso()).isFalse();
         assertThat(resultado.getTransacoesSalvas()).isEqualTo(0);
         assertThat(resultado.getMensagem()).contains("já foi processado");
-
-        // Verificar que o parser não foi chamado
-        verify(bbParser, never()).parse(any());
-        verify(transacaoRepository, never()).saveAll(anyList());
+        verify(metricsService, never()).incrementarArquivosProcessados();
     }
 
     @Test
-    @DisplayName("Deve fazer rollback quando transações falham")
-    void deveFazerRollbackQuandoTransacoesFalham() throws Exception {
+    @DisplayName("Deve reportar duplicatas ignoradas")
+    void deveReportarDuplicatasIgnoradas() throws Exception {
         // Given
         when(bbParser.getBankName()).thenReturn("banco-do-brasil");
-        when(bbParser.parse(any())).thenReturn(transacoesMock);
-        when(uploadArquivoRepository.existsByHashArquivo(anyString())).thenReturn(false);
+        when(bbParser.stream(any())).thenReturn(transacoesMock.stream());
         when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
-        when(transacaoRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("Erro de integridade"));
-        when(transacaoRepository.save(any(Transacao.class)))
-            .thenReturn(transacoesMock.get(0))
-            .thenReturn(transacoesMock.get(1));
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList())).thenReturn(new ResultadoInsercao(1, 1));
 
         // When
         ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivoValido);
 
         // Then
         assertThat(resultado.isSucesso()).isTrue();
-        assertThat(resultado.getTransacoesSalvas()).isEqualTo(2);
+        assertThat(resultado.getTransacoesSalvas()).isEqualTo(1);
+        assertThat(resultado.getDuplicatasIgnoradas()).isEqualTo(1);
         assertThat(resultado.getMensagem()).contains("sucesso");
 
         // Verificar que as métricas foram chamadas normalmente
         verify(metricsService).incrementarArquivosProcessados();
-        verify(metricsService).incrementarTransacoesProcessadas(2);
+        verify(metricsService).incrementarTransacoesProcessadas(1);
     }
 
     @Test
-    @DisplayName("Deve processar transações individualmente quando batch falha")
-    void deveProcessarTransacoesIndividualmenteQuandoBatchFalha() throws Exception {
+    @DisplayName("Não deve salvar transações individualmente quando o lote tem duplicatas")
+    void naoDeveSalvarIndividualmenteQuandoLoteTemDuplicatas() throws Exception {
         // Given
         when(bbParser.getBankName()).thenReturn("banco-do-brasil");
-        when(bbParser.parse(any())).thenReturn(transacoesMock);
-        when(uploadArquivoRepository.existsByHashArquivo(anyString())).thenReturn(false);
+        when(bbParser.stream(any())).thenReturn(transacoesMock.stream());
         when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
-        
-        // Primeira chamada falha (batch), depois salva individualmente
-        when(transacaoRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("Erro de integridade"));
-        when(transacaoRepository.save(any(Transacao.class)))
-            .thenReturn(transacoesMock.get(0))
-            .thenReturn(transacoesMock.get(1));
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList())).thenReturn(new ResultadoInsercao(0, 2));
 
         // When
         ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivoValido);
 
         // Then
         assertThat(resultado.isSucesso()).isTrue();
-        assertThat(resultado.getTransacoesSalvas()).isEqualTo(2);
+        assertThat(resultado.getTransacoesSalvas()).isZero();
+        assertThat(resultado.getDuplicatasIgnoradas()).isEqualTo(2);
 
-        // Verificar que saveAll foi chamado primeiro, depois save individual
-        verify(transacaoRepository).saveAll(anyList());
-        verify(transacaoRepository, times(2)).save(any(Transacao.class));
+        // Um único INSERT multi-linha por lote, sem inserção linha a linha
+        verify(transacaoBatchRepository).inserirIgnorandoDuplicatas(argThat(lote -> lote.size() == 2));
+        verify(transacaoBatchRepository, never()).inserir(any(Transacao.class));
+        verify(transacaoBatchRepository, never()).inserirEmLote(anyList());
     }
 
     @Test
@@ -239,6 +283,7 @@ class BancoDoBrasilServiceTest {
                 throw new IOException("Erro de IO");
             }
         };
+        when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
 
         // When
         ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivoComErro);
@@ -261,10 +306,8 @@ class BancoDoBrasilServiceTest {
         );
 
         when(bbParser.getBankName()).thenReturn("banco-do-brasil");
-        when(bbParser.parse(any())).thenReturn(Collections.emptyList());
-        when(uploadArquivoRepository.existsByHashArquivo(anyString())).thenReturn(false);
+        when(bbParser.stream(any())).thenReturn(Stream.empty());
         when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
-        when(transacaoRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
 
         // When
         ProcessamentoResult resultado = bancoDoBrasilService.processarArquivo(arquivo);
@@ -272,10 +315,9 @@ class BancoDoBrasilServiceTest {
         // Then
         assertThat(resultado.isSucesso()).isTrue();
         
-        // Verificar que existsByHashArquivo foi chamado com um hash válido
-        verify(uploadArquivoRepository).existsByHashArquivo(argThat(hash -> 
-            hash != null && hash.length() == 64 // SHA-256 hash length
-        ));
+        // Upload gravado com hash provisório e confirmado com o SHA-256 do conteúdo
+        verify(uploadArquivoRepository).save(argThat((UploadArquivo upload) -> upload.getHashArquivo().startsWith("pendente:")));
+        verify(jdbcTemplate).update(anyString(), eq(HashConteudo.de(conteudo.getBytes())), eq(1L));
     }
 
     @Test
@@ -283,10 +325,9 @@ class BancoDoBrasilServiceTest {
     void deveRegistrarMetricasDeTempoCorretamente() throws Exception {
         // Given
         when(bbParser.getBankName()).thenReturn("banco-do-brasil");
-        when(bbParser.parse(any())).thenReturn(transacoesMock);
-        when(uploadArquivoRepository.existsByHashArquivo(anyString())).thenReturn(false);
+        when(bbParser.stream(any())).thenReturn(transacoesMock.stream());
         when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(uploadMock);
-        when(transacaoRepository.saveAll(anyList())).thenReturn(transacoesMock);
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList())).thenReturn(new ResultadoInsercao(2, 0));
 
         // When
         bancoDoBrasilService.processarArquivo(arquivoValido);
@@ -298,10 +339,11 @@ class BancoDoBrasilServiceTest {
     }
 
     @Test
-    @DisplayName("Deve retornar extrato completo")
+    @DisplayName("Deve retornar extrato completo do banco")
     void deveRetornarExtratoCompleto() {
         // Given
-        when(transacaoRepository.findAll()).thenReturn(transacoesMock);
+        when(bbParser.getBankName()).thenReturn("Banco do Brasil");
+        when(transacaoRepository.findByBancoOrderByDataDescIdAsc("Banco do Brasil")).thenReturn(transacoesMock);
 
         // When
         List<Transacao> resultado = bancoDoBrasilService.getExtrato();
@@ -317,13 +359,16 @@ class BancoDoBrasilServiceTest {
         // Given
         LocalDate dataInicio = LocalDate.of(2024, 1, 1);
         LocalDate dataFim = LocalDate.of(2024, 1, 31);
-        when(transacaoRepository.findByDataBetween(dataInicio, dataFim)).thenReturn(transacoesMock);
+        when(bbParser.getBankName()).thenReturn("Banco do Brasil");
+        when(transacaoRepository.findByBancoAndDataBetweenOrderByDataDescIdAsc("Banco do Brasil", dataInicio, dataFim))
+                .thenReturn(transacoesMock);
 
         // When
         List<Transacao> resultado = bancoDoBrasilService.getExtratoPorPeriodo(dataInicio, dataFim);
 
         // Then
         assertThat(resultado).hasSize(2);
-        verify(transacaoRepository).findByDataBetween(dataInicio, dataFim);
+        verify(transacaoRepository).findByBancoAndDataBetweenOrderByDataDescIdAsc("Banco do Brasil", dataInicio, dataFim);
+        verify(transacaoRepository, never()).findByDataBetween(any(), any());
     }
 }
@@ -0,0 +1,110 @@
+package br.com.financas.extrato_api.unit.service;
+
+import br.com.financas.extrato_api.config.FiltroDuplicatasConfig;
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import br.com.financas.extrato_api.repository.TransacaoRepository;
+import br.com.financas.extrato_api.repository.UploadArquivoRepository;
+import br.com.financas.extrato_api.service.FiltroDuplicatasService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FiltroDuplicatasService - Testes Unitários")
+class FiltroDuplicatasServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 7, 1);
+    private static final LocalDate FIM = LocalDate.of(2025, 7, 31);
+
+    @Mock
+    private UploadArquivoRepository uploadArquivoRepository;
+
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ExtratoMetricsService metricsService;
+
+    private FiltroDuplicatasService filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new FiltroDuplicatasService(new FiltroDuplicatasConfig(), uploadArquivoRepository,
+                transacaoRepository, jdbcTemplate, metricsService);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco enquanto o filtro não foi carregado")
+    void deveConsultarBancoAntesDaCarga() {
+        // Given
+        when(uploadArquivoRepository.existsByHashArquivo("abc")).thenReturn(true);
+
+        // When & Then
+        assertThat(filtro.existeUpload("abc")).isTrue();
+        verify(uploadArquivoRepository).existsByHashArquivo("abc");
+    }
+
+    @Test
+    @DisplayName("Deve dispensar a consulta ao banco para chaves ausentes do filtro carregado")
+    void deveDispensarConsultaParaChavesAusentes() {
+        // Given: banco vazio na carga
+        filtro.carregar();
+
+        // When
+        boolean existe = filtro.existeUpload("abc");
+        var existentes = filtro.fingerprintsExistentes("Itaú", INICIO, FIM, List.of(1L, 2L, 3L));
+
+        // Then
+        assertThat(existe).isFalse();
+        assertThat(existentes).isEmpty();
+        verify(uploadArquivoRepository, never()).existsByHashArquivo(anyString());
+        verify(transacaoRepository, never()).findFingerprintsByBancoAndDataBetween(any(), any(), any());
+        verify(metricsService).incrementarConsultaFiltro("uploads", "ausente", 1);
+        verify(metricsService).incrementarConsultaFiltro("transacoes", "ausente", 3);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar no banco as chaves registradas depois da carga")
+    void deveConfirmarChavesRegistradas() {
+        // Given
+        filtro.carregar();
+        Transacao gravada = Transacao.builder()
+                .data(INICIO)
+                .lancamento("PIX TRANSF")
+                .valor(new BigDecimal("-50.00"))
+                .banco("Itaú")
+                .build()
+                .comFingerprint();
+        filtro.registrarUpload("abc");
+        filtro.registrarTransacoes(List.of(gravada));
+        when(uploadArquivoRepository.existsByHashArquivo("abc")).thenReturn(true);
+        when(transacaoRepository.findFingerprintsByBancoAndDataBetween("Itaú", INICIO, FIM))
+                .thenReturn(List.of(gravada.getFingerprint()));
+
+        // When & Then
+        assertThat(filtro.existeUpload("abc")).isTrue();
+        assertThat(filtro.fingerprintsExistentes("Itaú", INICIO, FIM, List.of(gravada.getFingerprint())))
+                .containsExactly(gravada.getFingerprint());
+        verify(metricsService).incrementarConsultaFiltro("uploads", "confirmado", 1);
+        verify(metricsService).incrementarConsultaFiltro("transacoes", "confirmado", 1);
+    }
+}
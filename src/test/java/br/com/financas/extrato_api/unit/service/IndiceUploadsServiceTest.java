@@ -0,0 +1,70 @@
+package br.com.financas.extrato_api.unit.service;
+
+import br.com.financas.extrato_api.config.IndiceUploadsConfig;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import br.com.financas.extrato_api.service.FiltroDuplicatasService;
+import br.com.financas.extrato_api.service.IndiceUploadsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndiceUploadsService - Testes Unitários")
+class IndiceUploadsServiceTest {
+
+    @Mock
+    private FiltroDuplicatasService filtroDuplicatas;
+
+    @Mock
+    private ExtratoMetricsService metricsService;
+
+    private IndiceUploadsService indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceUploadsService(new IndiceUploadsConfig(), filtroDuplicatas, null, metricsService);
+    }
+
+    @Test
+    @DisplayName("Deve guardar hashes confirmados e não consultar de novo")
+    void deveGuardarHashesConfirmados() {
+        // Given
+        when(filtroDuplicatas.existeUpload("abc")).thenReturn(true);
+
+        // When & Then
+        assertThat(indice.conhecido("abc")).isTrue();
+        assertThat(indice.conhecido("abc")).isTrue();
+        verify(filtroDuplicatas, times(1)).existeUpload("abc");
+    }
+
+    @Test
+    @DisplayName("Deve incluir upload gravado em transação só depois do commit")
+    void deveIncluirUploadSoDepoisDoCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            indice.registrar("abc");
+            verify(filtroDuplicatas).registrarUpload("abc");
+
+            // When: antes do commit o índice ainda consulta o filtro
+            assertThat(indice.conhecido("abc")).isFalse();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Then
+            assertThat(indice.conhecido("abc")).isTrue();
+            verify(filtroDuplicatas, times(1)).existeUpload("abc");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.financas.extrato_api.unit.service;
+
+import br.com.financas.extrato_api.config.FiltroDuplicatasConfig;
+import br.com.financas.extrato_api.config.IndiceUploadsConfig;
+import br.com.financas.extrato_api.config.parser.ParserGeneralConfig;
+import br.com.financas.extrato_api.model.Transacao;
+import br.com.financas.extrato_api.model.UploadArquivo;
+import br.com.financas.extrato_api.model.dto.ProcessamentoResult;
+import br.com.financas.extrato_api.observability.ExtratoMetricsService;
+import br.com.financas.extrato_api.parser.ItauParser;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository;
+import br.com.financas.extrato_api.repository.TransacaoBatchRepository.ResultadoInsercao;
+import br.com.financas.extrato_api.repository.TransacaoRepository;
+import br.com.financas.extrato_api.repository.UploadArquivoRepository;
+import br.com.financas.extrato_api.service.ConsultaExtratoService;
+import br.com.financas.extrato_api.service.FiltroDuplicatasService;
+import br.com.financas.extrato_api.service.IndiceUploadsService;
+import br.com.financas.extrato_api.service.ItauService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItauService - Testes Unitários")
+class ItauServiceTest {
+
+    @Mock
+    private ItauParser itauParser;
+
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
+    @Mock
+    private TransacaoBatchRepository transacaoBatchRepository;
+
+    @Mock
+    private UploadArquivoRepository uploadArquivoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ParserGeneralConfig parserConfig = new ParserGeneralConfig();
+
+    @Mock
+    private ExtratoMetricsService metricsService;
+
+    @Mock
+    private ConsultaExtratoService consultaExtrato;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ItauService itauService;
+
+    @BeforeEach
+    void setUp() {
+        // Filtro de duplicatas sem carga: toda verificação vai aos repositórios mockados
+        FiltroDuplicatasService filtroDuplicatas = new FiltroDuplicatasService(new FiltroDuplicatasConfig(),
+                uploadArquivoRepository, transacaoRepository, null, metricsService);
+        IndiceUploadsService indiceUploads = new IndiceUploadsService(new IndiceUploadsConfig(),
+                filtroDuplicatas, jdbcTemplate, metricsService);
+        itauService = new ItauService(itauParser, transacaoRepository, transacaoBatchRepository,
+                uploadArquivoRepository, entityManager, parserConfig, filtroDuplicatas, indiceUploads, consultaExtrato);
+    }
+
+    @Test
+    @DisplayName("Deve descartar duplicatas com uma consulta de impressões digitais por lote, sem exists por linha")
+    void deveDescartarDuplicatasComUmaConsultaPorLote() {
+        // Given
+        MockMultipartFile arquivo = new MockMultipartFile("file", "itau_extrato.pdf", "application/pdf", new byte[]{1, 2, 3});
+        Transacao existente = transacao(LocalDate.of(2025, 7, 1), "PIX1", "-50.00");
+        Transacao nova = transacao(LocalDate.of(2025, 7, 3), "PIX2", "-20.00");
+        Transacao outraNova = transacao(LocalDate.of(2025, 7, 5), "PIX3", "100.00");
+        UploadArquivo upload = new UploadArquivo();
+        upload.setId(1L);
+
+        when(uploadArquivoRepository.save(any(UploadArquivo.class))).thenReturn(upload);
+        when(itauParser.stream(any(MultipartFile.class))).thenReturn(List.of(existente, nova, outraNova).stream());
+        // Gravada com o valor na escala da coluna: mesma impressão digital
+        long fingerprintExistente = transacao(LocalDate.of(2025, 7, 1), "PIX1", "-50.0000").comFingerprint().getFingerprint();
+        when(transacaoRepository.findFingerprintsByBancoAndDataBetween("Itaú", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 5)))
+                .thenReturn(List.of(fingerprintExistente));
+        when(transacaoBatchRepository.inserirIgnorandoDuplicatas(anyList())).thenReturn(new ResultadoInsercao(2, 0));
+
+        // When
+        ProcessamentoResult resultado = itauService.processarArquivo(arquivo);
+
+        // Then
+        assertThat(resultado.isSucesso()).isTrue();
+        assertThat(resultado.getTransacoesSalvas()).isEqualTo(2);
+        assertThat(resultado.getDuplicatasIgnoradas()).isEqualTo(1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transacao>> novas = ArgumentCaptor.forClass(List.class);
+        verify(transacaoBatchRepository).inserirIgnorandoDuplicatas(novas.capture());
+        assertThat(novas.getValue()).containsExactly(nova, outraNova);
+        verify(transacaoRepository, never()).existsByFingerprint(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o extrato só do Itaú, já ordenado pelo banco de dados")
+    void deveBuscarExtratoDoBancoNoBanco() {
+        // Given
+        List<Transacao> extrato = List.of(
+                transacao(LocalDate.of(2025, 5, 20), "2", "-10.00"),
+                transacao(LocalDate.of(2025, 5, 10), "1", "-20.00"));
+        when(itauParser.getBankName()).thenReturn("Itaú");
+        when(transacaoRepository.findByBancoOrderByDataDescIdAsc("Itaú")).thenReturn(extrato);
+
+        // When
+        List<Transacao> resultado = itauService.getExtrato();
+
+        // Then
+        assertThat(resultado).containsExactlyElementsOf(extrato);
+        verify(transacaoRepository, never()).findAll();
+    }
+
+    private static Transacao transacao(LocalDate data, String numeroDocumento, String valor) {
+        return Transacao.builder()
+                .data(data)
+                .lancamento("PIX TRANSF")
+                .detalhes("PIX TRANSF")
+                .numeroDocumento(numeroDocumento)
+                .valor(new BigDecimal(valor))
+                .moeda("BRL")
+                .categoria("PENDENTE")
+                .banco("Itaú")
+                .build();
+    }
+}
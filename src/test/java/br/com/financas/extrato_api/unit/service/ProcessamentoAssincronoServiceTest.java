@@ -0,0 +1,85 @@
+package br.com.financas.extrato_api.unit.service;
+
+import br.com.financas.extrato_api.model.dto.ProcessamentoMessage;
+import br.com.financas.extrato_api.model.dto.ProcessamentoStatusDTO;
+import br.com.financas.extrato_api.service.ExtratoService;
+import br.com.financas.extrato_api.service.ExtratoServiceLocator;
+import br.com.financas.extrato_api.service.IndiceUploadsService;
+import br.com.financas.extrato_api.service.ProcessamentoAssincronoService;
+import br.com.financas.extrato_api.service.ProcessamentoStatusService;
+import br.com.financas.extrato_api.util.HashConteudo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProcessamentoAssincronoService - Testes Unitários")
+class ProcessamentoAssincronoServiceTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ProcessamentoStatusService statusService;
+
+    @Mock
+    private ExtratoServiceLocator serviceLocator;
+
+    @Mock
+    private IndiceUploadsService indiceUploads;
+
+    @Mock
+    private ExtratoService extratoService;
+
+    @InjectMocks
+    private ProcessamentoAssincronoService processamentoAssincronoService;
+
+    @Test
+    @DisplayName("Deve recusar arquivo já enviado sem publicar na fila")
+    void deveRecusarArquivoJaEnviadoSemPublicar() throws Exception {
+        // Given
+        when(serviceLocator.getService("banco-do-brasil")).thenReturn(extratoService);
+        when(indiceUploads.conhecido("abc")).thenReturn(true);
+
+        // When
+        ProcessamentoStatusDTO status = processamentoAssincronoService.enviarParaProcessamento(
+                "banco-do-brasil", "extrato.csv", new byte[]{1, 2, 3}, "abc");
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(ProcessamentoMessage.ProcessamentoStatus.CONCLUIDO);
+        assertThat(status.getTransacoesSalvas()).isZero();
+        verify(statusService).salvarStatus(status);
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve publicar arquivo novo com o SHA-256 do conteúdo")
+    void devePublicarArquivoNovoComHashDoConteudo() throws Exception {
+        // Given
+        String hash = HashConteudo.de(new byte[]{1, 2, 3});
+        when(serviceLocator.getService("banco-do-brasil")).thenReturn(extratoService);
+        when(indiceUploads.conhecido(hash)).thenReturn(false);
+
+        // When
+        ProcessamentoStatusDTO status = processamentoAssincronoService.enviarParaProcessamento(
+                "banco-do-brasil", "extrato.csv", new byte[]{1, 2, 3});
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(ProcessamentoMessage.ProcessamentoStatus.PENDENTE);
+        ArgumentCaptor<ProcessamentoMessage> mensagem = ArgumentCaptor.forClass(ProcessamentoMessage.class);
+        verify(rabbitTemplate).convertAndSend(anyString(), anyString(), mensagem.capture());
+        assertThat(mensagem.getValue().getHashArquivo()).isEqualTo(hash);
+    }
+}
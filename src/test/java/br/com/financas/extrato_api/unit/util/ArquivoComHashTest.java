@@ -0,0 +1,94 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.ArquivoComHash;
+import br.com.financas.extrato_api.util.HashConteudo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ArquivoComHash - Testes Unitários")
+class ArquivoComHashTest {
+
+    private static final byte[] CONTEUDO = conteudo();
+
+    private final AtomicInteger leituras = new AtomicInteger();
+
+    private final MockMultipartFile upload = new MockMultipartFile("file", "extrato_bb.csv", "text/csv", CONTEUDO) {
+        @Override
+        public InputStream getInputStream() throws IOException {
+            leituras.incrementAndGet();
+            return super.getInputStream();
+        }
+    };
+
+    @Test
+    @DisplayName("Deve calcular o hash na leitura do parser, sem ler o upload de novo")
+    void deveCalcularHashNaLeituraDoParser() throws Exception {
+        // Given
+        ArquivoComHash arquivo = new ArquivoComHash(upload);
+
+        // When
+        try (InputStream in = arquivo.getInputStream()) {
+            in.skip(10);
+            in.read();
+            in.readAllBytes();
+        }
+
+        // Then
+        assertThat(arquivo.hash()).isEqualTo(HashConteudo.de(CONTEUDO));
+        assertThat(leituras.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o hash dos bytes e da cópia transferida")
+    void deveCalcularHashDosBytesEDaTransferencia(@TempDir Path diretorio) throws Exception {
+        // Given
+        ArquivoComHash pelosBytes = new ArquivoComHash(upload);
+        ArquivoComHash pelaTransferencia = new ArquivoComHash(upload);
+        Path destino = diretorio.resolve("extrato.csv");
+
+        // When
+        pelosBytes.getBytes();
+        pelaTransferencia.transferTo(destino.toFile());
+
+        // Then
+        assertThat(pelosBytes.hash()).isEqualTo(HashConteudo.de(CONTEUDO));
+        assertThat(pelaTransferencia.hash()).isEqualTo(HashConteudo.de(CONTEUDO));
+        assertThat(Files.readAllBytes(destino)).isEqualTo(CONTEUDO);
+        assertThat(leituras.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ler o upload para o hash quando o parser não chegou ao fim")
+    void deveLerUploadQuandoLeituraNaoChegouAoFim() throws Exception {
+        // Given
+        ArquivoComHash arquivo = new ArquivoComHash(upload);
+        try (InputStream in = arquivo.getInputStream()) {
+            in.readNBytes(100);
+        }
+
+        // When
+        String hash = arquivo.hash();
+
+        // Then
+        assertThat(hash).isEqualTo(HashConteudo.de(CONTEUDO));
+        assertThat(leituras.get()).isEqualTo(2);
+    }
+
+    private static byte[] conteudo() {
+        byte[] conteudo = new byte[50_000];
+        for (int i = 0; i < conteudo.length; i++) {
+            conteudo[i] = (byte) (i * 31);
+        }
+        return conteudo;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.BloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BloomFilter - Testes Unitários")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Deve aceitar todas as chaves inseridas e ficar perto da taxa de falso positivo configurada")
+    void deveRespeitarTaxaDeFalsoPositivo() {
+        // Given
+        BloomFilter filtro = BloomFilter.criar(10_000, 0.01);
+        for (long chave = 0; chave < 5_000; chave++) {
+            filtro.put(chave);
+            filtro.put("hash-" + chave);
+        }
+
+        // When
+        int falsosPositivos = 0;
+        for (long chave = 5_000; chave < 105_000; chave++) {
+            if (filtro.mightContain(chave)) {
+                falsosPositivos++;
+            }
+        }
+
+        // Then
+        for (long chave = 0; chave < 5_000; chave++) {
+            assertThat(filtro.mightContain(chave)).isTrue();
+            assertThat(filtro.mightContain("hash-" + chave)).isTrue();
+        }
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.015);
+        assertThat(filtro.taxaFalsoPositivo()).isBetween(0.005, 0.015);
+        assertThat(filtro.tamanhoEmBytes()).isBetween(11_000L, 13_000L);
+    }
+
+    @Test
+    @DisplayName("Deve negar chaves em filtro vazio")
+    void deveNegarChavesEmFiltroVazio() {
+        BloomFilter filtro = BloomFilter.criar(1_000, 0.01);
+
+        assertThat(filtro.mightContain(42L)).isFalse();
+        assertThat(filtro.mightContain("abc")).isFalse();
+        assertThat(filtro.taxaFalsoPositivo()).isZero();
+        assertThatThrownBy(() -> BloomFilter.criar(1_000, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.CsvTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CsvTokenizer - Testes Unitários")
+class CsvTokenizerTest {
+
+    private static final String SEPARATOR_REGEX = ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)";
+
+    private final CsvTokenizer tokenizer = new CsvTokenizer(',', '"');
+
+    @Test
+    @DisplayName("Deve separar campos entre aspas removendo as aspas")
+    void deveSepararCamposEntreAspas() {
+        // Given
+        String linha = "\"02/05/2025\",\"Compra com Cartão\",\"01/05 20:08 COMERCIAL\",\"643752\",\"-41,66\",\"Saída\"";
+
+        // When
+        CsvTokenizer.Campos campos = tokenizer.tokenize(linha);
+
+        // Then
+        assertThat(campos.toArray()).containsExactly(
+                "02/05/2025", "Compra com Cartão", "01/05 20:08 COMERCIAL", "643752", "-41,66", "Saída");
+        assertThat(campos.isContiguous(4)).isTrue();
+        assertThat(linha.substring(campos.start(4), campos.end(4))).isEqualTo("-41,66");
+    }
+
+    @Test
+    @DisplayName("Deve manter campos vazios inclusive no final da linha")
+    void deveManterCamposVazios() {
+        // When
+        String[] campos = tokenizer.tokenize("15/01/2024,SAQUE,,123456,,").toArray();
+
+        // Then
+        assertThat(campos).containsExactly("15/01/2024", "SAQUE", "", "123456", "", "");
+    }
+
+    @Test
+    @DisplayName("Deve remover espaços e aspas internas como o cleanField")
+    void deveRemoverEspacosEAspasInternas() {
+        // When
+        CsvTokenizer.Campos campos = tokenizer.tokenize("  \" abc \" , a\"b\"c ,\"\"");
+
+        // Then
+        assertThat(campos.toArray()).containsExactly("abc", "abc", "");
+        assertThat(campos.isContiguous(0)).isTrue();
+        assertThat(campos.isContiguous(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado que o split por regex com limpeza dos campos")
+    void deveSerEquivalenteAoSplitPorRegex() {
+        String[] linhas = {
+                "\"Data\",\"Lançamento\",\"Detalhes\",\"Nº documento\",\"Valor\",\"Tipo Lançamento\"",
+                "\"01/01/2025\",\"Compra 001\",\"Compra com Cartão, loja 001\",\"001\",\"-10.00\",\"Saída\"",
+                "15/01/2024,SAQUE,SAQUE 24H 001,123456,1234,56,SAQUE",
+                "linha inválida sem vírgulas",
+                "",
+                ",,,"
+        };
+
+        for (String linha : linhas) {
+            String[] esperado = Arrays.stream(linha.split(SEPARATOR_REGEX, -1))
+                    .map(campo -> campo.replace("\"", "").trim())
+                    .toArray(String[]::new);
+
+            assertThat(tokenizer.tokenize(linha).toArray()).as(linha).containsExactly(esperado);
+        }
+    }
+}
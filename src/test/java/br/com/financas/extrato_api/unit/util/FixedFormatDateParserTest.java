@@ -0,0 +1,64 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.FixedFormatDateParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FixedFormatDateParser - Testes Unitários")
+class FixedFormatDateParserTest {
+
+    private final FixedFormatDateParser parser = FixedFormatDateParser.of("dd/MM/yyyy");
+
+    @Test
+    @DisplayName("Deve converter data válida")
+    void deveConverterDataValida() {
+        assertThat(parser.parse("15/01/2024")).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(parser.parse("29/02/2024")).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a instância de datas repetidas")
+    void deveReaproveitarDatasRepetidas() {
+        assertThat(parser.parse("02/05/2025")).isSameAs(parser.parse("02/05/2025"));
+    }
+
+    @Test
+    @DisplayName("Deve converter trecho de texto sem copiá-lo")
+    void deveConverterTrecho() {
+        assertThat(parser.parse("\"15/01/2024\",SAQUE", 1, 11)).isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "00/00/0000", "32/01/2024", "15/13/2024", "1/01/2024", "15-01-2024",
+            "15/01/24", "aa/01/2024", "15/01/2024 ", "15/01/0000"})
+    @DisplayName("Deve retornar null para data inválida")
+    void deveRetornarNullParaDataInvalida(String data) {
+        assertThat(parser.parse(data)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve ajustar dia fora do mês como o DateTimeFormatter")
+    void deveAjustarDiaForaDoMes() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        for (String data : new String[]{"31/02/2023", "30/02/2024", "31/04/2025"}) {
+            assertThat(parser.parse(data)).isEqualTo(LocalDate.parse(data, formatter));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve usar DateTimeFormatter para padrões não suportados")
+    void deveUsarFallbackParaPadraoNaoSuportado() {
+        FixedFormatDateParser iso = FixedFormatDateParser.of("yyyy-MM-dd");
+        FixedFormatDateParser textual = FixedFormatDateParser.of("dd MMM yyyy");
+
+        assertThat(iso.parse("2024-01-15")).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(textual.parse("invalida")).isNull();
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.FixedPointMoney;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FixedPointMoney - Testes Unitários")
+class FixedPointMoneyTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "-41,66;-4166",
+            "42,15;4215",
+            "1.234,56;123456",
+            "\"-1.230,53\";-123053",
+            "+2500;250000",
+            "' 100,5 ';10050",
+            "1,230;123",
+            "-10.00;-100000"
+    })
+    @DisplayName("Deve ler centavos no formato brasileiro")
+    void deveLerCentavos(String texto, long centavos) {
+        assertThat(FixedPointMoney.parseCentavos(texto, 0, texto.length())).isEqualTo(centavos);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "\"\"", "-", "abc", "1,2,3", "1,234", "1-2", "--1", "123456789012345678"})
+    @DisplayName("Deve rejeitar valor inválido")
+    void deveRejeitarValorInvalido(String texto) {
+        assertThat(FixedPointMoney.parseCentavos(texto, 0, texto.length())).isEqualTo(FixedPointMoney.INVALIDO);
+        assertThat(FixedPointMoney.parse(texto, "BRL")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve ler até 16 dígitos inteiros sem estourar o long e rejeitar o 17º")
+    void deveRespeitarLimiteDeDigitos() {
+        String maximo = "-9.999.999.999.999.999,99";
+        String acima = "99999999999999999,99";
+
+        assertThat(FixedPointMoney.parseCentavos(maximo, 0, maximo.length())).isEqualTo(-999_999_999_999_999_999L);
+        assertThat(FixedPointMoney.parseCentavos(acima, 0, acima.length())).isEqualTo(FixedPointMoney.INVALIDO);
+    }
+
+    @Test
+    @DisplayName("Deve converter para BigDecimal e MonetaryAmount")
+    void deveConverterParaTiposDaBorda() {
+        FixedPointMoney valor = FixedPointMoney.parse("-1.230,53", "BRL");
+
+        assertThat(valor.toBigDecimal()).isEqualByComparingTo("-1230.53");
+        assertThat(valor.toMonetaryAmount()).isEqualTo(Money.of(new BigDecimal("-1230.53"), "BRL"));
+        assertThat(FixedPointMoney.of(valor.toMonetaryAmount())).isEqualTo(valor);
+    }
+
+    @Test
+    @DisplayName("Deve somar e comparar apenas na mesma moeda")
+    void deveSomarNaMesmaMoeda() {
+        FixedPointMoney a = FixedPointMoney.brl(1050);
+        FixedPointMoney b = FixedPointMoney.brl(-50);
+
+        assertThat(a.plus(b)).isEqualTo(FixedPointMoney.brl(1000));
+        assertThat(b.compareTo(a)).isNegative();
+        assertThatThrownBy(() -> a.plus(FixedPointMoney.ofCentavos(1, "USD")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.HashConteudo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashConteudo - Testes Unitários")
+class HashConteudoTest {
+
+    private static final String SHA256_ABC = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    @DisplayName("Deve calcular o SHA-256 de referência em hexadecimal minúsculo")
+    void deveCalcularSha256DeReferencia() throws Exception {
+        byte[] abc = "abc".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(HashConteudo.de(abc)).isEqualTo(SHA256_ABC);
+        assertThat(HashConteudo.de(new ByteArrayInputStream(abc))).isEqualTo(SHA256_ABC);
+        assertThat(HashConteudo.de(new MockMultipartFile("file", "extrato.csv", "text/csv", abc))).isEqualTo(SHA256_ABC);
+        assertThat(HashConteudo.de(new byte[0]))
+                .isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+
+    @Test
+    @DisplayName("Deve devolver o conteúdo e o hash da mesma leitura")
+    void deveLerConteudoEHashNaMesmaPassada() throws Exception {
+        // Given
+        byte[] conteudo = new byte[200_000];
+        for (int i = 0; i < conteudo.length; i++) {
+            conteudo[i] = (byte) (i * 31);
+        }
+
+        // When
+        HashConteudo.ConteudoEnderecado lido = HashConteudo.ler(new MockMultipartFile("file", "extrato.csv", "text/csv", conteudo));
+
+        // Then
+        assertThat(lido.bytes()).isEqualTo(conteudo);
+        assertThat(lido.hash()).isEqualTo(HashConteudo.de(conteudo)).hasSize(64);
+    }
+}
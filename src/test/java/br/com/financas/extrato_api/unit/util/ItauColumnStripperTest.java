@@ -0,0 +1,131 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.ItauColumnStripper;
+import br.com.financas.extrato_api.util.ItauLineClassifier;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ItauColumnStripper - Testes Unitários")
+class ItauColumnStripperTest {
+
+    private static final PDFont FONTE = PDType1Font.HELVETICA;
+    private static final float TAMANHO_FONTE = 8;
+    private static final float DATA_X = 30;
+    private static final float DESCRICAO_X = 90;
+    private static final float VALOR_FIM = 430;
+    private static final float SALDO_FIM = 530;
+
+    private final ItauLineClassifier classifier = new ItauLineClassifier(".*agência:.*|.*conta:.*|.*extrato conta.*");
+
+    @Test
+    @DisplayName("Deve ler data, descrição, valor e saldo pelas colunas do cabeçalho")
+    void deveLerCelulasPelasColunas() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            // Given
+            pagina(document, true, List.of(
+                    new String[]{"23/07/2025", "PIX TRANSF MARYANN 123", "-100,00", "2.178,23"},
+                    new String[]{"23/07/2025", "SALDO DO DIA", "", "2.178,23"},
+                    new String[]{"24/07/2025", "ELCSS-WIZMARTBSB", "-50,00", ""},
+                    new String[]{"", "continuação sem data", "", ""}));
+
+            // When
+            List<String[]> linhas;
+            try (Stream<String[]> rows = new ItauColumnStripper(classifier, true).streamRows(document, 1, 1)) {
+                linhas = rows.toList();
+            }
+
+            // Then
+            assertThat(linhas).hasSize(2);
+            assertThat(linhas.get(0)).containsExactly("23/07/2025", "PIX TRANSF MARYANN 123", "-100,00", "2.178,23");
+            assertThat(linhas.get(1)).containsExactly("24/07/2025", "ELCSS-WIZMARTBSB", "-50,00", "");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve usar o classificador de linhas em página sem cabeçalho")
+    void deveUsarClassificadorSemCabecalho() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            // Given
+            pagina(document, false, List.of(
+                    new String[]{"25/07/2025", "PIX RECEBIDO", "1.000,00", ""},
+                    new String[]{"", "agência: 1234 conta: 5678", "", ""}));
+
+            // When
+            List<String[]> linhas = new ItauColumnStripper(classifier, true).extrairPagina(document, 1);
+
+            // Then
+            assertThat(linhas).hasSize(1);
+            assertThat(linhas.get(0)).containsExactly("25/07/2025", "PIX RECEBIDO", "1.000,00", "");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter as colunas do cabeçalho nas páginas seguintes")
+    void deveManterColunasNasPaginasSeguintes() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            // Given
+            pagina(document, true, List.<String[]>of(new String[]{"23/07/2025", "PIX A", "-1,00", ""}));
+            pagina(document, false, List.<String[]>of(new String[]{"24/07/2025", "PIX B", "-2,00", "10,00"}));
+
+            // When
+            List<String[]> linhas;
+            try (Stream<String[]> rows = new ItauColumnStripper(classifier, true).streamRows(document, 1, 2)) {
+                linhas = rows.toList();
+            }
+
+            // Then
+            assertThat(linhas).hasSize(2);
+            assertThat(linhas.get(1)).containsExactly("24/07/2025", "PIX B", "-2,00", "10,00");
+        }
+    }
+
+    private static void pagina(PDDocument document, boolean cabecalho, List<String[]> linhas) throws IOException {
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (PDPageContentStream conteudo = new PDPageContentStream(document, page)) {
+            float y = 750;
+            if (cabecalho) {
+                linha(conteudo, y, new String[]{"data", "lançamentos", "valor (R$)", "saldo (R$)"});
+                y -= 12;
+            }
+            for (String[] celulas : linhas) {
+                linha(conteudo, y, celulas);
+                y -= 12;
+            }
+        }
+    }
+
+    private static void linha(PDPageContentStream conteudo, float y, String[] celulas) throws IOException {
+        texto(conteudo, DATA_X, y, celulas[0]);
+        texto(conteudo, DESCRICAO_X, y, celulas[1]);
+        // Valores alinhados à direita da coluna
+        texto(conteudo, VALOR_FIM - largura(celulas[2]), y, celulas[2]);
+        texto(conteudo, SALDO_FIM - largura(celulas[3]), y, celulas[3]);
+    }
+
+    private static void texto(PDPageContentStream conteudo, float x, float y, String texto) throws IOException {
+        if (texto.isEmpty()) {
+            return;
+        }
+        conteudo.beginText();
+        conteudo.setFont(FONTE, TAMANHO_FONTE);
+        conteudo.newLineAtOffset(x, y);
+        conteudo.showText(texto);
+        conteudo.endText();
+    }
+
+    private static float largura(String texto) throws IOException {
+        return FONTE.getStringWidth(texto) / 1000 * TAMANHO_FONTE;
+    }
+}
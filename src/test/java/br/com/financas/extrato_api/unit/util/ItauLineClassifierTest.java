@@ -0,0 +1,116 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.ItauLineClassifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ItauLineClassifier - Testes Unitários")
+class ItauLineClassifierTest {
+
+    // Mesmas regex do application.yml
+    private static final Pattern TRANSACTION_REGEX = Pattern.compile(
+            "(\\d{2}/\\d{2}/\\d{4})\\s+(.+?)\\s+([+-]?\\d{1,3}(?:\\.\\d{3})*(?:,\\d{2})?)(?:\\s+([+-]?\\d{1,3}(?:\\.\\d{3})*(?:,\\d{2})?))?\\s*$");
+    private static final String HEADER_REGEX = ".*agência:.*|.*conta:.*|.*saldo em conta.*|.*Limite da Conta.*"
+            + "|.*extrato conta.*|.*período de visualização.*|.*data lançamentos valor.*"
+            + "|.*extrato.*conta.*corrente.*|.*banco.*itau.*|.*itau.*banco.*";
+
+    private final ItauLineClassifier classifier = new ItauLineClassifier(HEADER_REGEX);
+
+    @Test
+    @DisplayName("Deve extrair data, descrição e valor")
+    void deveExtrairCampos() {
+        // When
+        String[] campos = classifier.classificar("23/07/2025 PIX TRANSF MARYANN23/07  -1.100,00");
+
+        // Then
+        assertThat(campos).containsExactly("23/07/2025", "PIX TRANSF MARYANN23/07", "-1.100,00", "");
+    }
+
+    @Test
+    @DisplayName("Deve usar o último valor quando a linha tem dois valores")
+    void deveUsarUltimoValor() {
+        // When
+        String[] campos = classifier.classificar("23/07/2025 PIX TRANSF MARYANN  -100,00  2.178,23");
+
+        // Then
+        assertThat(campos).containsExactly("23/07/2025", "PIX TRANSF MARYANN", "2.178,23", "");
+    }
+
+    @Test
+    @DisplayName("Deve descartar linhas de saldo, cabeçalho e sem valor")
+    void deveDescartarLinhasQueNaoSaoTransacao() {
+        assertThat(classifier.classificar("22/07/2025 SALDO DO DIA 2.278,23")).isNull();
+        assertThat(classifier.classificar("01/07/2025 extrato conta corrente 1,00")).isNull();
+        assertThat(classifier.classificar("agência: 1234 conta: 56789-0")).isNull();
+        assertThat(classifier.classificar("23/07/2025 PIX TRANSF MARYANN")).isNull();
+        assertThat(classifier.classificar("23/07/2025 PIX 12345")).isNull();
+        assertThat(classifier.classificar("")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer as mesmas linhas e campos da transaction-regex")
+    void deveSerEquivalenteATransactionRegex() {
+        // Given
+        List<String> linhas = new ArrayList<>(List.of(
+                "23/07/2025 ELCSS-WIZMARTBSB  -50,00",
+                "  23/07/2025\tPIX 123 -50,00  ",
+                "23/07/2025 PIX 1 2 -50,00",
+                "23/07/2025   -50,00",
+                "23/07/2025  -50,00",
+                "123/07/2025 COMPRA 10",
+                "x23/07/2025 COMPRA 1.234.567,89",
+                "23/07/2025 COMPRA 1234,56",
+                "23/07/2025 COMPRA 12.34",
+                "23/07/2025 COMPRA +0,1",
+                "23/07/2025 23/07/2025 10,00",
+                "DATA 23/07/2025 TED 1.000 -2,00 3,00",
+                "23/07/2025 -1,00 -2,00",
+                "23/07/2025 A -1,00 -2,00"));
+        Random random = new Random(42);
+        String[] tokens = {"PIX", "TED", "23/07/2025", "-50,00", "1.234,56", "12", "1234", "+3", ",00", "a.b", "x/y", " ", "\t"};
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder linha = new StringBuilder();
+            int quantidade = 1 + random.nextInt(7);
+            for (int t = 0; t < quantidade; t++) {
+                linha.append(tokens[random.nextInt(tokens.length)]).append(random.nextBoolean() ? " " : "  ");
+            }
+            linhas.add(linha.toString().trim());
+        }
+
+        for (String linha : linhas) {
+            // When
+            String[] campos = classifier.extrair(linha);
+
+            // Then
+            Matcher matcher = TRANSACTION_REGEX.matcher(linha.trim());
+            if (matcher.find()) {
+                String valor = matcher.group(4) != null ? matcher.group(4) : matcher.group(3);
+                assertThat(campos).as(linha).containsExactly(matcher.group(1), matcher.group(2).trim(), valor, "");
+            } else {
+                assertThat(campos).as(linha).isNull();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve avaliar a header-regex como a regex original")
+    void deveAvaliarCabecalhoComoRegex() {
+        Pattern header = Pattern.compile(HEADER_REGEX);
+        for (String linha : List.of("Agência: 1", "agência: 1", "extrato da conta corrente", "banco x itau",
+                "itau unibanco", "Limite da Conta", "limite da conta", "PIX 10,00")) {
+            assertThat(classifier.isCabecalho(linha)).as(linha).isEqualTo(header.matcher(linha).matches());
+        }
+        // Forma que não é só de trechos literais usa a regex
+        ItauLineClassifier comRegex = new ItauLineClassifier("^extrato\\s+\\d+$");
+        assertThat(comRegex.isCabecalho("extrato  2025")).isTrue();
+        assertThat(comRegex.isCabecalho("extrato 2025 x")).isFalse();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.Latin1LineReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Latin1LineReader - Testes Unitários")
+class Latin1LineReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve separar linhas como o BufferedReader")
+    void deveSepararLinhasComoBufferedReader() throws Exception {
+        // Given
+        byte[] conteudo = "Data,Valor\r\n\"02/05/2025\",\"-41,66\"\n\nAçúcar & Café\rúltima\n"
+                .getBytes(StandardCharsets.ISO_8859_1);
+        List<String> esperado = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(conteudo), StandardCharsets.ISO_8859_1)).lines().toList();
+
+        // When
+        List<String> linhas;
+        try (Latin1LineReader leitor = Latin1LineReader.of(conteudo)) {
+            linhas = leitor.lines().map(CharSequence::toString).toList();
+        }
+
+        // Then
+        assertThat(linhas).containsExactlyElementsOf(esperado);
+    }
+
+    @Test
+    @DisplayName("Deve ler arquivo mapeado em memória")
+    void deveLerArquivoMapeado() throws Exception {
+        // Given
+        Path arquivo = tempDir.resolve("extrato_bb.csv");
+        Files.write(arquivo, "linha 1\nAçúcar".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        List<String> linhas;
+        try (Latin1LineReader leitor = Latin1LineReader.map(arquivo)) {
+            linhas = leitor.lines().map(CharSequence::toString).toList();
+        }
+
+        // Then
+        assertThat(linhas).containsExactly("linha 1", "Açúcar");
+    }
+
+    @Test
+    @DisplayName("Deve mapear upload acima do limite")
+    void deveMapearUploadAcimaDoLimite() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "extrato_bb.csv", "text/csv",
+                "a,b\nc,d\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        Latin1LineReader leitor = Latin1LineReader.of(file, 1);
+        List<String> linhas = leitor.lines().map(CharSequence::toString).toList();
+        leitor.close();
+
+        // Then
+        assertThat(linhas).containsExactly("a,b", "c,d");
+        assertThat(leitor.size()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Deve dividir em partes com as mesmas linhas da leitura sequencial")
+    void deveDividirEmPartesComAsMesmasLinhas() throws Exception {
+        // Given
+        byte[] conteudo = "cabecalho\r\n\"a\",\"1\"\r\n\"b\nc\",\"2\"\n\n\"d\",\"3\"\r\"e\",\"4\""
+                .getBytes(StandardCharsets.ISO_8859_1);
+        Latin1LineReader leitor = Latin1LineReader.of(conteudo);
+        List<String> esperado = leitor.lines().skip(1).map(CharSequence::toString).toList();
+
+        for (int tamanho = 1; tamanho <= conteudo.length; tamanho++) {
+            // When
+            List<String> linhas = new ArrayList<>();
+            List<String> inicios = new ArrayList<>();
+            Iterator<Latin1LineReader> partes = leitor.split(1, tamanho, '"');
+            while (partes.hasNext()) {
+                List<String> linhasDaParte = partes.next().lines().map(CharSequence::toString).toList();
+                inicios.add(linhasDaParte.get(0));
+                linhas.addAll(linhasDaParte);
+            }
+
+            // Then
+            assertThat(linhas).as("tamanho %d", tamanho).containsExactlyElementsOf(esperado);
+            // Quebra de linha dentro de aspas nunca inicia uma parte
+            assertThat(inicios).doesNotContain("c\",\"2\"");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.OrderedChunkProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OrderedChunkProcessor - Testes Unitários")
+class OrderedChunkProcessorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve devolver os resultados na ordem das partes")
+    void deveManterOrdemDasPartes() {
+        // Given - partes pares demoram mais, terminando fora de ordem
+        List<Integer> partes = IntStream.range(0, 20).boxed().toList();
+
+        // When
+        List<Integer> resultado;
+        try (Stream<Integer> stream = OrderedChunkProcessor.processar(partes.iterator(), parte -> {
+            dormir(parte % 2 == 0 ? 5 : 0);
+            return List.of(parte * 10, parte * 10 + 1);
+        }, executor, 3)) {
+            resultado = stream.toList();
+        }
+
+        // Then
+        assertThat(resultado).containsExactlyElementsOf(
+                IntStream.range(0, 20).flatMap(i -> IntStream.of(i * 10, i * 10 + 1)).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("Deve limitar as partes em andamento à janela")
+    void deveLimitarPartesEmAndamento() {
+        // Given
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+
+        // When
+        try (Stream<Integer> stream = OrderedChunkProcessor.processar(IntStream.range(0, 30).boxed().iterator(), parte -> {
+            maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            dormir(2);
+            emAndamento.decrementAndGet();
+            return List.of(parte);
+        }, executor, 2)) {
+            assertThat(stream.count()).isEqualTo(30);
+        }
+
+        // Then
+        assertThat(maximo.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve propagar erro do processamento de uma parte")
+    void devePropagarErro() {
+        Stream<Integer> stream = OrderedChunkProcessor.processar(List.of(1, 2).iterator(), parte -> {
+            throw new IllegalStateException("falha na parte " + parte);
+        }, executor, 2);
+
+        assertThatThrownBy(stream::toList)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("falha na parte 1");
+    }
+
+    @Test
+    @DisplayName("Deve esperar as partes em execução ao fechar o stream e descartar as que não começaram")
+    void deveEsperarPartesEmExecucaoAoFechar() throws InterruptedException {
+        // Given
+        AtomicInteger iniciadas = new AtomicInteger();
+        AtomicInteger terminadas = new AtomicInteger();
+        CountDownLatch segundaIniciada = new CountDownLatch(1);
+        Stream<Integer> stream = OrderedChunkProcessor.processar(IntStream.range(0, 10).boxed().iterator(), parte -> {
+            iniciadas.incrementAndGet();
+            if (parte == 1) {
+                segundaIniciada.countDown();
+            }
+            dormir(parte == 0 ? 0 : 200);
+            terminadas.incrementAndGet();
+            return List.of(parte);
+        }, executor, 2);
+
+        // When: lê só a primeira parte e fecha com a segunda ainda em execução
+        stream.iterator().next();
+        segundaIniciada.await();
+        stream.close();
+
+        // Then
+        assertThat(terminadas.get()).isEqualTo(iniciadas.get());
+        assertThat(iniciadas.get()).isLessThan(10);
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.HashConteudo;
+import br.com.financas.extrato_api.util.PdfExtractionCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PdfExtractionCache - Testes Unitários")
+class PdfExtractionCacheTest {
+
+    private static final List<String[]> LINHAS = List.of(
+            new String[]{"23/07/2025", "PIX TRANSF JOÃO", "-50,00", ""},
+            new String[]{"24/07/2025", "SALÁRIO", "1.234,56", "2.000,00"});
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve devolver as linhas gravadas para o mesmo hash")
+    void deveDevolverLinhasGravadas() throws Exception {
+        // Given
+        PdfExtractionCache cache = new PdfExtractionCache(tempDir, 1024 * 1024, "1");
+        String hash = HashConteudo.de("%PDF-1.4 conteudo".getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        cache.put(hash, LINHAS);
+
+        // Then
+        assertThat(hash).hasSize(64);
+        assertThat(cache.get(hash)).hasValueSatisfying(linhas -> {
+            assertThat(linhas).hasSize(2);
+            assertThat(linhas.get(0)).containsExactly(LINHAS.get(0));
+            assertThat(linhas.get(1)).containsExactly(LINHAS.get(1));
+        });
+        assertThat(cache.get("0".repeat(64))).isEmpty();
+        assertThat(cache.tamanho()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar entradas gravadas por outra versão do parser")
+    void deveIgnorarOutraVersao() throws Exception {
+        // Given
+        new PdfExtractionCache(tempDir, 1024 * 1024, "1").put("abc", LINHAS);
+
+        // When
+        PdfExtractionCache cache = new PdfExtractionCache(tempDir, 1024 * 1024, "2");
+
+        // Then
+        assertThat(cache.tamanho()).isPositive();
+        assertThat(cache.get("abc")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve remover as entradas usadas há mais tempo ao passar do tamanho máximo")
+    void deveRemoverEntradasMaisAntigas() throws Exception {
+        // Given
+        PdfExtractionCache medidor = new PdfExtractionCache(tempDir.resolve("medida"), 1024 * 1024, "1");
+        medidor.put("a", LINHAS);
+        long tamanhoEntrada = medidor.tamanho();
+        PdfExtractionCache cache = new PdfExtractionCache(tempDir.resolve("cache"), tamanhoEntrada * 2, "1");
+        cache.put("a", LINHAS);
+        cache.put("b", LINHAS);
+        Files.setLastModifiedTime(tempDir.resolve("cache/a.rows"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(tempDir.resolve("cache/b.rows"), FileTime.fromMillis(2000));
+        // Leitura marca a entrada como recente
+        assertThat(cache.get("a")).isPresent();
+
+        // When
+        cache.put("c", LINHAS);
+
+        // Then
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("a")).isPresent();
+        assertThat(cache.get("c")).isPresent();
+        assertThat(cache.tamanho()).isEqualTo(tamanhoEntrada * 2);
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.PdfTextStripper;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PdfTextStripper - Testes Unitários")
+class PdfTextStripperTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve extrair apenas as páginas da faixa, em ordem")
+    void deveExtrairFaixaDePaginas() throws Exception {
+        try (PDDocument document = documento(6)) {
+            // When
+            List<String> paginas;
+            try (Stream<String> texto = PdfTextStripper.streamTextByPages(document, 3, 5)) {
+                paginas = texto.map(String::trim).toList();
+            }
+
+            // Then
+            assertThat(paginas).containsExactly("Pagina 3", "Pagina 4", "Pagina 5");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve extrair todas as páginas do documento")
+    void deveExtrairTodasAsPaginas() throws Exception {
+        try (PDDocument document = documento(3)) {
+            // When
+            List<String> paginas;
+            try (Stream<String> texto = PdfTextStripper.streamTextByPages(document)) {
+                paginas = texto.map(String::trim).toList();
+            }
+
+            // Then
+            assertThat(paginas).containsExactly("Pagina 1", "Pagina 2", "Pagina 3");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve analisar a estrutura do documento já aberto")
+    void deveAnalisarEstruturaDoDocumentoAberto() throws Exception {
+        try (PDDocument document = documento(2)) {
+            // When
+            PdfTextStripper.PdfStructureInfo info = PdfTextStripper.analyzeStructure(document, "extrato_itau.pdf");
+
+            // Then
+            assertThat(info.getTotalPages()).isEqualTo(2);
+            assertThat(info.getFirstPageText().trim()).isEqualTo("Pagina 1");
+            assertThat(info.getFileName()).isEqualTo("extrato_itau.pdf");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar documento com limite de memória e scratch em disco")
+    void deveCarregarDocumentoComLimiteDeMemoria() throws Exception {
+        // Given
+        ByteArrayOutputStream conteudo = new ByteArrayOutputStream();
+        try (PDDocument document = documento(3)) {
+            document.save(conteudo);
+        }
+        MemoryUsageSetting memoria = PdfTextStripper.memoryUsageSetting(DataSize.ofBytes(1024), tempDir.toString());
+
+        // When
+        List<String> paginas;
+        try (PDDocument document = PDDocument.load(new ByteArrayInputStream(conteudo.toByteArray()), memoria);
+             Stream<String> texto = PdfTextStripper.streamTextByPages(document)) {
+            paginas = texto.map(String::trim).toList();
+        }
+
+        // Then
+        assertThat(memoria.useTempFile()).isTrue();
+        assertThat(memoria.getTempDir()).isEqualTo(tempDir.toFile());
+        assertThat(paginas).containsExactly("Pagina 1", "Pagina 2", "Pagina 3");
+    }
+
+    @Test
+    @DisplayName("Deve usar só memória sem limite configurado")
+    void deveUsarSoMemoriaSemLimite() {
+        // When
+        MemoryUsageSetting memoria = PdfTextStripper.memoryUsageSetting(null, null);
+
+        // Then
+        assertThat(memoria.useMainMemory()).isTrue();
+        assertThat(memoria.useTempFile()).isFalse();
+    }
+
+    private static PDDocument documento(int paginas) throws IOException {
+        PDDocument document = new PDDocument();
+        for (int i = 1; i <= paginas; i++) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream conteudo = new PDPageContentStream(document, page)) {
+                conteudo.beginText();
+                conteudo.setFont(PDType1Font.HELVETICA, 12);
+                conteudo.newLineAtOffset(50, 700);
+                conteudo.showText("Pagina " + i);
+                conteudo.endText();
+            }
+        }
+        return document;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.StringDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StringDictionary - Testes Unitários")
+class StringDictionaryTest {
+
+    @Test
+    @DisplayName("Deve devolver a mesma instância para valores iguais")
+    void deveCompartilharInstancia() {
+        StringDictionary dicionario = new StringDictionary(16, 64);
+
+        String primeiro = dicionario.intern(new String("Compra com Cartão"));
+        String segundo = dicionario.intern(new String("Compra com Cartão"));
+
+        assertThat(segundo).isSameAs(primeiro);
+    }
+
+    @Test
+    @DisplayName("Deve internar trecho de texto sem criar nova String quando já existe")
+    void deveInternarTrecho() {
+        StringDictionary dicionario = new StringDictionary(16, 64);
+        String existente = dicionario.intern("Saída");
+
+        String doTrecho = dicionario.intern("\"02/05/2025\",\"Saída\"", 14, 19);
+
+        assertThat(doTrecho).isSameAs(existente);
+        assertThat(dicionario.intern("\"Entrada\"", 1, 8)).isEqualTo("Entrada");
+    }
+
+    @Test
+    @DisplayName("Não deve internar textos acima do tamanho máximo")
+    void naoDeveInternarTextosLongos() {
+        StringDictionary dicionario = new StringDictionary(16, 4);
+
+        String primeiro = dicionario.intern(new String("Rende Facil"));
+        String segundo = dicionario.intern(new String("Rende Facil"));
+
+        assertThat(segundo).isEqualTo(primeiro).isNotSameAs(primeiro);
+    }
+
+    @Test
+    @DisplayName("Deve manter o limite de capacidade substituindo valores em colisão")
+    void deveManterCapacidade() {
+        StringDictionary dicionario = new StringDictionary(1, 64);
+
+        dicionario.intern("PIX");
+        String ted = dicionario.intern(new String("TED"));
+
+        assertThat(dicionario.intern(new String("TED"))).isSameAs(ted);
+        assertThat(dicionario.intern(new String("PIX"))).isEqualTo("PIX");
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.financas.extrato_api.unit.util;
+
+import br.com.financas.extrato_api.util.TransacaoFingerprint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransacaoFingerprint - Testes Unitários")
+class TransacaoFingerprintTest {
+
+    private static final LocalDate DATA = LocalDate.of(2025, 7, 1);
+
+    @Test
+    @DisplayName("Deve calcular o XXH64 de referência")
+    void deveCalcularXxh64DeReferencia() {
+        assertThat(TransacaoFingerprint.xxh64(new byte[0])).isEqualTo(0xEF46DB3751D8E999L);
+        assertThat(TransacaoFingerprint.xxh64("a".getBytes(StandardCharsets.UTF_8))).isEqualTo(0xD24EC4F1A98C6E5BL);
+        assertThat(TransacaoFingerprint.xxh64("abc".getBytes(StandardCharsets.UTF_8))).isEqualTo(0x44BC2CF5AD770999L);
+        assertThat(TransacaoFingerprint.xxh64("Nobody inspects the spammish repetition".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(0xFBCEA83C8A378BF1L);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar escala do valor, espaços e caixa do texto")
+    void deveNormalizarCampos() {
+        long fingerprint = TransacaoFingerprint.calcular("Itaú", DATA, new BigDecimal("-50.5"), null, "PIX TRANSF  MARIA");
+
+        assertThat(TransacaoFingerprint.calcular("Itaú", DATA, new BigDecimal("-50.5000"), "", " pix transf maria "))
+                .isEqualTo(fingerprint);
+    }
+
+    @Test
+    @DisplayName("Deve distinguir transações com o mesmo número de documento e descrições diferentes")
+    void deveDistinguirDescricoesDiferentes() {
+        long mercado = TransacaoFingerprint.calcular("Itaú", DATA, new BigDecimal("-20.00"), "1234", "CARTAO 1234 MERCADO");
+        long farmacia = TransacaoFingerprint.calcular("Itaú", DATA, new BigDecimal("-20.00"), "1234", "CARTAO 1234 FARMACIA");
+
+        assertThat(mercado).isNotEqualTo(farmacia);
+        assertThat(TransacaoFingerprint.calcular("Banco do Brasil", DATA, new BigDecimal("-20.00"), "1234", "CARTAO 1234 MERCADO"))
+                .isNotEqualTo(mercado);
+        assertThat(TransacaoFingerprint.calcular("Itaú", DATA.plusDays(1), new BigDecimal("-20.00"), "1234", "CARTAO 1234 MERCADO"))
+                .isNotEqualTo(mercado);
+    }
+}